@@ -3,11 +3,23 @@
 -- =========================================
 CREATE EXTENSION IF NOT EXISTS timescaledb;
 
+-- =========================================
+-- Symbol dictionary (md.symbols), kept in sync by the aggregator
+-- =========================================
+CREATE TABLE IF NOT EXISTS symbols (
+    symbol_id  INTEGER PRIMARY KEY,
+    name       TEXT    NOT NULL UNIQUE
+);
+
+INSERT INTO symbols (symbol_id, name)
+VALUES (1, 'BTC-USD'), (2, 'ETH-USD'), (3, 'SOL-USD'), (4, 'BNB-USD')
+ON CONFLICT (symbol_id) DO NOTHING;
+
 -- =========================================
 -- Create candles table as hypertable
 -- =========================================
 CREATE TABLE IF NOT EXISTS candles (
-    symbol        TEXT        NOT NULL,
+    symbol_id     INTEGER     NOT NULL,
     interval_sec  INTEGER     NOT NULL,
     bucket_start  TIMESTAMPTZ NOT NULL,
     open          DOUBLE PRECISION NOT NULL,
@@ -15,14 +27,53 @@ CREATE TABLE IF NOT EXISTS candles (
     low           DOUBLE PRECISION NOT NULL,
     close         DOUBLE PRECISION NOT NULL,
     volume        BIGINT      NOT NULL,
-    CONSTRAINT candles_pkey PRIMARY KEY (symbol, interval_sec, bucket_start)
+    CONSTRAINT candles_pkey PRIMARY KEY (symbol_id, interval_sec, bucket_start)
 );
 
-SELECT create_hypertable('candles', 'bucket_start', if_not_exists => TRUE);
+-- md.analytics.parallel.chunkSeconds splits history reads on these chunks
+SELECT create_hypertable('candles', 'bucket_start', chunk_time_interval => INTERVAL '7 days', if_not_exists => TRUE);
 
 -- Useful index for history queries
 CREATE INDEX IF NOT EXISTS idx_candles_symbol_interval_time
-    ON candles (symbol, interval_sec, bucket_start DESC);
+    ON candles (symbol_id, interval_sec, bucket_start DESC);
+
+-- =========================================
+-- Fixed-point candles (md.symbols.fixed-point): prices are mantissas
+-- in the symbol's scale, price = value / 10^scale
+-- =========================================
+CREATE TABLE IF NOT EXISTS candles_fx (
+    symbol_id     INTEGER     NOT NULL,
+    interval_sec  INTEGER     NOT NULL,
+    bucket_start  TIMESTAMPTZ NOT NULL,
+    open          BIGINT      NOT NULL,
+    high          BIGINT      NOT NULL,
+    low           BIGINT      NOT NULL,
+    close         BIGINT      NOT NULL,
+    volume        BIGINT      NOT NULL,
+    CONSTRAINT candles_fx_pkey PRIMARY KEY (symbol_id, interval_sec, bucket_start)
+);
+
+SELECT create_hypertable('candles_fx', 'bucket_start', chunk_time_interval => INTERVAL '7 days', if_not_exists => TRUE);
+
+CREATE INDEX IF NOT EXISTS idx_candles_fx_symbol_interval_time
+    ON candles_fx (symbol_id, interval_sec, bucket_start DESC);
+
+-- =========================================
+-- Raw ticks (optional aggregator sink, md.aggregator.ticks.enabled)
+-- seq is the Kafka offset and orders ticks sharing a timestamp
+-- =========================================
+CREATE TABLE IF NOT EXISTS ticks (
+    symbol_id  INTEGER       NOT NULL,
+    ts      TIMESTAMPTZ      NOT NULL,
+    bid     DOUBLE PRECISION NOT NULL,
+    ask     DOUBLE PRECISION NOT NULL,
+    seq     BIGINT           NOT NULL
+);
+
+SELECT create_hypertable('ticks', 'ts', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+
+CREATE INDEX IF NOT EXISTS idx_ticks_symbol_time
+    ON ticks (symbol_id, ts DESC);
 
 -- ========================================
 -- Insert sample candles for:
@@ -37,7 +88,9 @@ base AS (
     SELECT 1764470000::bigint AS base_ts
 ),
 symbols AS (
-    SELECT unnest(ARRAY['BTC-USD', 'ETH-USD']) AS symbol
+    SELECT symbol_id, name AS symbol
+    FROM symbols
+    WHERE name IN ('BTC-USD', 'ETH-USD')
 ),
 intervals AS (
     SELECT unnest(ARRAY[60, 300]) AS interval_sec      -- 1m, 5m
@@ -45,6 +98,7 @@ intervals AS (
 grid AS (
     -- 10,000 rows per symbol x interval
     SELECT
+        s.symbol_id,
         s.symbol,
         i.interval_sec,
         generate_series(0, 9999) AS n
@@ -53,6 +107,7 @@ grid AS (
 ),
 generated AS (
     SELECT
+        g.symbol_id,
         g.symbol,
         g.interval_sec,
         (b.base_ts + g.n * g.interval_sec) AS epoch_ts,
@@ -74,7 +129,7 @@ generated AS (
 ),
 candles_data AS (
     SELECT
-        symbol,
+        symbol_id,
         interval_sec,
         to_timestamp(epoch_ts) AT TIME ZONE 'UTC' AS bucket_start,
         -- Generate OHLC values
@@ -86,9 +141,9 @@ candles_data AS (
         (10 + floor(random() * 500))::bigint AS volume
     FROM generated
 )
-INSERT INTO candles (symbol, interval_sec, bucket_start, open, high, low, close, volume)
+INSERT INTO candles (symbol_id, interval_sec, bucket_start, open, high, low, close, volume)
 SELECT
-    symbol,
+    symbol_id,
     interval_sec,
     bucket_start,
     open,
@@ -97,23 +152,24 @@ SELECT
     close,
     volume
 FROM candles_data
-ORDER BY symbol, interval_sec, bucket_start
-ON CONFLICT (symbol, interval_sec, bucket_start) DO NOTHING;
+ORDER BY symbol_id, interval_sec, bucket_start
+ON CONFLICT (symbol_id, interval_sec, bucket_start) DO NOTHING;
 
 -- ========================================
 -- 4. Sample data Validation
 -- ========================================
 
-SELECT symbol, interval_sec, count(*) AS rows
-FROM candles
-WHERE symbol IN ('BTC-USD', 'ETH-USD')
-  AND interval_sec IN (60, 300)
-GROUP BY symbol, interval_sec
-ORDER BY symbol, interval_sec;
+SELECT s.name AS symbol, c.interval_sec, count(*) AS rows
+FROM candles c
+JOIN symbols s USING (symbol_id)
+WHERE s.name IN ('BTC-USD', 'ETH-USD')
+  AND c.interval_sec IN (60, 300)
+GROUP BY s.name, c.interval_sec
+ORDER BY s.name, c.interval_sec;
 
 SELECT *
 FROM candles
-WHERE symbol = 'BTC-USD'
+WHERE symbol_id = 1
   AND interval_sec = 60
 ORDER BY bucket_start
 LIMIT 20;
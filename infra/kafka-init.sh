@@ -8,4 +8,18 @@ echo "Creating topics..."
     --topic md.bidask.normalized \
     --partitions 5 \
     --bootstrap-server kafka:9092
+# candles keyed by (symbol, interval, bucket): compaction keeps the final version of each
+/usr/bin/kafka-topics --create --if-not-exists \
+    --topic md.candles \
+    --partitions 5 \
+    --config cleanup.policy=compact,delete \
+    --config retention.ms=604800000 \
+    --bootstrap-server kafka:9092
+# latest conflated L2 book per symbol, keyed by symbol id
+/usr/bin/kafka-topics --create --if-not-exists \
+    --topic md.depth \
+    --partitions 5 \
+    --config cleanup.policy=compact,delete \
+    --config retention.ms=86400000 \
+    --bootstrap-server kafka:9092
 echo "Topic creation complete."
\ No newline at end of file
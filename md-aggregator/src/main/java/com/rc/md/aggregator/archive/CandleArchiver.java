@@ -0,0 +1,194 @@
+package com.rc.md.aggregator.archive;
+
+import com.rc.md.aggregator.config.AggregatorProperties;
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.candle.store.cold.ColdCandleFiles;
+import com.rc.md.common.config.IntervalDefinition;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves candles older than a per-interval threshold from the hypertable into cold-tier files.
+ * <p>
+ * Works one (symbol, interval, period) at a time: the period is read, written to its file and
+ * fsynced, and only then deleted from the table. A crash in between leaves the rows in both
+ * tiers, readers prefer the files for archived periods and the next run deletes the rows.
+ * Only rows still equal to what was written are deleted, so a candle upserted in between (a late
+ * tick, a recompute) stays in the table and is merged into the file by the next pass.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.aggregator.archive", name = "enabled", havingValue = "true")
+public class CandleArchiver {
+
+    private static final String SYMBOLS_SQL = """
+            SELECT DISTINCT symbol_id FROM %s WHERE interval_sec = ? AND bucket_start < ?
+            """;
+    private static final String OLDEST_SQL = """
+            SELECT extract(epoch FROM min(bucket_start))::bigint FROM %s
+            WHERE symbol_id = ? AND interval_sec = ? AND bucket_start < ?
+            """;
+    private static final String DELETE_SQL = """
+            DELETE FROM %s
+            WHERE symbol_id = ? AND interval_sec = ? AND bucket_start = ?
+              AND open = ? AND high = ? AND low = ? AND close = ? AND volume = ?
+            """;
+
+    private final AggregatorProperties.Archive properties;
+    private final List<IntervalDefinition> intervals;
+    private final CandleStore candleStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final ColdCandleFiles files;
+    private final SymbolRegistry symbolRegistry;
+    private final boolean fixedPoint;
+    private final String table;
+    private final Counter archived;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "candle-archiver");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public CandleArchiver(AggregatorProperties properties,
+                          CandleStore candleStore,
+                          JdbcTemplate jdbcTemplate,
+                          SymbolRegistry symbolRegistry,
+                          MeterRegistry meterRegistry) {
+        this.properties = properties.getArchive();
+        this.intervals = properties.getIntervals();
+        this.candleStore = candleStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.files = new ColdCandleFiles(Path.of(this.properties.getDirectory()));
+        this.symbolRegistry = symbolRegistry;
+        this.fixedPoint = symbolRegistry.isFixedPoint();
+        this.table = fixedPoint ? "candles_fx" : "candles";
+        this.archived = Counter.builder("md.aggregator.archive.candles")
+                .description("Candles moved from the hypertable to cold-tier files")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::runSafely, properties.getInitialDelaySeconds(),
+                properties.getCheckIntervalSeconds(), TimeUnit.SECONDS);
+        log.info("Candle archiver started: directory={}, thresholds={}", properties.getDirectory(),
+                properties.getOlderThan());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void runSafely() {
+        try {
+            run(Instant.now().getEpochSecond());
+        } catch (Exception e) {
+            log.error("Candle archive run failed", e);
+        }
+    }
+
+    /**
+     * Archives every whole period that ended before {@code now - olderThan} of each configured interval.
+     */
+    public void run(long now) {
+        long period = properties.getPeriodSeconds();
+        for (IntervalDefinition def : intervals) {
+            Duration olderThan = properties.getOlderThan().get(def.getId());
+            if (olderThan == null) {
+                continue;
+            }
+            int sec = def.getSeconds();
+            long cutoff = Math.floorDiv(now - olderThan.toSeconds(), period) * period;
+            List<Integer> symbols = jdbcTemplate.queryForList(SYMBOLS_SQL.formatted(table), Integer.class,
+                    sec, toTimestamp(cutoff));
+            for (int symbolId : symbols) {
+                Long oldest;
+                while ((oldest = jdbcTemplate.queryForObject(OLDEST_SQL.formatted(table), Long.class,
+                        symbolId, sec, toTimestamp(cutoff))) != null) {
+                    long start = Math.floorDiv(oldest, period) * period;
+                    if (archive(symbolId, sec, start, start + period) == 0) {
+                        // every row changed since it was read, leave the period to the next run
+                        log.warn("Nothing archived for symbolId={} interval={}s period start {}, retrying next run",
+                                symbolId, sec, start);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return rows deleted from the table
+     */
+    private int archive(int symbolId, int intervalSec, long start, long end) {
+        List<StoredCandle> rows = candleStore.range(symbolId, intervalSec, start, end - 1);
+        List<StoredCandle> candles = rows;
+        Path file = files.file(symbolId, intervalSec, start, end);
+        if (Files.exists(file)) {
+            TreeMap<Long, StoredCandle> merged = new TreeMap<>();
+            files.read(file).forEach(c -> merged.put(c.bucketStart(), c));
+            rows.forEach(c -> merged.put(c.bucketStart(), c));
+            candles = new ArrayList<>(merged.values());
+        }
+        if (!candles.isEmpty()) {
+            files.write(symbolId, intervalSec, start, end, candles);
+        }
+        int deleted = 0;
+        if (!rows.isEmpty()) {
+            int scale = symbolRegistry.scale(symbolId);
+            int[][] counts = jdbcTemplate.batchUpdate(DELETE_SQL.formatted(table), rows, rows.size(), (ps, c) -> {
+                ps.setInt(1, c.symbolId());
+                ps.setInt(2, c.intervalSec());
+                ps.setObject(3, toTimestamp(c.bucketStart()));
+                if (fixedPoint) {
+                    ps.setLong(4, FixedPoint.toMantissa(c.open(), scale));
+                    ps.setLong(5, FixedPoint.toMantissa(c.high(), scale));
+                    ps.setLong(6, FixedPoint.toMantissa(c.low(), scale));
+                    ps.setLong(7, FixedPoint.toMantissa(c.close(), scale));
+                } else {
+                    ps.setDouble(4, c.open());
+                    ps.setDouble(5, c.high());
+                    ps.setDouble(6, c.low());
+                    ps.setDouble(7, c.close());
+                }
+                ps.setLong(8, c.volume());
+            });
+            for (int[] batch : counts) {
+                for (int n : batch) {
+                    deleted += Math.max(n, 0);
+                }
+            }
+        }
+        archived.increment(deleted);
+        log.info("Archived symbolId={} interval={}s period=[{}, {}): {} candles", symbolId, intervalSec,
+                start, end, deleted);
+        return deleted;
+    }
+
+    private static OffsetDateTime toTimestamp(long epochSec) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSec), ZoneOffset.UTC);
+    }
+}
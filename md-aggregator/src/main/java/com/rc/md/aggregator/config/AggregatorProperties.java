@@ -5,11 +5,151 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Setter
 @Getter
 @ConfigurationProperties(prefix = "md.aggregator")
 public class AggregatorProperties {
     private List<IntervalDefinition> intervals;
+
+    /**
+     * LISTENER: BidAskListener reads and upserts the candle of every interval per event.
+     * STREAMS: a Kafka Streams topology keeps open candles in state stores and writes finished ones.
+     */
+    private Engine engine = Engine.LISTENER;
+
+    private Streams streams = new Streams();
+
+    private Ticks ticks = new Ticks();
+
+    private Recompute recompute = new Recompute();
+
+    private Candles candles = new Candles();
+
+    private Archive archive = new Archive();
+
+    @Getter
+    @Setter
+    public static class Ticks {
+
+        /**
+         * Persist every raw tick into the ticks hypertable.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of ticks per COPY statement.
+         */
+        private int batchSize = 50_000;
+
+        /**
+         * Maximum time a tick waits in the buffer before it is written.
+         */
+        private long flushIntervalMillis = 500;
+
+        /**
+         * Ticks buffered ahead of the writer; the listener blocks when the buffer is full.
+         */
+        private int queueCapacity = 500_000;
+
+        /**
+         * Retries of a failing COPY batch before it is dropped and counted in md.aggregator.ticks.dropped,
+         * so a batch the database keeps rejecting cannot stall the writer and the listener behind it.
+         */
+        private int maxRetries = 5;
+    }
+
+    public enum Engine {
+        LISTENER,
+        STREAMS
+    }
+
+    @Getter
+    @Setter
+    public static class Streams {
+
+        /**
+         * How long a window accepts late events after it ends; the candle is written once this has passed.
+         */
+        private long graceSeconds = 5;
+
+        /**
+         * Finished candles buffered before a write; the buffer is also written on every commit.
+         */
+        private int sinkBatchSize = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Candles {
+
+        /**
+         * Publish every updated candle to topics.candles, e.g. for the analytics recent window.
+         */
+        private boolean publish = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Archive {
+
+        /**
+         * Move old candles from the hypertable into cold-tier files.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Root of the cold tier; md-analytics reads the same directory.
+         */
+        private String directory = "data/cold";
+
+        /**
+         * Length of the period stored in one file, aligned to the epoch.
+         */
+        private long periodSeconds = 86_400;
+
+        /**
+         * Age after which candles of an interval id are archived; intervals not listed stay in the hypertable.
+         */
+        private Map<String, Duration> olderThan = new HashMap<>();
+
+        private long initialDelaySeconds = 60;
+
+        private long checkIntervalSeconds = 3_600;
+    }
+
+    @Getter
+    @Setter
+    public static class Recompute {
+
+        /**
+         * Run the offline recompute job on startup and exit when done.
+         */
+        private boolean enabled = false;
+
+        private List<String> symbols = new ArrayList<>();
+
+        /**
+         * Interval ids to rebuild, all configured intervals when empty.
+         */
+        private List<String> intervals = new ArrayList<>();
+
+        /**
+         * Range to rebuild (UNIX seconds), from inclusive, to exclusive.
+         */
+        private long from;
+        private long to;
+
+        /**
+         * Length of the time slice rebuilt per statement.
+         */
+        private long chunkSeconds = 86_400;
+
+        private int parallelism = 4;
+    }
 }
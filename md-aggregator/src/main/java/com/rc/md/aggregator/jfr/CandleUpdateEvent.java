@@ -0,0 +1,27 @@
+package com.rc.md.aggregator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+@Name("md.CandleUpdate")
+@Label("Candle Update")
+@Category({"Market Data", "Aggregator"})
+@Description("One event applied to the candle of one interval, including the read")
+@StackTrace(false)
+public class CandleUpdateEvent extends Event {
+
+    @Label("Symbol Id")
+    public int symbolId;
+
+    @Label("Interval")
+    public String interval;
+
+    @Label("Bucket Start")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    public long bucketStart;
+}
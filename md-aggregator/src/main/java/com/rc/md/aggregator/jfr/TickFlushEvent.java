@@ -0,0 +1,24 @@
+package com.rc.md.aggregator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("md.TickFlush")
+@Label("Tick Flush")
+@Category({"Market Data", "Aggregator"})
+@Description("One batch of raw ticks written with COPY")
+@StackTrace(false)
+public class TickFlushEvent extends Event {
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long bytes;
+}
@@ -3,33 +3,54 @@ package com.rc.md.aggregator.kafka;
 import lombok.extern.slf4j.Slf4j;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.rc.md.aggregator.candle.CandleEntity;
-import com.rc.md.aggregator.candle.CandleRepository;
 import com.rc.md.aggregator.config.AggregatorProperties;
+import com.rc.md.aggregator.jfr.CandleUpdateEvent;
+import com.rc.md.aggregator.metrics.AggregatorMetrics;
+import com.rc.md.aggregator.tick.TickCopyWriter;
+import com.rc.md.aggregator.tick.TickRow;
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.FixedStoredCandle;
+import com.rc.md.candle.store.StoredCandle;
 import com.rc.md.common.config.IntervalDefinition;
 import com.rc.md.common.model.BidAskEvent;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolRegistry;
 import jakarta.transaction.Transactional;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
+@ConditionalOnProperty(prefix = "md.aggregator", name = "engine", havingValue = "listener", matchIfMissing = true)
 public class BidAskListener {
 private final ObjectMapper objectMapper;
-    private final CandleRepository candleRepository;
+    private final CandleStore candleStore;
+    private final SymbolRegistry symbolRegistry;
     private final List<IntervalDefinition> intervals;
-
-    public BidAskListener(CandleRepository candleRepository,
-                          AggregatorProperties properties) {
+    private final TickCopyWriter tickWriter;
+    private final CandlePublisher candlePublisher;
+    private final AggregatorMetrics metrics;
+
+    public BidAskListener(CandleStore candleStore,
+                          SymbolRegistry symbolRegistry,
+                          AggregatorProperties properties,
+                          ObjectProvider<TickCopyWriter> tickWriter,
+                          ObjectProvider<CandlePublisher> candlePublisher,
+                          AggregatorMetrics metrics) {
         this.objectMapper = new ObjectMapper();
-        this.candleRepository = candleRepository;
+        this.candleStore = candleStore;
+        this.symbolRegistry = symbolRegistry;
         this.intervals = properties.getIntervals();
+        this.tickWriter = tickWriter.getIfAvailable();
+        this.candlePublisher = candlePublisher.getIfAvailable();
+        this.metrics = metrics;
     }
 
     @KafkaListener(
@@ -37,54 +58,97 @@ private final ObjectMapper objectMapper;
     )
     @Transactional
     public void onMessage(ConsumerRecord<String, String> record) {
+        BidAskEvent event;
         try {
-            String json = record.value();
-            BidAskEvent event = objectMapper.readValue(json, BidAskEvent.class);
+            event = objectMapper.readValue(record.value(), BidAskEvent.class);
+        } catch (Exception e) {
+            metrics.decodeFailures().increment();
+            log.error("Failed to decode record: {}", record.value(), e);
+            return;
+        }
+        if (record.timestamp() > 0) {
+            metrics.eventAge().record(Math.max(0, System.currentTimeMillis() - record.timestamp()), TimeUnit.MILLISECONDS);
+        }
 
-            double mid = (event.bid() + event.ask()) / 2.0;
-            String symbol = event.symbol();
+        try {
+            int symbolId = event.symbolId();
+            int scale = symbolRegistry.scale(symbolId);
+            boolean fixedPoint = symbolRegistry.isFixedPoint();
+            double bid = event.bid(scale);
+            double ask = event.ask(scale);
+            double mid = (bid + ask) / 2.0;
+            long midPx = fixedPoint ? FixedPoint.mid(event.bidPx(scale), event.askPx(scale)) : 0;
             long ts = event.timestamp();
 
+            if (tickWriter != null) {
+                tickWriter.offer(new TickRow(symbolId, ts, bid, ask, record.offset()));
+            }
+
+            List<StoredCandle> updated = new ArrayList<>(intervals.size());
+            List<FixedStoredCandle> updatedFixed = fixedPoint ? new ArrayList<>(intervals.size()) : List.of();
             for (IntervalDefinition def : intervals) {
-                updateCandle(symbol, mid, ts, def);
+                CandleUpdateEvent jfr = new CandleUpdateEvent();
+                jfr.begin();
+                long start = System.nanoTime();
+                if (fixedPoint) {
+                    FixedStoredCandle candle = updateFixedCandle(symbolId, scale, midPx, ts, def);
+                    updatedFixed.add(candle);
+                    updated.add(candle.toDecimal());
+                } else {
+                    updated.add(updateCandle(symbolId, mid, ts, def));
+                }
+                metrics.candleUpdate(def.getSeconds()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                jfr.end();
+                if (jfr.shouldCommit()) {
+                    jfr.symbolId = symbolId;
+                    jfr.interval = def.getId();
+                    jfr.bucketStart = (ts / def.getSeconds()) * def.getSeconds() * 1000L;
+                    jfr.commit();
+                }
             }
 
+            long start = System.nanoTime();
+            if (fixedPoint) {
+                candleStore.writeFixed(updatedFixed);
+            } else {
+                candleStore.write(updated);
+            }
+            metrics.dbUpsert().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            metrics.dbBatchSize().record(updated.size());
+            if (candlePublisher != null) {
+                candlePublisher.publish(updated);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("Failed to process record: {}", record.value(), e);
         }
     }
 
-    private void updateCandle(String symbol, double price, long tsSeconds, IntervalDefinition def) {
+    private StoredCandle updateCandle(int symbolId, double price, long tsSeconds, IntervalDefinition def) {
+        int sec = def.getSeconds();
+        long bucketSec = (tsSeconds / sec) * sec;
+
+        StoredCandle candle = candleStore.find(symbolId, sec, bucketSec)
+                .map(c -> c.update(price))
+                .orElseGet(() -> StoredCandle.open(symbolId, sec, bucketSec, price));
+
+        log.debug("Updated candle symbolId={} interval={} bucket={} close={} volume={}",
+                symbolId, sec, bucketSec, candle.close(), candle.volume());
+        return candle;
+    }
+
+    private FixedStoredCandle updateFixedCandle(int symbolId, int scale, long price, long tsSeconds,
+                                                IntervalDefinition def) {
         int sec = def.getSeconds();
         long bucketSec = (tsSeconds / sec) * sec;
 
-        OffsetDateTime bucketStart = OffsetDateTime.ofInstant(
-                Instant.ofEpochSecond(bucketSec), ZoneOffset.UTC);
-
-        CandleEntity candle = candleRepository
-                .findBySymbolAndIntervalSecAndBucketStart(symbol, sec, bucketStart)
-                .orElseGet(() -> {
-                    CandleEntity c = new CandleEntity();
-                    c.setSymbol(symbol);
-                    c.setIntervalSec(sec);
-                    c.setBucketStart(bucketStart);
-                    c.setOpen(price);
-                    c.setHigh(price);
-                    c.setLow(price);
-                    c.setClose(price);
-                    c.setVolume(0);
-                    return c;
-                });
-
-        candle.setHigh(Math.max(candle.getHigh(), price));
-        candle.setLow(Math.min(candle.getLow(), price));
-        candle.setClose(price);
-        candle.setVolume(candle.getVolume() + 1);
-
-        candleRepository.save(candle);
-
-        log.debug("Updated candle symbol={} interval={} bucket={} close={} volume={}",
-                symbol, sec, bucketStart, candle.getClose(), candle.getVolume());
+        FixedStoredCandle candle = candleStore.findFixed(symbolId, sec, bucketSec)
+                .map(c -> c.update(price))
+                .orElseGet(() -> FixedStoredCandle.open(symbolId, sec, bucketSec, scale, price));
 
+        log.debug("Updated fixed-point candle symbolId={} interval={} bucket={} close={} volume={}",
+                symbolId, sec, bucketSec, candle.close(), candle.volume());
+        return candle;
     }
 }
@@ -0,0 +1,68 @@
+package com.rc.md.aggregator.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.candle.store.StoredCandle;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Publishes updated candles to the candle topic.
+ * <p>
+ * Records are keyed by (symbol id, interval, bucket start), so a compacted topic keeps the final
+ * version of every candle and a consumer can rebuild its state by reading from the beginning.
+ * The partition is chosen from the symbol id alone, so all candles of a symbol stay in one
+ * partition and are consumed in the order they were published.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.aggregator.candles", name = "publish", havingValue = "true")
+public class CandlePublisher {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+
+    public CandlePublisher(KafkaTemplate<String, String> kafkaTemplate,
+                           @Value("${topics.candles:md.candles}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = new ObjectMapper();
+        this.topic = topic;
+    }
+
+    public void publish(List<StoredCandle> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        int partitions = kafkaTemplate.partitionsFor(topic).size();
+        for (StoredCandle c : candles) {
+            String key = c.symbolId() + ":" + c.intervalSec() + ":" + c.bucketStart();
+            try {
+                String value = objectMapper.writeValueAsString(c);
+                kafkaTemplate.send(topic, partitionFor(c.symbolId(), partitions), key, value)
+                        .whenComplete((result, ex) -> {
+                            if (ex != null) {
+                                log.warn("Failed to publish candle {}: {}", key, ex.toString());
+                            }
+                        });
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to serialize candle {}", c, e);
+            }
+        }
+    }
+
+    /**
+     * @return the partition Kafka's default partitioner picks for the plain symbol id key
+     */
+    private static int partitionFor(int symbolId, int partitions) {
+        byte[] key = Integer.toString(symbolId).getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(key)) % partitions;
+    }
+}
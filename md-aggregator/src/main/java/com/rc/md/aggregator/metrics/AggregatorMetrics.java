@@ -0,0 +1,97 @@
+package com.rc.md.aggregator.metrics;
+
+import com.rc.md.aggregator.config.AggregatorProperties;
+import com.rc.md.candle.store.CandleStoreProperties;
+import com.rc.md.common.config.IntervalDefinition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hot-path meters of the aggregator. Per-interval meters are registered up front so the listener
+ * never looks them up by tags.
+ */
+@Component
+public class AggregatorMetrics {
+
+    private final Map<Integer, Timer> candleUpdate = new HashMap<>();
+    private final DistributionSummary dbBatchSize;
+    private final Counter decodeFailures;
+    private final Timer eventAge;
+    private final Timer tickCopy;
+    private final DistributionSummary tickBatchSize;
+    private final Counter ticksDropped;
+
+    private final Timer dbUpsert;
+
+    public AggregatorMetrics(MeterRegistry registry, AggregatorProperties properties, CandleStoreProperties store) {
+        for (IntervalDefinition def : properties.getIntervals()) {
+            candleUpdate.put(def.getSeconds(), Timer.builder("md.aggregator.candle.update")
+                    .description("Time to apply one event to the candle of one interval, including the read")
+                    .tag("interval", def.getId())
+                    .register(registry));
+        }
+        this.dbUpsert = Timer.builder("md.aggregator.db.upsert")
+                .description("Time to write the candles updated by one event to the candle store")
+                .tag("backend", store.getBackend().name().toLowerCase())
+                .register(registry);
+        this.dbBatchSize = DistributionSummary.builder("md.aggregator.db.batch.size")
+                .description("Candle rows written per listener transaction")
+                .baseUnit("rows")
+                .register(registry);
+        this.decodeFailures = Counter.builder("md.aggregator.decode.failures")
+                .description("Records that could not be decoded into an event")
+                .register(registry);
+        this.eventAge = Timer.builder("md.aggregator.event.age")
+                .description("Time from the Kafka record timestamp (set by the collector on send) until the event is processed")
+                .register(registry);
+        this.tickCopy = Timer.builder("md.aggregator.ticks.copy")
+                .description("Time to COPY one batch of raw ticks")
+                .register(registry);
+        this.tickBatchSize = DistributionSummary.builder("md.aggregator.ticks.batch.size")
+                .description("Raw ticks per COPY batch")
+                .baseUnit("rows")
+                .register(registry);
+        this.ticksDropped = Counter.builder("md.aggregator.ticks.dropped")
+                .description("Raw ticks dropped because their COPY batch kept failing")
+                .baseUnit("rows")
+                .register(registry);
+    }
+
+    public Timer candleUpdate(int intervalSec) {
+        return candleUpdate.get(intervalSec);
+    }
+
+    public Timer dbUpsert() {
+        return dbUpsert;
+    }
+
+    public DistributionSummary dbBatchSize() {
+        return dbBatchSize;
+    }
+
+    public Counter decodeFailures() {
+        return decodeFailures;
+    }
+
+    public Timer eventAge() {
+        return eventAge;
+    }
+
+    public Timer tickCopy() {
+        return tickCopy;
+    }
+
+    public DistributionSummary tickBatchSize() {
+        return tickBatchSize;
+    }
+
+    public Counter ticksDropped() {
+        return ticksDropped;
+    }
+}
@@ -0,0 +1,206 @@
+package com.rc.md.aggregator.recompute;
+
+import com.rc.md.aggregator.config.AggregatorProperties;
+import com.rc.md.common.config.IntervalDefinition;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline job rebuilding candles from the ticks hypertable.
+ * <p>
+ * The requested range is cut into interval-aligned chunks per (symbol, interval); chunks are
+ * rebuilt in parallel, each in its own transaction that deletes the chunk's candles and
+ * re-aggregates them from ticks with the same epoch-aligned bucketing as {@code BidAskListener}.
+ * Run with the {@code recompute} profile, which also keeps the Kafka listener from starting.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.aggregator.recompute", name = "enabled", havingValue = "true")
+public class CandleRecomputeJob implements ApplicationRunner {
+
+    private static final String DELETE_SQL = """
+            DELETE FROM candles
+            WHERE symbol_id = ? AND interval_sec = ? AND bucket_start >= ? AND bucket_start < ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO candles (symbol_id, interval_sec, bucket_start, open, high, low, close, volume)
+            SELECT symbol_id,
+                   ?,
+                   to_timestamp(floor(extract(epoch FROM ts) / ?) * ?) AS bucket,
+                   (array_agg(mid ORDER BY ts, seq))[1],
+                   max(mid),
+                   min(mid),
+                   (array_agg(mid ORDER BY ts DESC, seq DESC))[1],
+                   count(*)
+            FROM (SELECT symbol_id, ts, seq, (bid + ask) / 2.0 AS mid
+                  FROM ticks
+                  WHERE symbol_id = ? AND ts >= ? AND ts < ?) t
+            GROUP BY symbol_id, bucket
+            ON CONFLICT (symbol_id, interval_sec, bucket_start) DO UPDATE
+                SET open = EXCLUDED.open,
+                    high = EXCLUDED.high,
+                    low = EXCLUDED.low,
+                    close = EXCLUDED.close,
+                    volume = EXCLUDED.volume
+            """;
+
+    private static final String DELETE_FX_SQL = """
+            DELETE FROM candles_fx
+            WHERE symbol_id = ? AND interval_sec = ? AND bucket_start >= ? AND bucket_start < ?
+            """;
+
+    // mid is rounded half up on the mantissas, like FixedPoint.mid in the live path
+    private static final String INSERT_FX_SQL = """
+            INSERT INTO candles_fx (symbol_id, interval_sec, bucket_start, open, high, low, close, volume)
+            SELECT symbol_id,
+                   ?,
+                   to_timestamp(floor(extract(epoch FROM ts) / ?) * ?) AS bucket,
+                   (array_agg(mid ORDER BY ts, seq))[1],
+                   max(mid),
+                   min(mid),
+                   (array_agg(mid ORDER BY ts DESC, seq DESC))[1],
+                   count(*)
+            FROM (SELECT symbol_id, ts, seq,
+                         floor((round(bid * ?) + round(ask * ?) + 1) / 2)::bigint AS mid
+                  FROM ticks
+                  WHERE symbol_id = ? AND ts >= ? AND ts < ?) t
+            GROUP BY symbol_id, bucket
+            ON CONFLICT (symbol_id, interval_sec, bucket_start) DO UPDATE
+                SET open = EXCLUDED.open,
+                    high = EXCLUDED.high,
+                    low = EXCLUDED.low,
+                    close = EXCLUDED.close,
+                    volume = EXCLUDED.volume
+            """;
+
+    private final AggregatorProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SymbolRegistry symbolRegistry;
+    private final ApplicationContext context;
+
+    public CandleRecomputeJob(AggregatorProperties properties,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              SymbolRegistry symbolRegistry,
+                              ApplicationContext context) {
+        this.properties = properties;
+        this.symbolRegistry = symbolRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        AggregatorProperties.Recompute job = properties.getRecompute();
+        List<RecomputeChunk> chunks = new ArrayList<>();
+        for (String symbol : job.getSymbols()) {
+            int symbolId = symbolRegistry.require(symbol);
+            for (IntervalDefinition def : selectedIntervals(job)) {
+                chunks.addAll(chunks(symbolId, def.getSeconds(), job.getFrom(), job.getTo(), job.getChunkSeconds()));
+            }
+        }
+
+        log.info("Starting candle recompute: symbols={}, intervals={}, from={}, to={}, chunks={}, parallelism={}",
+                job.getSymbols(), selectedIntervals(job).stream().map(IntervalDefinition::getId).toList(),
+                job.getFrom(), job.getTo(), chunks.size(), job.getParallelism());
+
+        long t0 = System.nanoTime();
+        AtomicLong candles = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, job.getParallelism()));
+        int exitCode = 0;
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks.size());
+            for (RecomputeChunk chunk : chunks) {
+                futures.add(executor.submit(() -> candles.addAndGet(rebuild(chunk))));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (Exception e) {
+            log.error("Candle recompute failed", e);
+            exitCode = 1;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Candle recompute finished: chunks={}, candles={}, seconds={}",
+                chunks.size(), candles.get(), String.format("%.3f", (System.nanoTime() - t0) / 1_000_000_000.0));
+
+        int code = exitCode;
+        // exit after the job so it behaves like a CLI
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private int rebuild(RecomputeChunk chunk) {
+        OffsetDateTime from = toTimestamp(chunk.from());
+        OffsetDateTime to = toTimestamp(chunk.to());
+        Integer inserted = transactionTemplate.execute(status -> {
+            if (symbolRegistry.isFixedPoint()) {
+                long factor = FixedPoint.pow10(symbolRegistry.scale(chunk.symbolId()));
+                jdbcTemplate.update(DELETE_FX_SQL, chunk.symbolId(), chunk.intervalSec(), from, to);
+                return jdbcTemplate.update(INSERT_FX_SQL,
+                        chunk.intervalSec(), chunk.intervalSec(), chunk.intervalSec(),
+                        factor, factor, chunk.symbolId(), from, to);
+            }
+            jdbcTemplate.update(DELETE_SQL, chunk.symbolId(), chunk.intervalSec(), from, to);
+            return jdbcTemplate.update(INSERT_SQL,
+                    chunk.intervalSec(), chunk.intervalSec(), chunk.intervalSec(),
+                    chunk.symbolId(), from, to);
+        });
+        log.debug("Rebuilt chunk {} -> {} candles", chunk, inserted);
+        return inserted == null ? 0 : inserted;
+    }
+
+    private List<IntervalDefinition> selectedIntervals(AggregatorProperties.Recompute job) {
+        if (job.getIntervals().isEmpty()) {
+            return properties.getIntervals();
+        }
+        return properties.getIntervals().stream()
+                .filter(def -> job.getIntervals().contains(def.getId()))
+                .toList();
+    }
+
+    /**
+     * Splits [from, to) into chunks of at least {@code chunkSeconds}, widened to whole buckets of
+     * {@code intervalSec} so every bucket touching the range is rebuilt exactly once.
+     */
+    public static List<RecomputeChunk> chunks(int symbolId, int intervalSec, long from, long to, long chunkSeconds) {
+        List<RecomputeChunk> chunks = new ArrayList<>();
+        if (to <= from) {
+            return chunks;
+        }
+        long start = Math.floorDiv(from, intervalSec) * intervalSec;
+        long end = Math.floorDiv(to + intervalSec - 1, intervalSec) * intervalSec;
+        long step = Math.max(1, (chunkSeconds + intervalSec - 1) / intervalSec) * intervalSec;
+        for (long s = start; s < end; s += step) {
+            chunks.add(new RecomputeChunk(symbolId, intervalSec, s, Math.min(s + step, end)));
+        }
+        return chunks;
+    }
+
+    private static OffsetDateTime toTimestamp(long epochSec) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSec), ZoneOffset.UTC);
+    }
+}
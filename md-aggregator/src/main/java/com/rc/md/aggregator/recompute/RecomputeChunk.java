@@ -0,0 +1,12 @@
+package com.rc.md.aggregator.recompute;
+
+/**
+ * A slice of one (symbol, interval) rebuild, aligned to interval boundaries so that no bucket
+ * spans two chunks. Bounds are UNIX seconds, from inclusive and to exclusive.
+ */
+public record RecomputeChunk(
+        int symbolId,
+        int intervalSec,
+        long from,
+        long to
+) {}
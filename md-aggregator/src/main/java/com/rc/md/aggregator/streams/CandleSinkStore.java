@@ -0,0 +1,144 @@
+package com.rc.md.aggregator.streams;
+
+import com.rc.md.aggregator.kafka.CandlePublisher;
+import com.rc.md.aggregator.metrics.AggregatorMetrics;
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.StoredCandle;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.processor.StateStoreContext;
+import org.apache.kafka.streams.state.StoreBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers finished candles and writes them to the {@link CandleStore} in batches.
+ * <p>
+ * It is registered as a (non-logged) state store because Kafka Streams flushes every store before
+ * it commits offsets, so a candle is always in the database before the events that produced it
+ * are committed. Writes are upserts, so a replay after a crash only rewrites the same rows.
+ */
+class CandleSinkStore implements StateStore {
+
+    private final String name;
+    private final CandleStore candleStore;
+    private final CandlePublisher publisher;
+    private final AggregatorMetrics metrics;
+    private final int batchSize;
+    private final List<StoredCandle> buffer = new ArrayList<>();
+    private boolean open;
+
+    CandleSinkStore(String name, CandleStore candleStore, CandlePublisher publisher,
+                    AggregatorMetrics metrics, int batchSize) {
+        this.name = name;
+        this.candleStore = candleStore;
+        this.publisher = publisher;
+        this.metrics = metrics;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    void add(StoredCandle candle) {
+        buffer.add(candle);
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<StoredCandle> batch = List.copyOf(buffer);
+        long start = System.nanoTime();
+        candleStore.write(batch);
+        metrics.dbUpsert().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        metrics.dbBatchSize().record(batch.size());
+        buffer.clear();
+        if (publisher != null) {
+            publisher.publish(batch);
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    @Deprecated
+    public void init(ProcessorContext context, StateStore root) {
+        context.register(root, (key, value) -> { });
+        open = true;
+    }
+
+    @Override
+    public void init(StateStoreContext context, StateStore root) {
+        context.register(root, (key, value) -> { });
+        open = true;
+    }
+
+    @Override
+    public void close() {
+        flush();
+        open = false;
+    }
+
+    @Override
+    public boolean persistent() {
+        return false;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    static StoreBuilder<CandleSinkStore> builder(String name, CandleStore candleStore, CandlePublisher publisher,
+                                                 AggregatorMetrics metrics, int batchSize) {
+        return new StoreBuilder<>() {
+            @Override
+            public StoreBuilder<CandleSinkStore> withCachingEnabled() {
+                return this;
+            }
+
+            @Override
+            public StoreBuilder<CandleSinkStore> withCachingDisabled() {
+                return this;
+            }
+
+            @Override
+            public StoreBuilder<CandleSinkStore> withLoggingEnabled(Map<String, String> config) {
+                return this;
+            }
+
+            @Override
+            public StoreBuilder<CandleSinkStore> withLoggingDisabled() {
+                return this;
+            }
+
+            @Override
+            public CandleSinkStore build() {
+                return new CandleSinkStore(name, candleStore, publisher, metrics, batchSize);
+            }
+
+            @Override
+            public Map<String, String> logConfig() {
+                return Map.of();
+            }
+
+            @Override
+            public boolean loggingEnabled() {
+                return false;
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+}
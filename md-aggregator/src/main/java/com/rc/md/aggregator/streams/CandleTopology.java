@@ -0,0 +1,157 @@
+package com.rc.md.aggregator.streams;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.aggregator.config.AggregatorProperties;
+import com.rc.md.aggregator.kafka.CandlePublisher;
+import com.rc.md.aggregator.metrics.AggregatorMetrics;
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.common.config.IntervalDefinition;
+import com.rc.md.common.model.BidAskEvent;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Named;
+import org.apache.kafka.streams.kstream.Suppressed;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessor;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessorContext;
+import org.apache.kafka.streams.processor.api.FixedKeyRecord;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.WindowStore;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka Streams alternative to {@code BidAskListener}.
+ * <p>
+ * Events are keyed by symbol id, so open candles live in the RocksDB window store of the task
+ * owning that symbol's partition and move with it on rebalance, restored from the changelog.
+ * A candle is emitted once its window has closed (window end + grace, in event time) and written
+ * to the candle store through {@link CandleSinkStore}. The database is never read.
+ */
+@Slf4j
+public class CandleTopology {
+
+    static final String SINK_STORE = "candle-sink";
+
+    private final AggregatorProperties properties;
+    private final SymbolRegistry symbolRegistry;
+    private final CandleStore candleStore;
+    private final CandlePublisher publisher;
+    private final AggregatorMetrics metrics;
+    private final String topic;
+
+    public CandleTopology(AggregatorProperties properties,
+                          SymbolRegistry symbolRegistry,
+                          CandleStore candleStore,
+                          CandlePublisher publisher,
+                          AggregatorMetrics metrics,
+                          String topic) {
+        this.properties = properties;
+        this.symbolRegistry = symbolRegistry;
+        this.candleStore = candleStore;
+        this.publisher = publisher;
+        this.metrics = metrics;
+        this.topic = topic;
+    }
+
+    public void define(StreamsBuilder builder) {
+        Duration grace = Duration.ofSeconds(properties.getStreams().getGraceSeconds());
+
+        KStream<String, Double> mids = builder
+                .stream(topic, Consumed.with(Serdes.String(), Serdes.String()).withName("normalized"))
+                .processValues(MidProcessor::new, Named.as("mid"));
+
+        KStream<String, StoredCandle> finished = null;
+        for (IntervalDefinition def : properties.getIntervals()) {
+            int sec = def.getSeconds();
+            Duration size = Duration.ofSeconds(sec);
+            KStream<String, StoredCandle> candles = mids
+                    .groupByKey(Grouped.with("by-symbol-" + def.getId(), Serdes.String(), Serdes.Double()))
+                    .windowedBy(TimeWindows.ofSizeAndGrace(size, grace))
+                    .aggregate(() -> Ohlcv.EMPTY, (key, mid, agg) -> agg.add(mid),
+                            Named.as("ohlcv-" + def.getId()),
+                            Materialized.<String, Ohlcv, WindowStore<Bytes, byte[]>>as("candles-" + def.getId())
+                                    .withKeySerde(Serdes.String())
+                                    .withValueSerde(Ohlcv.serde())
+                                    .withRetention(size.plus(grace).plus(size)))
+                    .suppress(Suppressed.untilWindowCloses(Suppressed.BufferConfig.unbounded())
+                            .withName("closed-" + def.getId()))
+                    .toStream(Named.as("finished-" + def.getId()))
+                    .map((w, v) -> new KeyValue<>(w.key(), new StoredCandle(
+                            Integer.parseInt(w.key()), sec, w.window().start() / 1000,
+                            v.open(), v.high(), v.low(), v.close(), v.volume())),
+                            Named.as("candle-" + def.getId()));
+            finished = finished == null ? candles : finished.merge(candles, Named.as("merge-" + def.getId()));
+        }
+        if (finished == null) {
+            throw new IllegalStateException("md.aggregator.intervals must not be empty");
+        }
+
+        builder.addStateStore(CandleSinkStore.builder(SINK_STORE, candleStore, publisher, metrics,
+                properties.getStreams().getSinkBatchSize()));
+        finished.process(SinkProcessor::new, Named.as("sink"), SINK_STORE);
+    }
+
+    /**
+     * Decodes an event into its mid price and moves the record to event time, which drives the windows.
+     */
+    private class MidProcessor implements FixedKeyProcessor<String, String, Double> {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private FixedKeyProcessorContext<String, Double> context;
+
+        @Override
+        public void init(FixedKeyProcessorContext<String, Double> context) {
+            this.context = context;
+        }
+
+        @Override
+        public void process(FixedKeyRecord<String, String> record) {
+            BidAskEvent event;
+            try {
+                event = objectMapper.readValue(record.value(), BidAskEvent.class);
+            } catch (Exception e) {
+                metrics.decodeFailures().increment();
+                log.error("Failed to decode record: {}", record.value(), e);
+                return;
+            }
+            if (record.timestamp() > 0) {
+                metrics.eventAge().record(Math.max(0, System.currentTimeMillis() - record.timestamp()),
+                        TimeUnit.MILLISECONDS);
+            }
+            int scale = symbolRegistry.scale(event.symbolId());
+            double mid = symbolRegistry.isFixedPoint()
+                    ? FixedPoint.toDouble(FixedPoint.mid(event.bidPx(scale), event.askPx(scale)), scale)
+                    : (event.bid(scale) + event.ask(scale)) / 2.0;
+            context.forward(record.withValue(mid).withTimestamp(event.timestamp() * 1000L));
+        }
+    }
+
+    private static class SinkProcessor implements Processor<String, StoredCandle, Void, Void> {
+
+        private CandleSinkStore sink;
+
+        @Override
+        public void init(ProcessorContext<Void, Void> context) {
+            this.sink = context.getStateStore(SINK_STORE);
+        }
+
+        @Override
+        public void process(Record<String, StoredCandle> record) {
+            sink.add(record.value());
+        }
+    }
+}
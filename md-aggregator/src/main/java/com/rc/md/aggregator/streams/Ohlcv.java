@@ -0,0 +1,40 @@
+package com.rc.md.aggregator.streams;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Aggregate of an open window. Stored as 40 fixed bytes, it is written to RocksDB and the
+ * changelog on every update.
+ */
+record Ohlcv(double open, double high, double low, double close, long volume) {
+
+    static final Ohlcv EMPTY = new Ohlcv(0, 0, 0, 0, 0);
+
+    private static final int BYTES = 5 * 8;
+
+    Ohlcv add(double price) {
+        if (volume == 0) {
+            return new Ohlcv(price, price, price, price, 1);
+        }
+        return new Ohlcv(open, Math.max(high, price), Math.min(low, price), price, volume + 1);
+    }
+
+    static Serde<Ohlcv> serde() {
+        Serializer<Ohlcv> serializer = (topic, v) -> v == null ? null : ByteBuffer.allocate(BYTES)
+                .putDouble(v.open).putDouble(v.high).putDouble(v.low).putDouble(v.close).putLong(v.volume)
+                .array();
+        Deserializer<Ohlcv> deserializer = (topic, bytes) -> {
+            if (bytes == null) {
+                return null;
+            }
+            ByteBuffer b = ByteBuffer.wrap(bytes);
+            return new Ohlcv(b.getDouble(), b.getDouble(), b.getDouble(), b.getDouble(), b.getLong());
+        };
+        return Serdes.serdeFrom(serializer, deserializer);
+    }
+}
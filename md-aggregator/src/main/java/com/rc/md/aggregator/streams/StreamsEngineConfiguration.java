@@ -0,0 +1,34 @@
+package com.rc.md.aggregator.streams;
+
+import com.rc.md.aggregator.config.AggregatorProperties;
+import com.rc.md.aggregator.kafka.CandlePublisher;
+import com.rc.md.aggregator.metrics.AggregatorMetrics;
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.common.symbol.SymbolRegistry;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(prefix = "md.aggregator", name = "engine", havingValue = "streams")
+public class StreamsEngineConfiguration {
+
+    @Bean
+    public CandleTopology candleTopology(StreamsBuilder streamsBuilder,
+                                         AggregatorProperties properties,
+                                         SymbolRegistry symbolRegistry,
+                                         CandleStore candleStore,
+                                         ObjectProvider<CandlePublisher> candlePublisher,
+                                         AggregatorMetrics metrics,
+                                         @Value("${topics.normalized:md.bidask.normalized}") String topic) {
+        CandleTopology topology = new CandleTopology(properties, symbolRegistry, candleStore,
+                candlePublisher.getIfAvailable(), metrics, topic);
+        topology.define(streamsBuilder);
+        return topology;
+    }
+}
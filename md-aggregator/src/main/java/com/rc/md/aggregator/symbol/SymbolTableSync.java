@@ -0,0 +1,55 @@
+package com.rc.md.aggregator.symbol;
+
+import com.rc.md.common.symbol.SymbolRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the configured symbol registry to the {@code symbols} table, so candles and ticks, which
+ * only store {@code symbol_id}, can be joined back to names in SQL. Rows whose name is unchanged
+ * are left alone, so a restart does not rewrite the whole registry.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.symbols", name = "sync-table", havingValue = "true", matchIfMissing = true)
+public class SymbolTableSync implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO symbols (symbol_id, name) VALUES (?, ?)
+            ON CONFLICT (symbol_id) DO UPDATE SET name = EXCLUDED.name
+            WHERE symbols.name IS DISTINCT FROM EXCLUDED.name
+            """;
+
+    private final SymbolRegistry symbolRegistry;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SymbolTableSync(SymbolRegistry symbolRegistry, JdbcTemplate jdbcTemplate) {
+        this.symbolRegistry = symbolRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        symbolRegistry.forEach((id, name) -> {
+            batch.add(new Object[]{id, name});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        }
+        log.info("Synced {} symbols to the symbols table", symbolRegistry.size());
+    }
+}
@@ -0,0 +1,52 @@
+package com.rc.md.aggregator.tick;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encodes tick rows in the PostgreSQL binary COPY format for
+ * {@code COPY ticks (symbol_id, ts, bid, ask, seq) FROM STDIN (FORMAT BINARY)}.
+ */
+public final class PgBinaryCopyEncoder {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final long PG_EPOCH_OFFSET_SECONDS = 946_684_800L; // 2000-01-01T00:00:00Z
+    private static final short FIELD_COUNT = 5;
+
+    private PgBinaryCopyEncoder() {
+    }
+
+    public static byte[] encode(List<TickRow> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + rows.size() * 54);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.write(SIGNATURE);
+        out.writeInt(0); // flags
+        out.writeInt(0); // header extension length
+
+        for (TickRow row : rows) {
+            out.writeShort(FIELD_COUNT);
+
+            out.writeInt(4);
+            out.writeInt(row.symbolId());
+
+            out.writeInt(8);
+            out.writeLong((row.timestamp() - PG_EPOCH_OFFSET_SECONDS) * 1_000_000L);
+
+            out.writeInt(8);
+            out.writeDouble(row.bid());
+
+            out.writeInt(8);
+            out.writeDouble(row.ask());
+
+            out.writeInt(8);
+            out.writeLong(row.seq());
+        }
+
+        out.writeShort(-1); // trailer
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
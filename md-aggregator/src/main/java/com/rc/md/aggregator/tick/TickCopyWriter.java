@@ -0,0 +1,139 @@
+package com.rc.md.aggregator.tick;
+
+import com.rc.md.aggregator.config.AggregatorProperties;
+import com.rc.md.aggregator.jfr.TickFlushEvent;
+import com.rc.md.aggregator.metrics.AggregatorMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers raw ticks and writes them to the ticks hypertable with binary COPY in large batches.
+ * <p>
+ * {@link #offer} blocks when the buffer is full, which slows the Kafka listener down rather than
+ * dropping ticks. A batch that still fails after {@code maxRetries} retries is dropped and counted,
+ * so one the database rejects for good does not block the listener forever.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.aggregator.ticks", name = "enabled", havingValue = "true")
+public class TickCopyWriter {
+
+    private static final String COPY_SQL = "COPY ticks (symbol_id, ts, bid, ask, seq) FROM STDIN (FORMAT BINARY)";
+
+    private final DataSource dataSource;
+    private final AggregatorProperties.Ticks properties;
+    private final AggregatorMetrics metrics;
+    private final BlockingQueue<TickRow> queue;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public TickCopyWriter(DataSource dataSource, AggregatorProperties properties, AggregatorMetrics metrics) {
+        this.dataSource = dataSource;
+        this.metrics = metrics;
+        this.properties = properties.getTicks();
+        this.queue = new ArrayBlockingQueue<>(this.properties.getQueueCapacity());
+        this.writerThread = new Thread(this::run, "tick-copy-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writerThread.start();
+        log.info("Tick COPY writer started: batchSize={}, flushIntervalMillis={}",
+                properties.getBatchSize(), properties.getFlushIntervalMillis());
+    }
+
+    public void offer(TickRow row) throws InterruptedException {
+        queue.put(row);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(10_000);
+    }
+
+    private void run() {
+        int batchSize = properties.getBatchSize();
+        List<TickRow> batch = new ArrayList<>(batchSize);
+        int failures = 0;
+        while (running || !queue.isEmpty()) {
+            try {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMillis());
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    TickRow row = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (row != null) {
+                        batch.add(row);
+                    } else if (!running) {
+                        break;
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    batch.clear();
+                }
+                failures = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (++failures > properties.getMaxRetries()) {
+                    log.error("Dropping {} ticks from {} to {} after {} failed COPY attempts", batch.size(),
+                            batch.get(0), batch.get(batch.size() - 1), failures, e);
+                    metrics.ticksDropped().increment(batch.size());
+                    batch.clear();
+                    failures = 0;
+                    continue;
+                }
+                // keep the batch and retry on the next round
+                log.error("Failed to COPY {} ticks, retry {} of {}", batch.size(), failures,
+                        properties.getMaxRetries(), e);
+                sleepQuietly(properties.getFlushIntervalMillis());
+            }
+        }
+    }
+
+    private void write(List<TickRow> batch) throws Exception {
+        TickFlushEvent jfr = new TickFlushEvent();
+        jfr.begin();
+        long t0 = System.nanoTime();
+        byte[] payload = PgBinaryCopyEncoder.encode(batch);
+        try (Connection connection = dataSource.getConnection()) {
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            long rows = pg.getCopyAPI().copyIn(COPY_SQL, new ByteArrayInputStream(payload));
+            metrics.tickCopy().record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+            metrics.tickBatchSize().record(rows);
+            jfr.rows = rows;
+            jfr.bytes = payload.length;
+            jfr.commit();
+            log.debug("Copied {} ticks ({} bytes) in {} ms",
+                    rows, payload.length, (System.nanoTime() - t0) / 1_000_000);
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
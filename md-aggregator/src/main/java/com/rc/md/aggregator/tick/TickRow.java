@@ -0,0 +1,13 @@
+package com.rc.md.aggregator.tick;
+
+/**
+ * A raw tick as stored in the ticks hypertable. {@code seq} is the Kafka offset and orders ticks
+ * of a symbol that share the same (second resolution) timestamp.
+ */
+public record TickRow(
+        int symbolId,
+        long timestamp,
+        double bid,
+        double ask,
+        long seq
+) {}
@@ -1,8 +1,8 @@
 package com.rc.md.aggregator;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.rc.md.aggregator.candle.CandleEntity;
-import com.rc.md.aggregator.candle.CandleRepository;
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.StoredCandle;
 import com.rc.md.common.model.BidAskEvent;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.Test;
@@ -14,9 +14,6 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,50 +32,44 @@ class AggregatorIntegrationTest {
     private KafkaTemplate<String, String> kafkaTemplate;
 
     @Autowired
-    private CandleRepository candleRepository;
+    private CandleStore candleStore;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
     void shouldAggregateBidAskIntoOneMinuteCandle() throws Exception {
         // given
-        String symbol = "BTC-USD";
+        int symbolId = 1;
         long ts = 1_700_000_060L; // arbitrary unix seconds
         double bid = 100.0;
         double ask = 102.0;
-        BidAskEvent event = new BidAskEvent(symbol, bid, ask, ts);
+        BidAskEvent event = new BidAskEvent(symbolId, bid, ask, ts);
         String payload = objectMapper.writeValueAsString(event);
 
-        kafkaTemplate.send(new ProducerRecord<>(TOPIC, symbol, payload));
+        kafkaTemplate.send(new ProducerRecord<>(TOPIC, Integer.toString(symbolId), payload));
         kafkaTemplate.flush();
 
         // when - wait for aggregator to consume and persist the candle
         long bucketSec = (ts / 60) * 60;
-        OffsetDateTime bucketStart = OffsetDateTime.ofInstant(
-                Instant.ofEpochSecond(bucketSec),
-                ZoneOffset.UTC
-        );
-
-        CandleEntity candle = waitForCandle(symbol, 60, bucketStart, Duration.ofSeconds(10));
+        StoredCandle candle = waitForCandle(symbolId, 60, bucketSec, Duration.ofSeconds(10));
 
         // then
         assertThat(candle).isNotNull();
         double mid = (bid + ask) / 2.0;
-        assertThat(candle.getOpen()).isEqualTo(mid);
-        assertThat(candle.getHigh()).isEqualTo(mid);
-        assertThat(candle.getLow()).isEqualTo(mid);
-        assertThat(candle.getClose()).isEqualTo(mid);
-        assertThat(candle.getVolume()).isEqualTo(1L);
+        assertThat(candle.open()).isEqualTo(mid);
+        assertThat(candle.high()).isEqualTo(mid);
+        assertThat(candle.low()).isEqualTo(mid);
+        assertThat(candle.close()).isEqualTo(mid);
+        assertThat(candle.volume()).isEqualTo(1L);
     }
 
-    private CandleEntity waitForCandle(String symbol,
+    private StoredCandle waitForCandle(int symbolId,
                                        int intervalSec,
-                                       OffsetDateTime bucketStart,
+                                       long bucketStart,
                                        Duration timeout) throws InterruptedException {
         long deadline = System.currentTimeMillis() + timeout.toMillis();
         while (System.currentTimeMillis() < deadline) {
-            Optional<CandleEntity> optional = candleRepository
-                    .findBySymbolAndIntervalSecAndBucketStart(symbol, intervalSec, bucketStart);
+            Optional<StoredCandle> optional = candleStore.find(symbolId, intervalSec, bucketStart);
             if (optional.isPresent()) {
                 return optional.get();
             }
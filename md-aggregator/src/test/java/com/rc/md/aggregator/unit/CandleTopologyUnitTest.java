@@ -0,0 +1,92 @@
+package com.rc.md.aggregator.unit;
+
+import com.rc.md.aggregator.config.AggregatorProperties;
+import com.rc.md.aggregator.metrics.AggregatorMetrics;
+import com.rc.md.aggregator.streams.CandleTopology;
+import com.rc.md.candle.store.CandleStoreProperties;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.candle.store.memory.InMemoryCandleStore;
+import com.rc.md.common.config.IntervalDefinition;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleTopologyUnitTest {
+
+    @TempDir
+    Path stateDir;
+
+    private InMemoryCandleStore store;
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, String> input;
+
+    @BeforeEach
+    void setup() {
+        IntervalDefinition m1 = new IntervalDefinition();
+        m1.setId("1m");
+        m1.setSeconds(60);
+        AggregatorProperties properties = new AggregatorProperties();
+        properties.setIntervals(List.of(m1));
+        properties.getStreams().setGraceSeconds(0);
+
+        store = new InMemoryCandleStore();
+        AggregatorMetrics metrics = new AggregatorMetrics(new SimpleMeterRegistry(), properties,
+                new CandleStoreProperties());
+        StreamsBuilder builder = new StreamsBuilder();
+        new CandleTopology(properties, SymbolRegistry.of(Map.of(1, "BTC-USD")), store, null, metrics, "in")
+                .define(builder);
+
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "candle-topology-test");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(builder.build(), config);
+        input = driver.createInputTopic("in", new StringSerializer(), new StringSerializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void writesCandleOnceItsWindowHasClosed() {
+        send(60, 100, 102);
+        send(75, 104, 106);
+        send(119, 98, 100);
+        assertThat(store.find(1, 60, 60)).isEmpty();
+
+        send(120, 110, 112);
+
+        assertThat(store.find(1, 60, 60)).contains(new StoredCandle(1, 60, 60, 101, 105, 99, 99, 3));
+        assertThat(store.find(1, 60, 120)).isEmpty();
+    }
+
+    @Test
+    void dropsEventsForClosedWindows() {
+        send(60, 100, 102);
+        send(180, 100, 102);
+        send(90, 50, 52);
+
+        assertThat(store.find(1, 60, 60).orElseThrow().volume()).isEqualTo(1);
+    }
+
+    private void send(long ts, double bid, double ask) {
+        input.pipeInput("1", "{\"symbolId\":1,\"bid\":" + bid + ",\"ask\":" + ask + ",\"timestamp\":" + ts + "}");
+    }
+}
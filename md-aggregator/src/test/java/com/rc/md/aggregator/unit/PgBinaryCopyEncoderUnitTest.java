@@ -0,0 +1,57 @@
+package com.rc.md.aggregator.unit;
+
+import com.rc.md.aggregator.tick.PgBinaryCopyEncoder;
+import com.rc.md.aggregator.tick.TickRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PgBinaryCopyEncoderUnitTest {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    @Test
+    void encodesHeaderTuplesAndTrailer() throws Exception {
+        List<TickRow> rows = List.of(
+                new TickRow(7, 1_700_000_000L, 64_000.25, 64_000.75, 42),
+                new TickRow(-1, 946_684_800L, -0.5, 1e-9, Long.MAX_VALUE));
+
+        byte[] payload = PgBinaryCopyEncoder.encode(rows);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+
+        assertThat(in.readNBytes(SIGNATURE.length)).isEqualTo(SIGNATURE);
+        assertThat(in.readInt()).as("flags").isZero();
+        assertThat(in.readInt()).as("header extension").isZero();
+
+        for (TickRow row : rows) {
+            assertThat(in.readShort()).as("field count").isEqualTo((short) 5);
+            assertThat(in.readInt()).isEqualTo(4);
+            assertThat(in.readInt()).isEqualTo(row.symbolId());
+            assertThat(in.readInt()).isEqualTo(8);
+            // timestamptz: microseconds since 2000-01-01T00:00:00Z
+            assertThat(in.readLong()).isEqualTo((row.timestamp() - 946_684_800L) * 1_000_000L);
+            assertThat(in.readInt()).isEqualTo(8);
+            assertThat(in.readDouble()).isEqualTo(row.bid());
+            assertThat(in.readInt()).isEqualTo(8);
+            assertThat(in.readDouble()).isEqualTo(row.ask());
+            assertThat(in.readInt()).isEqualTo(8);
+            assertThat(in.readLong()).isEqualTo(row.seq());
+        }
+
+        assertThat(in.readShort()).as("trailer").isEqualTo((short) -1);
+        assertThat(in.available()).isZero();
+    }
+
+    @Test
+    void emptyBatchIsHeaderAndTrailerOnly() throws Exception {
+        byte[] payload = PgBinaryCopyEncoder.encode(List.of());
+
+        assertThat(payload).hasSize(SIGNATURE.length + 4 + 4 + 2);
+        assertThat(payload[payload.length - 2]).isEqualTo((byte) 0xFF);
+        assertThat(payload[payload.length - 1]).isEqualTo((byte) 0xFF);
+    }
+}
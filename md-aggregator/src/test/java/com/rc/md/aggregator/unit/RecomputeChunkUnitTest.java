@@ -0,0 +1,33 @@
+package com.rc.md.aggregator.unit;
+
+import com.rc.md.aggregator.recompute.CandleRecomputeJob;
+import com.rc.md.aggregator.recompute.RecomputeChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecomputeChunkUnitTest {
+
+    @Test
+    void chunksAreAlignedToIntervalAndCoverRange() {
+        List<RecomputeChunk> chunks = CandleRecomputeJob.chunks(1, 60, 90, 400, 120);
+
+        assertThat(chunks).extracting(RecomputeChunk::from).containsExactly(60L, 180L, 300L);
+        assertThat(chunks).extracting(RecomputeChunk::to).containsExactly(180L, 300L, 420L);
+    }
+
+    @Test
+    void chunkLengthIsRoundedUpToWholeBuckets() {
+        List<RecomputeChunk> chunks = CandleRecomputeJob.chunks(1, 300, 0, 1000, 400);
+
+        assertThat(chunks).extracting(RecomputeChunk::from).containsExactly(0L, 600L);
+        assertThat(chunks).extracting(RecomputeChunk::to).containsExactly(600L, 1200L);
+    }
+
+    @Test
+    void emptyRangeProducesNoChunks() {
+        assertThat(CandleRecomputeJob.chunks(1, 60, 100, 100, 3600)).isEmpty();
+    }
+}
@@ -0,0 +1,28 @@
+package com.rc.md.client.analytics.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.analytics.client.cache")
+public class AnalyticsClientCacheProperties {
+
+    /**
+     * (symbol, interval) series kept, least recently used are dropped first.
+     */
+    private int maxSeries = 1_000;
+
+    private int maxCandlesPerSeries = 100_000;
+
+    /**
+     * A bucket is treated as final this long after it ends; younger buckets are fetched again on every call.
+     */
+    private long settleSeconds = 5;
+
+    /**
+     * Threads running {@link CachingAnalyticsClient#getHistoryAsync} calls.
+     */
+    private int asyncThreads = 8;
+}
@@ -0,0 +1,226 @@
+package com.rc.md.client.analytics.cache;
+
+import com.rc.md.client.analytics.AnalyticsClient;
+import com.rc.md.common.api.HistoryResponse;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link AnalyticsClient} wrapper that keeps the candles it has downloaded and, for repeated
+ * calls over sliding windows, only requests the buckets it does not have yet.
+ * <p>
+ * Every series caches one contiguous range of final buckets. A call fetches what lies before or
+ * after that range and answers from the merged cache; buckets that may still change (the open
+ * one, plus {@code settleSeconds}) are never part of the cached range, so they are fetched again
+ * on the next call. Neither are buckets after the newest candle the server returned, since the
+ * server may still publish them late. A request that does not touch the cached range replaces it.
+ */
+public class CachingAnalyticsClient implements AutoCloseable {
+
+    private static final Pattern INTERVAL = Pattern.compile("(\\d+)([smhd])");
+
+    private final AnalyticsClient delegate;
+    private final AnalyticsClientCacheProperties properties;
+    private final Clock clock;
+    private final Map<String, Series> cache;
+    private final ExecutorService executor;
+
+    public CachingAnalyticsClient(AnalyticsClient delegate, AnalyticsClientCacheProperties properties) {
+        this(delegate, properties, Clock.systemUTC());
+    }
+
+    public CachingAnalyticsClient(AnalyticsClient delegate, AnalyticsClientCacheProperties properties, Clock clock) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Series> eldest) {
+                return size() > properties.getMaxSeries();
+            }
+        });
+        AtomicInteger n = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getAsyncThreads()), r -> {
+            Thread t = new Thread(r, "analytics-client-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public CompletableFuture<HistoryResponse> getHistoryAsync(String symbol, String interval, long from, long to) {
+        return CompletableFuture.supplyAsync(() -> getHistory(symbol, interval, from, to), executor);
+    }
+
+    public HistoryResponse getHistory(String symbol, String interval, long from, long to) {
+        long sec = intervalSeconds(interval);
+        if (sec <= 0 || from > to) {
+            return delegate.getHistory(symbol, interval, from, to);
+        }
+        long fromB = -Math.floorDiv(-from, sec) * sec;
+        long toB = Math.floorDiv(to, sec) * sec;
+        Series series = cache.computeIfAbsent(symbol + '|' + interval, k -> new Series());
+        synchronized (series) {
+            return series.get(symbol, interval, sec, fromB, toB);
+        }
+    }
+
+    public void invalidate(String symbol, String interval) {
+        cache.remove(symbol + '|' + interval);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return seconds of an interval id like 1s, 5m, 1h or 1d, 0 when it cannot be parsed
+     */
+    static long intervalSeconds(String interval) {
+        Matcher m = INTERVAL.matcher(interval);
+        if (!m.matches()) {
+            return 0;
+        }
+        long n = Long.parseLong(m.group(1));
+        return switch (m.group(2)) {
+            case "s" -> n;
+            case "m" -> n * 60;
+            case "h" -> n * 3_600;
+            default -> n * 86_400;
+        };
+    }
+
+    private record Row(double o, double h, double l, double c, long v) {
+    }
+
+    private class Series {
+
+        private final NavigableMap<Long, Row> rows = new TreeMap<>();
+        // cached range of final buckets, empty when from > to
+        private long from = 1;
+        private long to = 0;
+
+        HistoryResponse get(String symbol, String interval, long sec, long fromB, long toB) {
+            if (from > to || toB < from - sec || fromB > to + sec) {
+                rows.clear();
+                HistoryResponse res = fetch(symbol, interval, fromB, toB);
+                if (!ok(res)) {
+                    return res;
+                }
+                from = fromB;
+                to = settledUpTo(sec, fromB, toB);
+            } else {
+                if (fromB < from) {
+                    HistoryResponse res = fetch(symbol, interval, fromB, from - 1);
+                    if (!ok(res)) {
+                        return res;
+                    }
+                    from = fromB;
+                }
+                if (toB > to) {
+                    HistoryResponse res = fetch(symbol, interval, to + sec, toB);
+                    if (!ok(res)) {
+                        return res;
+                    }
+                    to = Math.max(to, settledUpTo(sec, to + sec, toB));
+                }
+            }
+            trim(sec);
+            return response(fromB, toB);
+        }
+
+        /**
+         * Merges the server's candles in {@code [a, b]} into the cache; an error response drops the series.
+         */
+        private HistoryResponse fetch(String symbol, String interval, long a, long b) {
+            HistoryResponse res = delegate.getHistory(symbol, interval, a, b);
+            if (!ok(res)) {
+                from = 1;
+                to = 0;
+                rows.clear();
+                return res;
+            }
+            // rows the server no longer returns in this range are not ours to keep
+            rows.subMap(a, true, b, true).clear();
+            for (int i = 0; i < res.getT().size(); i++) {
+                rows.put(res.getT().get(i), new Row(res.getO().get(i), res.getH().get(i), res.getL().get(i),
+                        res.getC().get(i), res.getV().get(i)));
+            }
+            return res;
+        }
+
+        private boolean ok(HistoryResponse res) {
+            return res != null && "ok".equals(res.getS()) && res.getT() != null;
+        }
+
+        private long lastFinal(long sec) {
+            long now = clock.instant().getEpochSecond() - properties.getSettleSeconds();
+            // a bucket is final once it ended, the bucket before the one containing "now" is the last
+            return Math.floorDiv(now, sec) * sec - sec;
+        }
+
+        /**
+         * Last bucket of a fetched {@code [a, b]} that may be cached: final by the clock and not
+         * after the newest candle the server returned, {@code a - sec} when it returned none.
+         */
+        private long settledUpTo(long sec, long a, long b) {
+            Long last = rows.floorKey(b);
+            if (last == null || last < a) {
+                return a - sec;
+            }
+            return Math.min(last, lastFinal(sec));
+        }
+
+        private void trim(long sec) {
+            int excess = rows.size() - properties.getMaxCandlesPerSeries();
+            Iterator<Long> it = rows.keySet().iterator();
+            while (excess-- > 0 && it.hasNext()) {
+                from = Math.max(from, it.next() + sec);
+                it.remove();
+            }
+        }
+
+        private HistoryResponse response(long fromB, long toB) {
+            NavigableMap<Long, Row> range = rows.subMap(fromB, true, toB, true);
+            int n = range.size();
+            List<Long> t = new ArrayList<>(n);
+            List<Double> o = new ArrayList<>(n);
+            List<Double> h = new ArrayList<>(n);
+            List<Double> l = new ArrayList<>(n);
+            List<Double> c = new ArrayList<>(n);
+            List<Long> v = new ArrayList<>(n);
+            for (Map.Entry<Long, Row> e : range.entrySet()) {
+                Row r = e.getValue();
+                t.add(e.getKey());
+                o.add(r.o());
+                h.add(r.h());
+                l.add(r.l());
+                c.add(r.c());
+                v.add(r.v());
+            }
+            HistoryResponse res = new HistoryResponse();
+            res.setS("ok");
+            res.setT(t);
+            res.setO(o);
+            res.setH(h);
+            res.setL(l);
+            res.setC(c);
+            res.setV(v);
+            return res;
+        }
+    }
+}
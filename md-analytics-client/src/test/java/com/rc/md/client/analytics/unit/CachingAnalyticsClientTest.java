@@ -0,0 +1,149 @@
+package com.rc.md.client.analytics.unit;
+
+import com.rc.md.client.analytics.AnalyticsClient;
+import com.rc.md.client.analytics.cache.AnalyticsClientCacheProperties;
+import com.rc.md.client.analytics.cache.CachingAnalyticsClient;
+import com.rc.md.common.api.HistoryResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingAnalyticsClientTest {
+
+    /**
+     * Serves one candle per minute with close = bucket start and records every requested range.
+     * Buckets from {@code lateFrom} on are not published yet.
+     */
+    private static class FakeServer implements AnalyticsClient {
+        final List<long[]> calls = new ArrayList<>();
+        double bump;
+        long lateFrom = Long.MAX_VALUE;
+
+        @Override
+        public HistoryResponse getHistory(String symbol, String interval, long from, long to) {
+            calls.add(new long[]{from, to});
+            HistoryResponse res = new HistoryResponse();
+            res.setS("ok");
+            res.setT(new ArrayList<>());
+            res.setO(new ArrayList<>());
+            res.setH(new ArrayList<>());
+            res.setL(new ArrayList<>());
+            res.setC(new ArrayList<>());
+            res.setV(new ArrayList<>());
+            for (long t = -Math.floorDiv(-from, 60) * 60; t <= to && t < NOW && t < lateFrom; t += 60) {
+                res.getT().add(t);
+                res.getO().add((double) t);
+                res.getH().add((double) t);
+                res.getL().add((double) t);
+                res.getC().add(t + bump);
+                res.getV().add(1L);
+            }
+            return res;
+        }
+    }
+
+    private static final long NOW = 60_000 + 30;
+
+    private final FakeServer server = new FakeServer();
+    private final AnalyticsClientCacheProperties properties = new AnalyticsClientCacheProperties();
+    private CachingAnalyticsClient client;
+
+    private CachingAnalyticsClient client() {
+        properties.setSettleSeconds(0);
+        client = new CachingAnalyticsClient(server, properties,
+                Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC));
+        return client;
+    }
+
+    @AfterEach
+    void close() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    void slidingWindowOnlyFetchesTheOpenTail() {
+        CachingAnalyticsClient c = client();
+        HistoryResponse first = c.getHistory("BTC", "1m", 54_000, 60_000);
+        assertThat(first.getT()).hasSize(101);
+
+        server.bump = 0.5;
+        HistoryResponse second = c.getHistory("BTC", "1m", 54_060, 60_060);
+
+        assertThat(server.calls).hasSize(2);
+        // 59_940 is the last final bucket, only the open one at 60_000 is requested again
+        assertThat(server.calls.get(1)).containsExactly(60_000, 60_060);
+        assertThat(second.getT()).hasSize(100).startsWith(54_060L).endsWith(60_000L);
+        assertThat(second.getC().get(second.getC().size() - 1)).isEqualTo(60_000.5);
+        assertThat(second.getC().get(0)).isEqualTo(54_060.0);
+    }
+
+    @Test
+    void lateBucketIsFetchedAgain() {
+        CachingAnalyticsClient c = client();
+        server.lateFrom = 59_940;
+        HistoryResponse first = c.getHistory("BTC", "1m", 54_000, 60_000);
+        assertThat(first.getT()).endsWith(59_880L);
+
+        server.lateFrom = Long.MAX_VALUE;
+        HistoryResponse second = c.getHistory("BTC", "1m", 54_000, 60_000);
+
+        // 59_940 is final by the clock but was missing, so it is not cached as empty
+        assertThat(server.calls.get(1)).containsExactly(59_940, 60_000);
+        assertThat(second.getT()).hasSize(101).endsWith(59_940L, 60_000L);
+        c.getHistory("BTC", "1m", 54_000, 60_000);
+        assertThat(server.calls.get(2)).containsExactly(60_000, 60_000);
+    }
+
+    @Test
+    void extendingBackwardsFetchesOnlyTheHead() {
+        CachingAnalyticsClient c = client();
+        c.getHistory("BTC", "1m", 54_000, 55_000);
+        HistoryResponse res = c.getHistory("BTC", "1m", 53_000, 54_500);
+
+        assertThat(server.calls.get(1)).containsExactly(53_040, 53_999);
+        assertThat(res.getT()).startsWith(53_040L).endsWith(54_480L).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void disjointRangeReplacesTheSeries() {
+        CachingAnalyticsClient c = client();
+        c.getHistory("BTC", "1m", 54_000, 55_000);
+        c.getHistory("BTC", "1m", 10_000, 11_000);
+        c.getHistory("BTC", "1m", 54_000, 55_000);
+
+        assertThat(server.calls).hasSize(3);
+        assertThat(server.calls.get(2)).containsExactly(54_000, 54_960);
+    }
+
+    @Test
+    void seriesIsTrimmedToTheNewestCandles() {
+        properties.setMaxCandlesPerSeries(10);
+        CachingAnalyticsClient c = client();
+        c.getHistory("BTC", "1m", 54_000, 55_000);
+        HistoryResponse res = c.getHistory("BTC", "1m", 54_420, 55_000);
+
+        assertThat(res.getT()).hasSize(10);
+        assertThat(server.calls).hasSize(1);
+        c.getHistory("BTC", "1m", 54_000, 55_000);
+        assertThat(server.calls.get(1)).containsExactly(54_000, 54_419);
+    }
+
+    @Test
+    void asyncCallCompletesWithTheSameData() throws Exception {
+        CachingAnalyticsClient c = client();
+        HistoryResponse res = c.getHistoryAsync("BTC", "1m", 54_000, 55_000).get(5, TimeUnit.SECONDS);
+
+        assertThat(res.getS()).isEqualTo("ok");
+        assertThat(res.getT()).hasSize(17);
+    }
+}
@@ -0,0 +1,94 @@
+package com.rc.md.analytics.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs history queries in one of two bulkheads by estimated cost, so a few large backfills
+ * cannot take every request thread and database connection from interactive charts.
+ * <p>
+ * The cost is the number of candles the range can hold. Each bulkhead caps concurrent queries;
+ * a request waits up to the bulkhead's wait time for a slot and is otherwise shed with
+ * {@link OverloadedException}.
+ */
+@Component
+public class AdmissionControl {
+
+    private final AdmissionProperties properties;
+    private final Bulkhead light;
+    private final Bulkhead heavy;
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.light = new Bulkhead("light", properties.getLight(), meterRegistry);
+        this.heavy = new Bulkhead("heavy", properties.getHeavy(), meterRegistry);
+    }
+
+    /**
+     * @return candles a range of {@code [from, to]} can hold at {@code intervalSec}
+     */
+    public static long cost(int intervalSec, long from, long to) {
+        return to < from ? 0 : (to - from) / intervalSec + 1;
+    }
+
+    public <T> T run(long cost, Supplier<T> query) {
+        Bulkhead bulkhead = cost > properties.getHeavyCost() ? heavy : light;
+        bulkhead.acquire(properties.getRetryAfterSeconds());
+        try {
+            return query.get();
+        } finally {
+            bulkhead.permits.release();
+        }
+    }
+
+    private static class Bulkhead {
+
+        private final String name;
+        private final Semaphore permits;
+        private final long maxWaitMillis;
+        private final Timer wait;
+        private final Counter rejected;
+
+        Bulkhead(String name, AdmissionProperties.Bulkhead config, MeterRegistry registry) {
+            this.name = name;
+            this.permits = new Semaphore(config.getMaxConcurrent(), true);
+            this.maxWaitMillis = config.getMaxWaitMillis();
+            this.wait = Timer.builder("md.analytics.admission.wait")
+                    .description("Time a query waited for a slot in its bulkhead")
+                    .tag("bulkhead", name)
+                    .register(registry);
+            this.rejected = Counter.builder("md.analytics.admission.rejected")
+                    .description("Queries shed with 429 because their bulkhead was full")
+                    .tag("bulkhead", name)
+                    .register(registry);
+            Gauge.builder("md.analytics.admission.active", permits,
+                            p -> config.getMaxConcurrent() - p.availablePermits())
+                    .description("Queries running in the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(registry);
+        }
+
+        void acquire(int retryAfterSeconds) {
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejected.increment();
+                throw new OverloadedException(name, retryAfterSeconds);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.rc.md.analytics.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.analytics.admission")
+public class AdmissionProperties {
+
+    /**
+     * Requests expected to return more candles than this run in the heavy bulkhead.
+     */
+    private long heavyCost = 5_000;
+
+    private Bulkhead light = new Bulkhead(12, 100);
+
+    private Bulkhead heavy = new Bulkhead(4, 200);
+
+    /**
+     * Retry-After sent with 429 responses.
+     */
+    private int retryAfterSeconds = 2;
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+
+        /**
+         * Queries running at the same time; light + heavy should not exceed the connection pool size.
+         */
+        private int maxConcurrent;
+
+        /**
+         * How long a request waits for a free slot before it is rejected with 429.
+         */
+        private long maxWaitMillis;
+
+        public Bulkhead() {
+        }
+
+        public Bulkhead(int maxConcurrent, long maxWaitMillis) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+    }
+}
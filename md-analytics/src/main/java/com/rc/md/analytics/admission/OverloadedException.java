@@ -0,0 +1,17 @@
+package com.rc.md.analytics.admission;
+
+import lombok.Getter;
+
+/**
+ * The request's bulkhead had no free slot within its wait time.
+ */
+@Getter
+public class OverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public OverloadedException(String bulkhead, int retryAfterSeconds) {
+        super("Too many " + bulkhead + " queries, retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,39 +1,99 @@
 package com.rc.md.analytics.api;
 
-import com.rc.md.analytics.candle.CandleEntity;
-import com.rc.md.analytics.candle.CandleRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.analytics.admission.AdmissionControl;
+import com.rc.md.analytics.admission.OverloadedException;
+import com.rc.md.analytics.coalesce.SingleFlight;
 import com.rc.md.analytics.config.IntervalConfig;
+import com.rc.md.analytics.downsample.CandleColumns;
+import com.rc.md.analytics.downsample.Downsampler;
+import com.rc.md.analytics.jfr.HistoryQueryEvent;
+import com.rc.md.analytics.query.RangeQuery;
+import com.rc.md.analytics.recent.RecentCandleWindow;
+import com.rc.md.candle.store.StoredCandle;
 import com.rc.md.common.api.HistoryResponse;
+import com.rc.md.common.config.IntervalDefinition;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.time.Instant;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 public class HistoryController  {
 
-    private final CandleRepository candleRepository;
+    private final RangeQuery rangeQuery;
+    private final RecentCandleWindow recentWindow;
+    private final AdmissionControl admissionControl;
     private final IntervalConfig intervalConfig;
+    private final SymbolRegistry symbolRegistry;
+    private final Map<String, Timer> queryTimers = new HashMap<>();
+    private final DistributionSummary rows;
+    private final Timer serialization;
+    private final ObjectMapper objectMapper;
+    private final SingleFlight<HistoryKey, byte[]> singleFlight;
 
-    public HistoryController(CandleRepository candleRepository,
-                             IntervalConfig intervalConfig) {
-        this.candleRepository = candleRepository;
+    public HistoryController(RangeQuery rangeQuery,
+                             ObjectProvider<RecentCandleWindow> recentWindow,
+                             AdmissionControl admissionControl,
+                             IntervalConfig intervalConfig,
+                             SymbolRegistry symbolRegistry,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.rangeQuery = rangeQuery;
+        this.recentWindow = recentWindow.getIfAvailable();
+        this.admissionControl = admissionControl;
         this.intervalConfig = intervalConfig;
+        this.symbolRegistry = symbolRegistry;
+        // the Spring-configured mapper, so spring.jackson.* and modules apply to the pre-serialized body
+        this.objectMapper = objectMapper;
+        if (intervalConfig.getIntervals() != null) {
+            for (IntervalDefinition def : intervalConfig.getIntervals()) {
+                queryTimers.put(def.getId(), Timer.builder("md.analytics.history.query")
+                        .description("Time to load the candles of one history request")
+                        .tag("interval", def.getId())
+                        .register(meterRegistry));
+            }
+        }
+        this.rows = DistributionSummary.builder("md.analytics.history.rows")
+                .description("Candles returned per history request")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.serialization = Timer.builder("md.analytics.serialization")
+                .description("Time to serialize a response body to JSON")
+                .tag("type", HistoryResponse.class.getSimpleName())
+                .tag("path", "prebuilt")
+                .register(meterRegistry);
+        this.singleFlight = new SingleFlight<>("history", meterRegistry);
     }
 
     @Operation(
             summary = "Get historical candles",
             description = "Returns OHLCV candles for a symbol and interval in a given time range."
     )
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = HistoryResponse.class)))
+    @ApiResponse(responseCode = "429", description = "Too many queries of this size, retry after Retry-After seconds")
     @GetMapping("/api/v1/history")
-    public HistoryResponse getHistory(
+    public ResponseEntity<?> getHistory(
             @Parameter(description = "Symbol, e.g. BTC-USD")
             @RequestParam("symbol") String symbol,
             @Parameter(description = "Interval id, e.g. 1m")
@@ -41,51 +101,107 @@ public class HistoryController  {
             @Parameter(description = "From timestamp (UNIX seconds)")
             @RequestParam("from") long from,
             @Parameter(description = "To timestamp (UNIX seconds)")
-            @RequestParam("to") long to
+            @RequestParam("to") long to,
+            @Parameter(description = "Return at most this many candles, downsampling larger ranges")
+            @RequestParam(value = "maxPoints", required = false) Integer maxPoints,
+            @Parameter(description = "Downsampling: ohlc merges candles, lttb keeps the candles that shape the close line")
+            @RequestParam(value = "downsample", defaultValue = "ohlc") String downsample
     ) {
         HistoryResponse res = new HistoryResponse();
 
         if (from > to) {
             res.setS("error");
             res.setMessage("from must be <= to");
-            return res;
+            return ResponseEntity.ok(res);
+        }
+
+        if (maxPoints != null && maxPoints < 1) {
+            res.setS("error");
+            res.setMessage("maxPoints must be > 0");
+            return ResponseEntity.ok(res);
+        }
+
+        Downsampler.Mode mode;
+        try {
+            mode = Downsampler.Mode.valueOf(downsample.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            res.setS("error");
+            res.setMessage("Unsupported downsample mode: " + downsample);
+            return ResponseEntity.ok(res);
         }
 
         var intervalDef = intervalConfig.findById(intervalId);
         if (intervalDef == null) {
             res.setS("error");
             res.setMessage("Unsupported interval: " + intervalId);
-            return res;
+            return ResponseEntity.ok(res);
+        }
+
+        int symbolId = symbolRegistry.id(symbol);
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            res.setS("error");
+            res.setMessage("Unknown symbol: " + symbol);
+            return ResponseEntity.ok(res);
+        }
+
+        int sec = intervalDef.getSeconds();
+        // candles start on bucket boundaries, so ranges covering the same buckets return the same rows
+        HistoryKey key = new HistoryKey(symbolId, sec,
+                -Math.floorDiv(-from, sec) * sec, Math.floorDiv(to, sec) * sec,
+                maxPoints == null ? 0 : maxPoints, mode);
+        long cost = AdmissionControl.cost(sec, key.from(), key.to());
+        byte[] body;
+        try {
+            // only the caller running the query takes a bulkhead slot, coalesced callers just wait
+            body = singleFlight.execute(key,
+                    () -> admissionControl.run(cost, () -> serialize(load(key, symbol, intervalId))));
+        } catch (OverloadedException e) {
+            res.setS("error");
+            res.setMessage(e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(res);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private HistoryResponse load(HistoryKey key, String symbol, String intervalId) {
+        HistoryQueryEvent jfr = new HistoryQueryEvent();
+        jfr.begin();
+        long start = System.nanoTime();
+        List<StoredCandle> candles = recentWindow != null
+                ? recentWindow.range(key.symbolId(), key.intervalSec(), key.from(), key.to(), rangeQuery)
+                : rangeQuery.range(key.symbolId(), key.intervalSec(), key.from(), key.to());
+        queryTimers.get(intervalId).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        rows.record(candles.size());
+        jfr.end();
+        if (jfr.shouldCommit()) {
+            jfr.symbol = symbol;
+            jfr.interval = intervalId;
+            jfr.from = key.from();
+            jfr.to = key.to();
+            jfr.rows = candles.size();
+            jfr.commit();
         }
 
-        int intervalSec = intervalDef.getSeconds();
-
-        OffsetDateTime fromTs = OffsetDateTime.ofInstant(
-                Instant.ofEpochSecond(from), ZoneOffset.UTC);
-        OffsetDateTime toTs = OffsetDateTime.ofInstant(
-                Instant.ofEpochSecond(to), ZoneOffset.UTC);
-
-        List<CandleEntity> candles =
-                candleRepository.findBySymbolAndIntervalSecAndBucketStartBetweenOrderByBucketStartAsc(
-                        symbol, intervalSec, fromTs, toTs);
-
-        List<Long> t = new ArrayList<>(candles.size());
-        List<Double> o = new ArrayList<>(candles.size());
-        List<Double> h = new ArrayList<>(candles.size());
-        List<Double> l = new ArrayList<>(candles.size());
-        List<Double> c = new ArrayList<>(candles.size());
-        List<Long> v = new ArrayList<>(candles.size());
-
-        for (CandleEntity ce : candles) {
-            long epochSec = ce.getBucketStart().toEpochSecond();
-            t.add(epochSec);
-            o.add(ce.getOpen());
-            h.add(ce.getHigh());
-            l.add(ce.getLow());
-            c.add(ce.getClose());
-            v.add(ce.getVolume());
+        CandleColumns cols = Downsampler.downsample(CandleColumns.of(candles), key.maxPoints(), key.mode());
+        int n = cols.size();
+        List<Long> t = new ArrayList<>(n);
+        List<Double> o = new ArrayList<>(n);
+        List<Double> h = new ArrayList<>(n);
+        List<Double> l = new ArrayList<>(n);
+        List<Double> c = new ArrayList<>(n);
+        List<Long> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            t.add(cols.t[i]);
+            o.add(cols.o[i]);
+            h.add(cols.h[i]);
+            l.add(cols.l[i]);
+            c.add(cols.c[i]);
+            v.add(cols.v[i]);
         }
 
+        HistoryResponse res = new HistoryResponse();
         res.setS("ok");
         res.setT(t);
         res.setO(o);
@@ -95,4 +211,24 @@ public class HistoryController  {
         res.setV(v);
         return res;
     }
+
+    /**
+     * Serialized once per coalesced query, every waiting request writes the same bytes.
+     */
+    private byte[] serialize(HistoryResponse res) {
+        long start = System.nanoTime();
+        try {
+            return objectMapper.writeValueAsBytes(res);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize history response", e);
+        } finally {
+            serialization.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @param maxPoints 0 when the response is not downsampled
+     */
+    private record HistoryKey(int symbolId, int intervalSec, long from, long to, int maxPoints, Downsampler.Mode mode) {
+    }
 }
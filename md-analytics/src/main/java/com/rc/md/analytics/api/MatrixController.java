@@ -0,0 +1,153 @@
+package com.rc.md.analytics.api;
+
+import com.rc.md.analytics.admission.OverloadedException;
+import com.rc.md.analytics.config.IntervalConfig;
+import com.rc.md.analytics.matrix.CorrelationMatrix;
+import com.rc.md.analytics.matrix.MatrixKey;
+import com.rc.md.analytics.matrix.MatrixProperties;
+import com.rc.md.analytics.matrix.MatrixService;
+import com.rc.md.common.api.MatrixResponse;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@RestController
+public class MatrixController {
+
+    private final MatrixService matrixService;
+    private final IntervalConfig intervalConfig;
+    private final SymbolRegistry symbolRegistry;
+    private final MatrixProperties properties;
+
+    public MatrixController(MatrixService matrixService,
+                            IntervalConfig intervalConfig,
+                            SymbolRegistry symbolRegistry,
+                            MatrixProperties properties) {
+        this.matrixService = matrixService;
+        this.intervalConfig = intervalConfig;
+        this.symbolRegistry = symbolRegistry;
+        this.properties = properties;
+    }
+
+    @Operation(
+            summary = "Get correlation and volatility matrices",
+            description = "Returns the annualized volatility of every symbol and the correlation of every pair, "
+                    + "computed from log close-to-close returns over a common window."
+    )
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = MatrixResponse.class)))
+    @ApiResponse(responseCode = "429", description = "Too many queries of this size, retry after Retry-After seconds")
+    @GetMapping("/api/v1/matrix")
+    public ResponseEntity<MatrixResponse> getMatrix(
+            @Parameter(description = "Comma separated symbols, e.g. BTC-USD,ETH-USD")
+            @RequestParam("symbols") List<String> symbols,
+            @Parameter(description = "Interval id, e.g. 1h")
+            @RequestParam("interval") String intervalId,
+            @Parameter(description = "From timestamp (UNIX seconds)")
+            @RequestParam("from") long from,
+            @Parameter(description = "To timestamp (UNIX seconds)")
+            @RequestParam("to") long to
+    ) {
+        MatrixResponse res = new MatrixResponse();
+
+        if (from > to) {
+            return ResponseEntity.ok(error(res, "from must be <= to"));
+        }
+
+        if (symbols.size() > properties.getMaxSymbols()) {
+            return ResponseEntity.ok(error(res, "At most " + properties.getMaxSymbols() + " symbols per request"));
+        }
+
+        var intervalDef = intervalConfig.findById(intervalId);
+        if (intervalDef == null) {
+            return ResponseEntity.ok(error(res, "Unsupported interval: " + intervalId));
+        }
+
+        int sec = intervalDef.getSeconds();
+        long fromB = -Math.floorDiv(-from, sec) * sec;
+        long toB = Math.floorDiv(to, sec) * sec;
+        if (toB < fromB) {
+            return ResponseEntity.ok(error(res, "Range holds no complete bucket"));
+        }
+        long buckets = (toB - fromB) / sec + 1;
+        if (buckets > properties.getMaxBuckets()) {
+            return ResponseEntity.ok(error(res, "At most " + properties.getMaxBuckets() + " buckets per window"));
+        }
+        if (symbols.size() * buckets > properties.getMaxCells()) {
+            return ResponseEntity.ok(error(res, "At most " + properties.getMaxCells()
+                    + " symbols x buckets per request, shorten the window or request fewer symbols"));
+        }
+
+        List<Integer> ids = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            int symbolId = symbolRegistry.id(symbol);
+            if (symbolId == SymbolRegistry.UNKNOWN) {
+                return ResponseEntity.ok(error(res, "Unknown symbol: " + symbol));
+            }
+            if (ids.contains(symbolId)) {
+                return ResponseEntity.ok(error(res, "Duplicate symbol: " + symbol));
+            }
+            ids.add(symbolId);
+        }
+
+        // the same set in any order shares one matrix
+        List<Integer> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        CorrelationMatrix matrix;
+        try {
+            matrix = matrixService.matrix(new MatrixKey(List.copyOf(sorted), sec, fromB, toB));
+        } catch (OverloadedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(error(res, e.getMessage()));
+        }
+
+        int k = ids.size();
+        int[] index = new int[k];
+        for (int i = 0; i < k; i++) {
+            index[i] = Collections.binarySearch(sorted, ids.get(i));
+        }
+        List<Double> volatility = new ArrayList<>(k);
+        List<List<Double>> correlation = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            volatility.add(value(matrix.volatility(index[i])));
+            List<Double> row = new ArrayList<>(k);
+            for (int j = 0; j < k; j++) {
+                row.add(value(matrix.correlation(index[i], index[j])));
+            }
+            correlation.add(row);
+        }
+
+        res.setS("ok");
+        res.setInterval(intervalId);
+        res.setFrom(fromB);
+        res.setTo(toB);
+        res.setPoints(matrix.points());
+        res.setSymbols(symbols);
+        res.setVolatility(volatility);
+        res.setCorrelation(correlation);
+        return ResponseEntity.ok(res);
+    }
+
+    private static MatrixResponse error(MatrixResponse res, String message) {
+        res.setS("error");
+        res.setMessage(message);
+        return res;
+    }
+
+    private static Double value(double d) {
+        return Double.isNaN(d) ? null : d;
+    }
+}
@@ -0,0 +1,103 @@
+package com.rc.md.analytics.api;
+
+import com.rc.md.analytics.config.IntervalConfig;
+import com.rc.md.analytics.snapshot.LatestCandles;
+import com.rc.md.analytics.snapshot.SnapshotProperties;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.common.api.SnapshotResponse;
+import com.rc.md.common.config.IntervalDefinition;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@ConditionalOnProperty(prefix = "md.analytics.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotController {
+
+    private final LatestCandles latestCandles;
+    private final IntervalConfig intervalConfig;
+    private final SymbolRegistry symbolRegistry;
+    private final SnapshotProperties properties;
+
+    public SnapshotController(LatestCandles latestCandles,
+                              IntervalConfig intervalConfig,
+                              SymbolRegistry symbolRegistry,
+                              SnapshotProperties properties) {
+        this.latestCandles = latestCandles;
+        this.intervalConfig = intervalConfig;
+        this.symbolRegistry = symbolRegistry;
+        this.properties = properties;
+    }
+
+    @Operation(
+            summary = "Get latest candles",
+            description = "Returns the current candle of every requested symbol and interval. Served from memory; "
+                    + "series without a candle yet are left out."
+    )
+    @GetMapping("/api/v1/snapshot")
+    public SnapshotResponse getSnapshot(
+            @Parameter(description = "Comma separated symbols, e.g. BTC-USD,ETH-USD")
+            @RequestParam("symbols") List<String> symbols,
+            @Parameter(description = "Comma separated interval ids, e.g. 1m,5m")
+            @RequestParam("intervals") List<String> intervalIds
+    ) {
+        SnapshotResponse res = new SnapshotResponse();
+
+        if ((long) symbols.size() * intervalIds.size() > properties.getMaxPairs()) {
+            res.setS("error");
+            res.setMessage("At most " + properties.getMaxPairs() + " symbol/interval pairs per request");
+            return res;
+        }
+
+        List<IntervalDefinition> intervals = new ArrayList<>(intervalIds.size());
+        for (String id : intervalIds) {
+            IntervalDefinition def = intervalConfig.findById(id);
+            if (def == null) {
+                res.setS("error");
+                res.setMessage("Unsupported interval: " + id);
+                return res;
+            }
+            intervals.add(def);
+        }
+
+        List<SnapshotResponse.Entry> entries = new ArrayList<>(symbols.size() * intervals.size());
+        for (String symbol : symbols) {
+            int symbolId = symbolRegistry.id(symbol);
+            if (symbolId == SymbolRegistry.UNKNOWN) {
+                res.setS("error");
+                res.setMessage("Unknown symbol: " + symbol);
+                return res;
+            }
+            for (IntervalDefinition def : intervals) {
+                StoredCandle candle = latestCandles.get(symbolId, def.getSeconds());
+                if (candle != null) {
+                    entries.add(entry(symbol, def.getId(), candle));
+                }
+            }
+        }
+
+        res.setS("ok");
+        res.setCandles(entries);
+        return res;
+    }
+
+    private static SnapshotResponse.Entry entry(String symbol, String interval, StoredCandle candle) {
+        SnapshotResponse.Entry e = new SnapshotResponse.Entry();
+        e.setSymbol(symbol);
+        e.setInterval(interval);
+        e.setT(candle.bucketStart());
+        e.setO(candle.open());
+        e.setH(candle.high());
+        e.setL(candle.low());
+        e.setC(candle.close());
+        e.setV(candle.volume());
+        return e;
+    }
+}
@@ -0,0 +1,51 @@
+package com.rc.md.analytics.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON converter that records how long writing each response body takes, tagged with the
+ * response type. Includes the time spent writing to the client socket once the buffer fills.
+ * <p>
+ * Tagged {@code path=converter}; bodies a controller serializes itself use {@code path=prebuilt}.
+ */
+public class TimedJsonMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+
+    public TimedJsonMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timers.computeIfAbsent(object.getClass(), this::timer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Class<?> type) {
+        return Timer.builder("md.analytics.serialization")
+                .description("Time to serialize a response body to JSON")
+                .tag("type", type.getSimpleName())
+                .tag("path", "converter")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.rc.md.analytics.cold;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.analytics.cold")
+public class ColdTierProperties {
+
+    /**
+     * Read archived periods from the cold-tier files written by the aggregator's archiver.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Same directory as md.aggregator.archive.directory.
+     */
+    private String directory = "data/cold";
+
+    /**
+     * Period files kept memory-mapped at once, least recently read are unmapped first.
+     */
+    private int maxMappedFiles = 1024;
+}
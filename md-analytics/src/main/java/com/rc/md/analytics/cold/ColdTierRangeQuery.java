@@ -0,0 +1,56 @@
+package com.rc.md.analytics.cold;
+
+import com.rc.md.analytics.query.ParallelRangeQuery;
+import com.rc.md.analytics.query.RangeQuery;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.candle.store.cold.ColdCandleFiles;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves archived periods from the memory-mapped cold-tier files and the rest from the database.
+ * Everything before the end of the last archived period of a series is read from files, so rows
+ * still in the table for an archived period (archiver crashed before deleting) are never returned twice.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "md.analytics.cold", name = "enabled", havingValue = "true")
+public class ColdTierRangeQuery implements RangeQuery {
+
+    private final ColdCandleFiles files;
+    private final RangeQuery hot;
+    private final DistributionSummary coldRows;
+
+    public ColdTierRangeQuery(ColdTierProperties properties,
+                              ParallelRangeQuery hot,
+                              MeterRegistry meterRegistry) {
+        this.files = new ColdCandleFiles(Path.of(properties.getDirectory()), properties.getMaxMappedFiles());
+        this.hot = hot;
+        this.coldRows = DistributionSummary.builder("md.analytics.cold.rows")
+                .description("Candles of one history read served from cold-tier files")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<StoredCandle> range(int symbolId, int intervalSec, long from, long to) {
+        long coldEnd = files.coldEnd(symbolId, intervalSec);
+        if (from >= coldEnd) {
+            return hot.range(symbolId, intervalSec, from, to);
+        }
+        List<StoredCandle> out = new ArrayList<>(
+                files.range(symbolId, intervalSec, from, Math.min(to, coldEnd - 1)));
+        coldRows.record(out.size());
+        if (to >= coldEnd) {
+            out.addAll(hot.range(symbolId, intervalSec, coldEnd, to));
+        }
+        return out;
+    }
+}
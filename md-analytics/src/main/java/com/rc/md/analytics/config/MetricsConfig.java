@@ -0,0 +1,20 @@
+package com.rc.md.analytics.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.analytics.api.TimedJsonMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces Boot's default JSON converter, so response serialization time is measured.
+     */
+    @Bean
+    public TimedJsonMessageConverter timedJsonMessageConverter(ObjectMapper objectMapper,
+                                                               MeterRegistry meterRegistry) {
+        return new TimedJsonMessageConverter(objectMapper, meterRegistry);
+    }
+}
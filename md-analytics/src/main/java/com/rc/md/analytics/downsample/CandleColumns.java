@@ -0,0 +1,54 @@
+package com.rc.md.analytics.downsample;
+
+import com.rc.md.candle.store.StoredCandle;
+
+import java.util.List;
+
+/**
+ * Candles as primitive columns, the shape of the history response.
+ */
+public final class CandleColumns {
+
+    public final long[] t;
+    public final double[] o;
+    public final double[] h;
+    public final double[] l;
+    public final double[] c;
+    public final long[] v;
+    private int size;
+
+    public CandleColumns(int capacity) {
+        this.t = new long[capacity];
+        this.o = new double[capacity];
+        this.h = new double[capacity];
+        this.l = new double[capacity];
+        this.c = new double[capacity];
+        this.v = new long[capacity];
+    }
+
+    public static CandleColumns of(List<StoredCandle> candles) {
+        CandleColumns cols = new CandleColumns(candles.size());
+        for (StoredCandle sc : candles) {
+            cols.add(sc.bucketStart(), sc.open(), sc.high(), sc.low(), sc.close(), sc.volume());
+        }
+        return cols;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(long time, double open, double high, double low, double close, long volume) {
+        t[size] = time;
+        o[size] = open;
+        h[size] = high;
+        l[size] = low;
+        c[size] = close;
+        v[size] = volume;
+        size++;
+    }
+
+    void copyRow(CandleColumns from, int i) {
+        add(from.t[i], from.o[i], from.h[i], from.l[i], from.c[i], from.v[i]);
+    }
+}
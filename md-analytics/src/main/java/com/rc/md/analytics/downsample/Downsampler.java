@@ -0,0 +1,97 @@
+package com.rc.md.analytics.downsample;
+
+/**
+ * Reduces a candle series to at most {@code maxPoints} rows in one pass over the columns.
+ */
+public final class Downsampler {
+
+    public enum Mode {
+        /**
+         * Merge runs of consecutive candles into one: first open, max high, min low, last close,
+         * summed volume, stamped with the first bucket. Exact for OHLC charts.
+         */
+        OHLC,
+
+        /**
+         * Largest-Triangle-Three-Buckets on the close series; keeps the original candles that
+         * preserve the visual shape of a line chart.
+         */
+        LTTB
+    }
+
+    private Downsampler() {
+    }
+
+    public static CandleColumns downsample(CandleColumns in, int maxPoints, Mode mode) {
+        if (maxPoints <= 0 || in.size() <= maxPoints) {
+            return in;
+        }
+        return mode == Mode.LTTB ? lttb(in, maxPoints) : merge(in, maxPoints);
+    }
+
+    static CandleColumns merge(CandleColumns in, int maxPoints) {
+        int n = in.size();
+        int per = (n + maxPoints - 1) / maxPoints;
+        CandleColumns out = new CandleColumns((n + per - 1) / per);
+        for (int start = 0; start < n; start += per) {
+            int end = Math.min(n, start + per);
+            double high = in.h[start];
+            double low = in.l[start];
+            long volume = 0;
+            for (int i = start; i < end; i++) {
+                high = Math.max(high, in.h[i]);
+                low = Math.min(low, in.l[i]);
+                volume += in.v[i];
+            }
+            out.add(in.t[start], in.o[start], high, low, in.c[end - 1], volume);
+        }
+        return out;
+    }
+
+    static CandleColumns lttb(CandleColumns in, int maxPoints) {
+        int n = in.size();
+        CandleColumns out = new CandleColumns(maxPoints);
+        out.copyRow(in, 0);
+        if (maxPoints < 3) {
+            if (maxPoints == 2) {
+                out.copyRow(in, n - 1);
+            }
+            return out;
+        }
+
+        // first and last are always kept, the rest is split into maxPoints - 2 buckets
+        double every = (double) (n - 2) / (maxPoints - 2);
+        int a = 0;
+        for (int b = 0; b < maxPoints - 2; b++) {
+            int nextStart = (int) ((b + 1) * every) + 1;
+            int nextEnd = Math.min((int) ((b + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                avgX += in.t[j];
+                avgY += in.c[j];
+            }
+            int len = nextEnd - nextStart;
+            avgX /= len;
+            avgY /= len;
+
+            int from = (int) (b * every) + 1;
+            int to = (int) ((b + 1) * every) + 1;
+            double ax = in.t[a];
+            double ay = in.c[a];
+            double maxArea = -1;
+            int picked = from;
+            for (int j = from; j < to; j++) {
+                double area = Math.abs((ax - avgX) * (in.c[j] - ay) - (ax - in.t[j]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    picked = j;
+                }
+            }
+            out.copyRow(in, picked);
+            a = picked;
+        }
+        out.copyRow(in, n - 1);
+        return out;
+    }
+}
@@ -0,0 +1,31 @@
+package com.rc.md.analytics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("md.HistoryQuery")
+@Label("History Query")
+@Category({"Market Data", "Analytics"})
+@Description("Candles of one history request loaded from the database")
+@StackTrace(false)
+public class HistoryQueryEvent extends Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Interval")
+    public String interval;
+
+    @Label("From (UNIX seconds)")
+    public long from;
+
+    @Label("To (UNIX seconds)")
+    public long to;
+
+    @Label("Rows")
+    public int rows;
+}
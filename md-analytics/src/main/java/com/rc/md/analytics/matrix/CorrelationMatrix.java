@@ -0,0 +1,194 @@
+package com.rc.md.analytics.matrix;
+
+import com.rc.md.candle.store.StoredCandle;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Volatility and correlation of log close-to-close returns over aligned close series.
+ * <p>
+ * Series are aligned on the bucket grid of the window with the last close carried forward, and
+ * all statistics use the buckets after the latest first candle of the set, so every pair is
+ * computed over the same returns. Returns are standardized once per symbol; each correlation is
+ * then a single dot product.
+ */
+public final class CorrelationMatrix {
+
+    private static final double SECONDS_PER_YEAR = 365 * 86_400.0;
+    private static final int MIN_RETURNS = 2;
+
+    private final int size;
+    private final int points;
+    private final double[] volatility;
+    private final double[] correlation;
+
+    private CorrelationMatrix(int size, int points, double[] volatility, double[] correlation) {
+        this.size = size;
+        this.points = points;
+        this.volatility = volatility;
+        this.correlation = correlation;
+    }
+
+    /**
+     * @return closes of {@code buckets} buckets from {@code from}, last close carried forward, NaN before the first candle
+     */
+    public static double[] align(List<StoredCandle> candles, long from, int intervalSec, int buckets) {
+        double[] closes = new double[buckets];
+        double last = Double.NaN;
+        int j = 0;
+        for (int i = 0; i < buckets; i++) {
+            long t = from + (long) i * intervalSec;
+            while (j < candles.size() && candles.get(j).bucketStart() <= t) {
+                last = candles.get(j++).close();
+            }
+            closes[i] = last;
+        }
+        return closes;
+    }
+
+    /**
+     * @param closes aligned close series of equal length, one per symbol
+     */
+    public static CorrelationMatrix compute(double[][] closes, int intervalSec, ForkJoinPool pool) {
+        int k = closes.length;
+        int n = k == 0 ? 0 : closes[0].length;
+        int start = 0;
+        for (double[] c : closes) {
+            int first = firstDefined(c);
+            if (first < n) {
+                start = Math.max(start, first);
+            }
+        }
+        int m = Math.max(0, n - start - 1);
+        double annualize = Math.sqrt(SECONDS_PER_YEAR / intervalSec);
+
+        double[][] z = new double[k][];
+        double[] volatility = new double[k];
+        Arrays.fill(volatility, Double.NaN);
+        int first = start;
+        pool.invoke(new Rows(0, k, i -> {
+            if (m < MIN_RETURNS || firstDefined(closes[i]) >= n) {
+                return;
+            }
+            double[] r = new double[m];
+            double mean = 0;
+            for (int t = 0; t < m; t++) {
+                r[t] = Math.log(closes[i][first + t + 1] / closes[i][first + t]);
+                mean += r[t];
+            }
+            mean /= m;
+            double ss = 0;
+            for (int t = 0; t < m; t++) {
+                r[t] -= mean;
+                ss += r[t] * r[t];
+            }
+            volatility[i] = Math.sqrt(ss / (m - 1)) * annualize;
+            if (ss > 0) {
+                // unit length, so the dot product of two series is their correlation
+                double norm = 1 / Math.sqrt(ss);
+                for (int t = 0; t < m; t++) {
+                    r[t] *= norm;
+                }
+                z[i] = r;
+            }
+        }));
+
+        double[] correlation = new double[k * k];
+        Arrays.fill(correlation, Double.NaN);
+        // row i has k - i - 1 pairs; pairing it with row k - 1 - i gives every task the same work
+        pool.invoke(new Rows(0, (k + 1) / 2, u -> {
+            upperRow(z, u, correlation);
+            if (k - 1 - u != u) {
+                upperRow(z, k - 1 - u, correlation);
+            }
+        }));
+        return new CorrelationMatrix(k, m, volatility, correlation);
+    }
+
+    private static void upperRow(double[][] z, int i, double[] correlation) {
+        if (z[i] == null) {
+            return;
+        }
+        int k = z.length;
+        double[] a = z[i];
+        correlation[i * k + i] = 1;
+        for (int j = i + 1; j < k; j++) {
+            double[] b = z[j];
+            if (b == null) {
+                continue;
+            }
+            double dot = 0;
+            for (int t = 0; t < a.length; t++) {
+                dot += a[t] * b[t];
+            }
+            dot = Math.max(-1, Math.min(1, dot));
+            correlation[i * k + j] = dot;
+            correlation[j * k + i] = dot;
+        }
+    }
+
+    private static int firstDefined(double[] closes) {
+        int i = 0;
+        while (i < closes.length && Double.isNaN(closes[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return returns every statistic is computed from
+     */
+    public int points() {
+        return points;
+    }
+
+    /**
+     * @return annualized volatility of symbol {@code i}, NaN without enough returns
+     */
+    public double volatility(int i) {
+        return volatility[i];
+    }
+
+    /**
+     * @return correlation of symbols {@code i} and {@code j}, NaN without enough returns or for a constant price
+     */
+    public double correlation(int i, int j) {
+        return correlation[i * size + j];
+    }
+
+    /**
+     * Runs {@code body} for every index in {@code [lo, hi)}, one fork-join task per index.
+     */
+    static final class Rows extends RecursiveAction {
+
+        private final int lo;
+        private final int hi;
+        private final IntConsumer body;
+
+        Rows(int lo, int hi, IntConsumer body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= 1) {
+                if (hi > lo) {
+                    body.accept(lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Rows(lo, mid, body), new Rows(mid, hi, body));
+        }
+    }
+}
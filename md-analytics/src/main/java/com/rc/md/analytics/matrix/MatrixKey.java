@@ -0,0 +1,13 @@
+package com.rc.md.analytics.matrix;
+
+import java.util.List;
+
+/**
+ * One matrix: symbol ids in ascending order and a window of whole buckets.
+ */
+public record MatrixKey(List<Integer> symbolIds, int intervalSec, long from, long to) {
+
+    public int buckets() {
+        return (int) ((to - from) / intervalSec + 1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.rc.md.analytics.matrix;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.analytics.matrix")
+public class MatrixProperties {
+
+    private int maxSymbols = 500;
+
+    /**
+     * Largest window, in buckets of the requested interval.
+     */
+    private int maxBuckets = 100_000;
+
+    /**
+     * Largest symbols x buckets product of one request. A computation holds two doubles per cell
+     * (closes and standardized returns), so the default bounds it to about 32 MB.
+     */
+    private long maxCells = 2_000_000;
+
+    /**
+     * Fork-join parallelism for loading series and computing the matrix. Loads hold a database
+     * connection each, so this counts towards the connection pool.
+     */
+    private int threads = 4;
+
+    /**
+     * Matrices kept for windows that have closed, least recently used are dropped first.
+     */
+    private int cacheEntries = 64;
+
+    /**
+     * A window is cached only this long after its last bucket ended, so candles written after the
+     * bucket closed (streams grace period, last tick of the bucket) are part of the cached matrix.
+     */
+    private long settleSeconds = 30;
+}
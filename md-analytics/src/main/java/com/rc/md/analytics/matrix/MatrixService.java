@@ -0,0 +1,111 @@
+package com.rc.md.analytics.matrix;
+
+import com.rc.md.analytics.admission.AdmissionControl;
+import com.rc.md.analytics.coalesce.SingleFlight;
+import com.rc.md.analytics.query.RangeQuery;
+import com.rc.md.analytics.recent.RecentCandleWindow;
+import com.rc.md.candle.store.StoredCandle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes correlation matrices on a dedicated fork-join pool and keeps those of closed windows.
+ * <p>
+ * A window is closed once its last bucket has ended and {@code settleSeconds} have passed for its
+ * final candle to be written; its candles no longer change, so the matrix is cached per (symbol
+ * set, interval, window). Younger windows are computed on every call, with concurrent identical
+ * calls sharing one computation.
+ */
+@Component
+public class MatrixService {
+
+    private final RangeQuery rangeQuery;
+    private final RecentCandleWindow recentWindow;
+    private final AdmissionControl admissionControl;
+    private final long settleSeconds;
+    private final ForkJoinPool pool;
+    private final Map<MatrixKey, CorrelationMatrix> cache;
+    private final SingleFlight<MatrixKey, CorrelationMatrix> singleFlight;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer computeTime;
+
+    public MatrixService(RangeQuery rangeQuery,
+                         ObjectProvider<RecentCandleWindow> recentWindow,
+                         AdmissionControl admissionControl,
+                         MatrixProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.rangeQuery = rangeQuery;
+        this.recentWindow = recentWindow.getIfAvailable();
+        this.admissionControl = admissionControl;
+        this.settleSeconds = properties.getSettleSeconds();
+        this.pool = new ForkJoinPool(Math.max(1, properties.getThreads()));
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MatrixKey, CorrelationMatrix> eldest) {
+                return size() > properties.getCacheEntries();
+            }
+        });
+        this.singleFlight = new SingleFlight<>("matrix", meterRegistry);
+        this.hits = Counter.builder("md.analytics.matrix.cache")
+                .description("Matrix requests by whether a cached matrix was used")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("md.analytics.matrix.cache")
+                .description("Matrix requests by whether a cached matrix was used")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.computeTime = Timer.builder("md.analytics.matrix.compute")
+                .description("Time to load the series of a symbol set and compute its matrix")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws com.rc.md.analytics.admission.OverloadedException when the heavy bulkhead is full
+     */
+    public CorrelationMatrix matrix(MatrixKey key) {
+        CorrelationMatrix cached = cache.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        long cost = (long) key.symbolIds().size() * key.buckets();
+        return singleFlight.execute(key, () -> admissionControl.run(cost, () -> {
+            CorrelationMatrix m = computeTime.record(() -> compute(key));
+            if (key.to() + key.intervalSec() + settleSeconds <= System.currentTimeMillis() / 1000) {
+                cache.put(key, m);
+            }
+            return m;
+        }));
+    }
+
+    private CorrelationMatrix compute(MatrixKey key) {
+        List<Integer> ids = key.symbolIds();
+        double[][] closes = new double[ids.size()][];
+        pool.invoke(new CorrelationMatrix.Rows(0, ids.size(), i ->
+                closes[i] = CorrelationMatrix.align(load(ids.get(i), key), key.from(), key.intervalSec(), key.buckets())));
+        return CorrelationMatrix.compute(closes, key.intervalSec(), pool);
+    }
+
+    private List<StoredCandle> load(int symbolId, MatrixKey key) {
+        return recentWindow != null
+                ? recentWindow.range(symbolId, key.intervalSec(), key.from(), key.to(), rangeQuery)
+                : rangeQuery.range(symbolId, key.intervalSec(), key.from(), key.to());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
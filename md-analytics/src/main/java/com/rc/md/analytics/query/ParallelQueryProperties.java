@@ -0,0 +1,31 @@
+package com.rc.md.analytics.query;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.analytics.parallel")
+public class ParallelQueryProperties {
+
+    /**
+     * Split ranges spanning several hypertable chunks into one query per chunk.
+     */
+    private boolean enabled = true;
+
+    /**
+     * chunk_time_interval of the candles hypertable; slices are aligned to multiples of it from the epoch.
+     */
+    private long chunkSeconds = 604_800;
+
+    /**
+     * Threads running slices, shared by all requests. Each holds its own database connection while running.
+     */
+    private int threads = 8;
+
+    /**
+     * Ranges holding fewer candles than this are read with a single query.
+     */
+    private long minRows = 20_000;
+}
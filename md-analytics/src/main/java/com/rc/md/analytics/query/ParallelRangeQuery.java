@@ -0,0 +1,100 @@
+package com.rc.md.analytics.query;
+
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.StoredCandle;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads large ranges as one query per hypertable chunk, run concurrently on a bounded pool so
+ * each slice gets its own connection and backend process.
+ * <p>
+ * Slices are disjoint and ascending, so results are merged by appending each slice in order as
+ * soon as it and all slices before it are done; nothing is sorted.
+ */
+@Component
+public class ParallelRangeQuery implements RangeQuery {
+
+    private final CandleStore candleStore;
+    private final ParallelQueryProperties properties;
+    private final ExecutorService executor;
+    private final DistributionSummary slices;
+
+    public ParallelRangeQuery(CandleStore candleStore,
+                              ParallelQueryProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.candleStore = candleStore;
+        this.properties = properties;
+        AtomicInteger n = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()), r -> {
+            Thread t = new Thread(r, "history-slice-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.slices = DistributionSummary.builder("md.analytics.history.slices")
+                .description("Concurrent slice queries per history read")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<StoredCandle> range(int symbolId, int intervalSec, long from, long to) {
+        List<long[]> parts = slices(intervalSec, from, to);
+        slices.record(parts.size());
+        if (parts.size() == 1) {
+            return candleStore.range(symbolId, intervalSec, from, to);
+        }
+
+        List<Future<List<StoredCandle>>> futures = new ArrayList<>(parts.size());
+        for (long[] p : parts) {
+            futures.add(executor.submit(() -> candleStore.range(symbolId, intervalSec, p[0], p[1])));
+        }
+        List<StoredCandle> out = new ArrayList<>();
+        try {
+            for (Future<List<StoredCandle>> f : futures) {
+                out.addAll(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading history slices", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+        return out;
+    }
+
+    /**
+     * @return {@code [from, to]} pairs covering the range, split on chunk boundaries
+     */
+    List<long[]> slices(int intervalSec, long from, long to) {
+        long chunk = properties.getChunkSeconds();
+        if (!properties.isEnabled() || chunk <= 0 || to < from
+                || (to - from) / intervalSec + 1 < properties.getMinRows()) {
+            return List.<long[]>of(new long[]{from, to});
+        }
+        List<long[]> parts = new ArrayList<>();
+        long start = from;
+        while (start <= to) {
+            long end = Math.min(to, Math.floorDiv(start, chunk) * chunk + chunk - 1);
+            parts.add(new long[]{start, end});
+            start = end + 1;
+        }
+        return parts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
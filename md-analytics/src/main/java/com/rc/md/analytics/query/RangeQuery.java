@@ -0,0 +1,14 @@
+package com.rc.md.analytics.query;
+
+import com.rc.md.candle.store.StoredCandle;
+
+import java.util.List;
+
+/**
+ * Loads the candles of one series in {@code [from, to]} (UNIX seconds, inclusive), ascending.
+ */
+@FunctionalInterface
+public interface RangeQuery {
+
+    List<StoredCandle> range(int symbolId, int intervalSec, long from, long to);
+}
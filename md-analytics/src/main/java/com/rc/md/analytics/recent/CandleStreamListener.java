@@ -0,0 +1,38 @@
+package com.rc.md.analytics.recent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.candle.store.StoredCandle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the recent window from the candle topic. Reading from the earliest offset rebuilds a
+ * fresh window from the compacted topic; re-applying a candle after a restart is harmless.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.analytics.recent", name = "enabled", havingValue = "true")
+public class CandleStreamListener {
+
+    private final RecentCandleWindow window;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public CandleStreamListener(RecentCandleWindow window) {
+        this.window = window;
+    }
+
+    @KafkaListener(
+            topics = "${topics.candles:md.candles}",
+            groupId = "${md.analytics.recent.consumer-group:md-analytics-recent}",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void onMessage(String message) {
+        try {
+            window.put(objectMapper.readValue(message, StoredCandle.class));
+        } catch (Exception e) {
+            log.warn("Failed to process candle message: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.rc.md.analytics.recent;
+
+import com.rc.md.candle.store.StoredCandle;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The most recent candles of one interval, kept off-heap in a memory-mapped file.
+ * <p>
+ * Every symbol owns a fixed block of {@code capacity} slots stored column by column
+ * (bucket start, open, high, low, close, volume; 8 bytes each). The slots form a ring ordered by
+ * bucket start, so range scans are a binary search plus a sequential read. When the ring is full
+ * the oldest candle is evicted and {@code coveredFrom} advances: from that bucket on, the window
+ * holds every candle it has seen, older buckets must come from the candle store. Until the ring
+ * first fills, a candle older than {@code coveredFrom} still arrives in time (e.g. a late update
+ * read back from the compacted topic) and lowers it instead of being dropped.
+ * <p>
+ * Layout: a 64 byte header, a directory of {@code maxSeries} 32 byte entries
+ * (symbol id, head, count, coveredFrom) and the column blocks.
+ */
+@Slf4j
+public class MappedCandleWindow implements Closeable {
+
+    static final int MAGIC = 0x4D44_4357;
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int ENTRY_BYTES = 32;
+    private static final int COLUMNS = 6;
+    private static final int COL_BUCKET = 0;
+    private static final int COL_OPEN = 1;
+    private static final int COL_HIGH = 2;
+    private static final int COL_LOW = 3;
+    private static final int COL_CLOSE = 4;
+    private static final int COL_VOLUME = 5;
+
+    private final int intervalSec;
+    private final int capacity;
+    private final int maxSeries;
+    private final MappedByteBuffer buf;
+    private final Map<Integer, Integer> seriesBySymbol = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean fullWarned;
+
+    public MappedCandleWindow(Path file, int intervalSec, int capacity, int maxSeries) throws IOException {
+        if (capacity < 1 || maxSeries < 1) {
+            throw new IllegalArgumentException("capacity and maxSeries must be > 0");
+        }
+        long size = HEADER_BYTES + (long) maxSeries * ENTRY_BYTES + (long) maxSeries * COLUMNS * capacity * 8;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window file for " + intervalSec + "s would be " + size
+                    + " bytes, lower maxSeries or maxSlotsPerSeries");
+        }
+        this.intervalSec = intervalSec;
+        this.capacity = capacity;
+        this.maxSeries = maxSeries;
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean reuse = ch.size() == size;
+            this.buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            reuse = reuse && buf.getInt(0) == MAGIC && buf.getInt(4) == VERSION
+                    && buf.getInt(8) == intervalSec && buf.getInt(12) == capacity && buf.getInt(16) == maxSeries;
+            if (!reuse) {
+                if (ch.size() > size) {
+                    ch.truncate(size);
+                }
+                log.info("Initializing recent window file {} ({} bytes)", file, size);
+                buf.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, intervalSec)
+                        .putInt(12, capacity).putInt(16, maxSeries).putInt(20, 0);
+            }
+        }
+        for (int s = 0; s < seriesCount(); s++) {
+            seriesBySymbol.put(buf.getInt(entry(s)), s);
+        }
+    }
+
+    public int intervalSec() {
+        return intervalSec;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void put(StoredCandle c) {
+        lock.writeLock().lock();
+        try {
+            Integer s = seriesBySymbol.get(c.symbolId());
+            if (s == null) {
+                s = addSeries(c.symbolId());
+                if (s == null) {
+                    return;
+                }
+            }
+            int count = count(s);
+            if (count == 0) {
+                write(s, 0, c);
+                setCount(s, 1);
+                setCoverage(s, c.bucketStart());
+                return;
+            }
+            long last = bucket(s, count - 1);
+            if (c.bucketStart() == last) {
+                write(s, count - 1, c);
+                return;
+            }
+            if (c.bucketStart() > last) {
+                if (count == capacity) {
+                    evictOldest(s);
+                    count--;
+                }
+                write(s, count, c);
+                setCount(s, count + 1);
+                return;
+            }
+
+            int pos = search(s, count, c.bucketStart());
+            if (pos >= 0) {
+                write(s, pos, c);
+                return;
+            }
+            boolean older = c.bucketStart() < coverage(s);
+            if (count == capacity) {
+                if (older) {
+                    return;
+                }
+                evictOldest(s);
+                count--;
+                if (c.bucketStart() < coverage(s)) {
+                    return;
+                }
+            }
+            int insert = -search(s, count, c.bucketStart()) - 1;
+            for (int i = count; i > insert; i--) {
+                copy(s, i - 1, i);
+            }
+            write(s, insert, c);
+            setCount(s, count + 1);
+            if (older) {
+                setCoverage(s, c.bucketStart());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return first bucket from which the window is complete for this symbol, {@link Long#MAX_VALUE}
+     * when it holds nothing for it
+     */
+    public long coveredFrom(int symbolId) {
+        lock.readLock().lock();
+        try {
+            Integer s = seriesBySymbol.get(symbolId);
+            return s == null || count(s) == 0 ? Long.MAX_VALUE : coverage(s);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return candles with {@code from <= bucketStart <= to}, ascending
+     */
+    public List<StoredCandle> range(int symbolId, long from, long to) {
+        lock.readLock().lock();
+        try {
+            Integer s = seriesBySymbol.get(symbolId);
+            if (s == null) {
+                return List.of();
+            }
+            int count = count(s);
+            int i = search(s, count, from);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            List<StoredCandle> out = new ArrayList<>();
+            for (; i < count; i++) {
+                long b = bucket(s, i);
+                if (b > to) {
+                    break;
+                }
+                out.add(read(s, i, symbolId, b));
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void force() {
+        lock.writeLock().lock();
+        try {
+            buf.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private Integer addSeries(int symbolId) {
+        int s = seriesCount();
+        if (s == maxSeries) {
+            if (!fullWarned) {
+                log.warn("Recent window for {}s is full ({} series), symbol {} is served from the candle store",
+                        intervalSec, maxSeries, symbolId);
+                fullWarned = true;
+            }
+            return null;
+        }
+        buf.putInt(entry(s), symbolId);
+        setHead(s, 0);
+        setCount(s, 0);
+        setCoverage(s, Long.MAX_VALUE);
+        buf.putInt(20, s + 1);
+        seriesBySymbol.put(symbolId, s);
+        return s;
+    }
+
+    private void evictOldest(int s) {
+        long evicted = bucket(s, 0);
+        setCoverage(s, Math.max(coverage(s), evicted + intervalSec));
+        setHead(s, (head(s) + 1) % capacity);
+        setCount(s, count(s) - 1);
+    }
+
+    /**
+     * Binary search over the logical slots, same contract as {@link java.util.Arrays#binarySearch}.
+     */
+    private int search(int s, int count, long bucketStart) {
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long b = bucket(s, mid);
+            if (b < bucketStart) {
+                lo = mid + 1;
+            } else if (b > bucketStart) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    private int seriesCount() {
+        return buf.getInt(20);
+    }
+
+    private int entry(int s) {
+        return HEADER_BYTES + s * ENTRY_BYTES;
+    }
+
+    private int head(int s) {
+        return buf.getInt(entry(s) + 4);
+    }
+
+    private void setHead(int s, int head) {
+        buf.putInt(entry(s) + 4, head);
+    }
+
+    private int count(int s) {
+        return buf.getInt(entry(s) + 8);
+    }
+
+    private void setCount(int s, int count) {
+        buf.putInt(entry(s) + 8, count);
+    }
+
+    private long coverage(int s) {
+        return buf.getLong(entry(s) + 16);
+    }
+
+    private void setCoverage(int s, long coveredFrom) {
+        buf.putLong(entry(s) + 16, coveredFrom);
+    }
+
+    private int offset(int s, int column, int logical) {
+        int slot = (head(s) + logical) % capacity;
+        long base = HEADER_BYTES + (long) maxSeries * ENTRY_BYTES + (long) s * COLUMNS * capacity * 8;
+        return (int) (base + ((long) column * capacity + slot) * 8);
+    }
+
+    private long bucket(int s, int logical) {
+        return buf.getLong(offset(s, COL_BUCKET, logical));
+    }
+
+    private void write(int s, int logical, StoredCandle c) {
+        buf.putLong(offset(s, COL_BUCKET, logical), c.bucketStart());
+        buf.putDouble(offset(s, COL_OPEN, logical), c.open());
+        buf.putDouble(offset(s, COL_HIGH, logical), c.high());
+        buf.putDouble(offset(s, COL_LOW, logical), c.low());
+        buf.putDouble(offset(s, COL_CLOSE, logical), c.close());
+        buf.putLong(offset(s, COL_VOLUME, logical), c.volume());
+    }
+
+    private void copy(int s, int from, int to) {
+        for (int col = 0; col < COLUMNS; col++) {
+            buf.putLong(offset(s, col, to), buf.getLong(offset(s, col, from)));
+        }
+    }
+
+    private StoredCandle read(int s, int logical, int symbolId, long bucketStart) {
+        return new StoredCandle(symbolId, intervalSec, bucketStart,
+                buf.getDouble(offset(s, COL_OPEN, logical)),
+                buf.getDouble(offset(s, COL_HIGH, logical)),
+                buf.getDouble(offset(s, COL_LOW, logical)),
+                buf.getDouble(offset(s, COL_CLOSE, logical)),
+                buf.getLong(offset(s, COL_VOLUME, logical)));
+    }
+}
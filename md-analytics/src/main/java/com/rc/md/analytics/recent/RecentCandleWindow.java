@@ -0,0 +1,98 @@
+package com.rc.md.analytics.recent;
+
+import com.rc.md.analytics.config.IntervalConfig;
+import com.rc.md.analytics.query.RangeQuery;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.common.config.IntervalDefinition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One {@link MappedCandleWindow} per configured interval. History reads are served from the window
+ * where it is complete and only the part of the range older than that goes to the candle store.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.analytics.recent", name = "enabled", havingValue = "true")
+public class RecentCandleWindow {
+
+    private final Map<Integer, MappedCandleWindow> windows = new HashMap<>();
+    private final Counter windowReads;
+    private final Counter mixedReads;
+    private final Counter storeReads;
+
+    public RecentCandleWindow(RecentWindowProperties properties,
+                              IntervalConfig intervalConfig,
+                              MeterRegistry meterRegistry) {
+        Path dir = Path.of(properties.getDirectory());
+        if (intervalConfig.getIntervals() != null) {
+            for (IntervalDefinition def : intervalConfig.getIntervals()) {
+                int sec = def.getSeconds();
+                int capacity = (int) Math.max(1, Math.min(properties.getWindowSeconds() / sec,
+                        properties.getMaxSlotsPerSeries()));
+                try {
+                    windows.put(sec, new MappedCandleWindow(dir.resolve("candles-" + sec + "s.bin"),
+                            sec, capacity, properties.getMaxSeries()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot map recent window for " + def.getId(), e);
+                }
+                log.info("Recent window for {}: {} slots per symbol", def.getId(), capacity);
+            }
+        }
+        this.windowReads = reads(meterRegistry, "window");
+        this.mixedReads = reads(meterRegistry, "mixed");
+        this.storeReads = reads(meterRegistry, "store");
+    }
+
+    public void put(StoredCandle candle) {
+        MappedCandleWindow window = windows.get(candle.intervalSec());
+        if (window != null) {
+            window.put(candle);
+        }
+    }
+
+    /**
+     * Same contract as {@link RangeQuery#range}, consulting {@code store} only for buckets the
+     * window does not cover.
+     */
+    public List<StoredCandle> range(int symbolId, int intervalSec, long from, long to, RangeQuery store) {
+        MappedCandleWindow window = windows.get(intervalSec);
+        long coveredFrom = window == null ? Long.MAX_VALUE : window.coveredFrom(symbolId);
+        if (coveredFrom <= from) {
+            windowReads.increment();
+            return window.range(symbolId, from, to);
+        }
+        if (coveredFrom > to) {
+            storeReads.increment();
+            return store.range(symbolId, intervalSec, from, to);
+        }
+        mixedReads.increment();
+        List<StoredCandle> out = new ArrayList<>(store.range(symbolId, intervalSec, from, coveredFrom - 1));
+        out.addAll(window.range(symbolId, coveredFrom, to));
+        return out;
+    }
+
+    @PreDestroy
+    public void close() {
+        windows.values().forEach(MappedCandleWindow::close);
+    }
+
+    private static Counter reads(MeterRegistry registry, String source) {
+        return Counter.builder("md.analytics.recent.reads")
+                .description("History reads by where the candles came from")
+                .tag("source", source)
+                .register(registry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.rc.md.analytics.recent;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.analytics.recent")
+public class RecentWindowProperties {
+
+    /**
+     * Serve recent history from memory-mapped candle files fed by topics.candles.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding one mapped file per interval; kept across restarts.
+     */
+    private String directory = "data/recent";
+
+    /**
+     * How far back the window reaches, capped per interval by maxSlotsPerSeries.
+     */
+    private long windowSeconds = 259_200;
+
+    private int maxSlotsPerSeries = 16_384;
+
+    /**
+     * Symbols per interval file; candles of further symbols are served from the candle store.
+     */
+    private int maxSeries = 256;
+
+    /**
+     * Consumer group for the candle topic. Every instance needs the full stream, so give each
+     * instance its own group.
+     */
+    private String consumerGroup = "md-analytics-recent";
+}
@@ -0,0 +1,62 @@
+package com.rc.md.analytics.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.candle.store.StoredCandle;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latest candle per (symbol, interval), kept current from the candle topic.
+ * <p>
+ * The topic is keyed by bucket, so updates of one bucket arrive in order but a newer bucket may
+ * overtake an older one from another partition; a candle only replaces a newer bucket or an
+ * update of the same bucket with fewer trades.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.analytics.snapshot", name = "enabled", havingValue = "true")
+public class LatestCandles {
+
+    private final ConcurrentMap<Long, StoredCandle> latest = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public LatestCandles(MeterRegistry meterRegistry) {
+        Gauge.builder("md.analytics.snapshot.series", latest, ConcurrentMap::size)
+                .description("Series with a latest candle in the snapshot map")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topics = "${topics.candles:md.candles}",
+            groupId = "${md.analytics.snapshot.consumer-group:md-analytics-snapshot}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onMessage(String message) {
+        try {
+            put(objectMapper.readValue(message, StoredCandle.class));
+        } catch (Exception e) {
+            log.warn("Failed to process candle message: {}", message, e);
+        }
+    }
+
+    public void put(StoredCandle candle) {
+        latest.merge(key(candle.symbolId(), candle.intervalSec()), candle, (old, c) ->
+                c.bucketStart() > old.bucketStart()
+                        || (c.bucketStart() == old.bucketStart() && c.volume() >= old.volume()) ? c : old);
+    }
+
+    public StoredCandle get(int symbolId, int intervalSec) {
+        return latest.get(key(symbolId, intervalSec));
+    }
+
+    private static long key(int symbolId, int intervalSec) {
+        return ((long) symbolId << 32) | (intervalSec & 0xFFFFFFFFL);
+    }
+}
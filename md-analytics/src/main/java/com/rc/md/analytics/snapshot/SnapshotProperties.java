@@ -0,0 +1,27 @@
+package com.rc.md.analytics.snapshot;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.analytics.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Keep the latest candle of every series in memory from topics.candles and serve /api/v1/snapshot.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Consumer group for the candle topic, one per instance. Starts at the latest offset: the map
+     * fills as soon as the series tick.
+     */
+    private String consumerGroup = "md-analytics-snapshot";
+
+    /**
+     * Upper bound for symbols x intervals of one request.
+     */
+    private int maxPairs = 2_000;
+}
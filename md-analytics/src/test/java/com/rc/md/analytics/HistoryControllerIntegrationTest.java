@@ -1,7 +1,8 @@
 package com.rc.md.analytics;
 
-import com.rc.md.analytics.candle.CandleEntity;
-import com.rc.md.analytics.candle.CandleRepository;
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.candle.store.jpa.CandleJpaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,8 +18,7 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -52,7 +52,10 @@ class HistoryControllerIntegrationTest {
     private MockMvc mockMvc;
 
     @Autowired
-    private CandleRepository candleRepository;
+    private CandleJpaRepository candleRepository;
+
+    @Autowired
+    private CandleStore candleStore;
 
     @BeforeEach
     void setup() {
@@ -64,19 +67,8 @@ class HistoryControllerIntegrationTest {
         String symbol = "BTC-USD";
         int intervalSec = 60;
         long bucketSec = 1_700_000_000L;
-        OffsetDateTime bucketStart = OffsetDateTime.ofInstant(
-                java.time.Instant.ofEpochSecond(bucketSec), ZoneOffset.UTC);
 
-        CandleEntity candle = new CandleEntity();
-        candle.setSymbol(symbol);
-        candle.setIntervalSec(intervalSec);
-        candle.setBucketStart(bucketStart);
-        candle.setOpen(100.0);
-        candle.setHigh(110.0);
-        candle.setLow(90.0);
-        candle.setClose(105.0);
-        candle.setVolume(5L);
-        candleRepository.save(candle);
+        candleStore.write(List.of(new StoredCandle(1, intervalSec, bucketSec, 100.0, 110.0, 90.0, 105.0, 5L)));
 
         long from = bucketSec - 60;
         long to = bucketSec + 60;
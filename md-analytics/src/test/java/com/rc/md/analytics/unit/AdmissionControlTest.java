@@ -0,0 +1,59 @@
+package com.rc.md.analytics.unit;
+
+import com.rc.md.analytics.admission.AdmissionControl;
+import com.rc.md.analytics.admission.AdmissionProperties;
+import com.rc.md.analytics.admission.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTest {
+
+    @Test
+    void costIsCandlesInRange() {
+        assertThat(AdmissionControl.cost(60, 0, 3_600)).isEqualTo(61);
+        assertThat(AdmissionControl.cost(1, 0, 86_399)).isEqualTo(86_400);
+        assertThat(AdmissionControl.cost(60, 120, 60)).isZero();
+    }
+
+    @Test
+    void fullHeavyBulkheadShedsHeavyButNotLightQueries() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setHeavyCost(100);
+        properties.setHeavy(new AdmissionProperties.Bulkhead(1, 10));
+        properties.setRetryAfterSeconds(3);
+        AdmissionControl admission = new AdmissionControl(properties, new SimpleMeterRegistry());
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> backfill = CompletableFuture.supplyAsync(() -> admission.run(10_000, () -> {
+            running.countDown();
+            await(release);
+            return "backfill";
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> admission.run(10_000, () -> "second backfill"))
+                .isInstanceOf(OverloadedException.class)
+                .extracting("retryAfterSeconds").isEqualTo(3);
+        assertThat(admission.run(50, () -> "chart")).isEqualTo("chart");
+
+        release.countDown();
+        assertThat(backfill.get(5, TimeUnit.SECONDS)).isEqualTo("backfill");
+        assertThat(admission.run(10_000, () -> "next backfill")).isEqualTo("next backfill");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.rc.md.analytics.unit;
+
+import com.rc.md.analytics.cold.ColdTierProperties;
+import com.rc.md.analytics.cold.ColdTierRangeQuery;
+import com.rc.md.analytics.query.ParallelQueryProperties;
+import com.rc.md.analytics.query.ParallelRangeQuery;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.candle.store.cold.ColdCandleFiles;
+import com.rc.md.candle.store.memory.InMemoryCandleStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColdTierRangeQueryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsArchivedPeriodsFromFilesAndTheRestFromTheStore() {
+        new ColdCandleFiles(dir).write(1, 60, 0, 3_600,
+                List.of(StoredCandle.open(1, 60, 0, 1), StoredCandle.open(1, 60, 3_540, 2)));
+        InMemoryCandleStore store = new InMemoryCandleStore();
+        // left behind by an archive run that did not get to delete it
+        store.write(List.of(StoredCandle.open(1, 60, 3_540, 99), StoredCandle.open(1, 60, 3_600, 3)));
+
+        ColdTierProperties properties = new ColdTierProperties();
+        properties.setDirectory(dir.toString());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ParallelRangeQuery hot = new ParallelRangeQuery(store, new ParallelQueryProperties(), registry);
+        try {
+            ColdTierRangeQuery query = new ColdTierRangeQuery(properties, hot, registry);
+
+            assertThat(query.range(1, 60, 0, 7_200)).extracting(StoredCandle::close).containsExactly(1.0, 2.0, 3.0);
+            assertThat(query.range(1, 60, 3_600, 7_200)).extracting(StoredCandle::close).containsExactly(3.0);
+            assertThat(query.range(2, 60, 0, 7_200)).isEmpty();
+        } finally {
+            hot.shutdown();
+        }
+    }
+}
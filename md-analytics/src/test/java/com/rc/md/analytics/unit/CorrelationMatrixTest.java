@@ -0,0 +1,152 @@
+package com.rc.md.analytics.unit;
+
+import com.rc.md.analytics.admission.AdmissionControl;
+import com.rc.md.analytics.admission.AdmissionProperties;
+import com.rc.md.analytics.matrix.CorrelationMatrix;
+import com.rc.md.analytics.matrix.MatrixKey;
+import com.rc.md.analytics.matrix.MatrixProperties;
+import com.rc.md.analytics.matrix.MatrixService;
+import com.rc.md.analytics.recent.RecentCandleWindow;
+import com.rc.md.candle.store.StoredCandle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CorrelationMatrixTest {
+
+    @Test
+    void alignCarriesTheLastCloseForward() {
+        List<StoredCandle> candles = List.of(candle(120, 2), candle(240, 4));
+
+        assertThat(CorrelationMatrix.align(candles, 60, 60, 5))
+                .containsExactly(Double.NaN, 2, 2, 4, 4);
+    }
+
+    @Test
+    void matchesStraightforwardComputation() {
+        SplittableRandom random = new SplittableRandom(7);
+        int k = 7;
+        int n = 300;
+        double[][] closes = new double[k][n];
+        for (int t = 0; t < n; t++) {
+            double common = random.nextGaussian() * 0.01;
+            for (int i = 0; i < k; i++) {
+                double prev = t == 0 ? 100 : closes[i][t - 1];
+                closes[i][t] = prev * Math.exp(common * (i % 3) + random.nextGaussian() * 0.01);
+            }
+        }
+
+        CorrelationMatrix m = CorrelationMatrix.compute(closes, 60, new ForkJoinPool(3));
+
+        assertThat(m.points()).isEqualTo(n - 1);
+        for (int i = 0; i < k; i++) {
+            double[] a = returns(closes[i]);
+            assertThat(m.volatility(i)).isCloseTo(stdev(a) * Math.sqrt(365 * 1_440.0), within(1e-9));
+            for (int j = 0; j < k; j++) {
+                assertThat(m.correlation(i, j)).isCloseTo(pearson(a, returns(closes[j])), within(1e-9));
+            }
+        }
+    }
+
+    @Test
+    void symbolsWithoutDataOrMovementAreUndefined() {
+        double nan = Double.NaN;
+        double[][] closes = {
+                {nan, 10, 11, 10, 12},
+                {nan, nan, nan, nan, nan},
+                {5, 5, 5, 5, 5},
+                {nan, 20, 21, 22, 21}
+        };
+
+        CorrelationMatrix m = CorrelationMatrix.compute(closes, 60, ForkJoinPool.commonPool());
+
+        assertThat(m.points()).isEqualTo(3);
+        assertThat(m.volatility(1)).isNaN();
+        assertThat(m.volatility(2)).isZero();
+        assertThat(m.correlation(0, 1)).isNaN();
+        assertThat(m.correlation(0, 2)).isNaN();
+        assertThat(m.correlation(0, 0)).isEqualTo(1);
+        assertThat(m.correlation(0, 3)).isEqualTo(m.correlation(3, 0)).isBetween(-1.0, 1.0);
+    }
+
+    @Test
+    void closedWindowsAreComputedOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        MatrixService service = new MatrixService(
+                (symbolId, intervalSec, from, to) -> {
+                    loads.incrementAndGet();
+                    List<StoredCandle> out = new ArrayList<>();
+                    for (long t = from; t <= to; t += intervalSec) {
+                        out.add(candle(t, 100 + symbolId * Math.sin(t)));
+                    }
+                    return out;
+                },
+                new StaticListableBeanFactory().getBeanProvider(RecentCandleWindow.class),
+                new AdmissionControl(new AdmissionProperties(), new SimpleMeterRegistry()),
+                new MatrixProperties(),
+                new SimpleMeterRegistry());
+        try {
+            MatrixKey key = new MatrixKey(List.of(1, 2, 3), 60, 0, 6_000);
+            CorrelationMatrix first = service.matrix(key);
+            CorrelationMatrix second = service.matrix(key);
+
+            assertThat(second).isSameAs(first);
+            assertThat(loads).hasValue(3);
+            assertThat(first.points()).isEqualTo(100);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static StoredCandle candle(long t, double close) {
+        return StoredCandle.open(1, 60, t, close);
+    }
+
+    private static double[] returns(double[] closes) {
+        double[] r = new double[closes.length - 1];
+        for (int t = 0; t < r.length; t++) {
+            r[t] = Math.log(closes[t + 1] / closes[t]);
+        }
+        return r;
+    }
+
+    private static double mean(double[] x) {
+        double s = 0;
+        for (double v : x) {
+            s += v;
+        }
+        return s / x.length;
+    }
+
+    private static double stdev(double[] x) {
+        double m = mean(x);
+        double s = 0;
+        for (double v : x) {
+            s += (v - m) * (v - m);
+        }
+        return Math.sqrt(s / (x.length - 1));
+    }
+
+    private static double pearson(double[] a, double[] b) {
+        double ma = mean(a);
+        double mb = mean(b);
+        double ab = 0;
+        double aa = 0;
+        double bb = 0;
+        for (int t = 0; t < a.length; t++) {
+            ab += (a[t] - ma) * (b[t] - mb);
+            aa += (a[t] - ma) * (a[t] - ma);
+            bb += (b[t] - mb) * (b[t] - mb);
+        }
+        return ab / Math.sqrt(aa * bb);
+    }
+}
@@ -0,0 +1,60 @@
+package com.rc.md.analytics.unit;
+
+import com.rc.md.analytics.downsample.CandleColumns;
+import com.rc.md.analytics.downsample.Downsampler;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownsamplerTest {
+
+    @Test
+    void ohlcMergeKeepsExtremesAndVolume() {
+        CandleColumns in = series(10);
+        in.h[4] = 1_000;
+        in.l[7] = -1_000;
+
+        CandleColumns out = Downsampler.downsample(in, 3, Downsampler.Mode.OHLC);
+
+        // 10 candles into at most 3 rows: runs of 4, 4 and 2
+        assertThat(out.size()).isEqualTo(3);
+        assertThat(out.t).startsWith(0L, 240L, 480L);
+        assertThat(out.o[1]).isEqualTo(in.o[4]);
+        assertThat(out.c[1]).isEqualTo(in.c[7]);
+        assertThat(out.h[1]).isEqualTo(1_000);
+        assertThat(out.l[1]).isEqualTo(-1_000);
+        assertThat(out.v[0] + out.v[1] + out.v[2]).isEqualTo(10);
+    }
+
+    @Test
+    void lttbKeepsEndpointsAndSpikes() {
+        CandleColumns in = series(1_000);
+        in.c[500] = 10_000;
+
+        CandleColumns out = Downsampler.downsample(in, 50, Downsampler.Mode.LTTB);
+
+        assertThat(out.size()).isEqualTo(50);
+        assertThat(out.t[0]).isEqualTo(0);
+        assertThat(out.t[49]).isEqualTo(999 * 60);
+        assertThat(out.c).contains(10_000.0);
+        for (int i = 1; i < out.size(); i++) {
+            assertThat(out.t[i]).isGreaterThan(out.t[i - 1]);
+        }
+    }
+
+    @Test
+    void smallSeriesIsReturnedUnchanged() {
+        CandleColumns in = series(5);
+        assertThat(Downsampler.downsample(in, 5, Downsampler.Mode.OHLC)).isSameAs(in);
+        assertThat(Downsampler.downsample(in, 0, Downsampler.Mode.LTTB)).isSameAs(in);
+    }
+
+    private static CandleColumns series(int n) {
+        CandleColumns cols = new CandleColumns(n);
+        for (int i = 0; i < n; i++) {
+            double p = 100 + Math.sin(i / 10.0);
+            cols.add(i * 60L, p, p + 1, p - 1, p + 0.5, 1);
+        }
+        return cols;
+    }
+}
@@ -1,16 +1,25 @@
 package com.rc.md.analytics.unit;
 
+import com.rc.md.analytics.admission.AdmissionControl;
+import com.rc.md.analytics.admission.AdmissionProperties;
 import com.rc.md.analytics.api.HistoryController;
-import com.rc.md.analytics.candle.CandleRepository;
 import com.rc.md.analytics.config.IntervalConfig;
+import com.rc.md.analytics.recent.RecentCandleWindow;
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.StoredCandle;
 import com.rc.md.common.config.IntervalDefinition;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -20,10 +29,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class HistoryControllerValidationTest {
 
     private MockMvc mockMvc;
+    private CandleStore store;
 
     @BeforeEach
     void setup() {
-        CandleRepository repo = Mockito.mock(CandleRepository.class);
+        store = Mockito.mock(CandleStore.class);
 
         IntervalDefinition d1 = new IntervalDefinition();
         d1.setId("1m");
@@ -32,7 +42,11 @@ class HistoryControllerValidationTest {
         IntervalConfig cfg = new IntervalConfig();
         cfg.setIntervals(List.of(d1));
 
-        HistoryController controller = new HistoryController(repo, cfg);
+        HistoryController controller = new HistoryController(store::range,
+                new StaticListableBeanFactory().getBeanProvider(RecentCandleWindow.class),
+                new AdmissionControl(new AdmissionProperties(), new SimpleMeterRegistry()),
+                cfg, SymbolRegistry.of(Map.of(1, "BTC-USD")), Jackson2ObjectMapperBuilder.json().build(),
+                new SimpleMeterRegistry());
         this.mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
     }
 
@@ -57,4 +71,32 @@ class HistoryControllerValidationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.s", is("error")));
     }
+
+    @Test
+    void returnsErrorWhenSymbolUnknown() throws Exception {
+        mockMvc.perform(get("/api/v1/history")
+                        .param("symbol", "DOGE-USD")
+                        .param("interval", "1m")
+                        .param("from", "0")
+                        .param("to", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.s", is("error")))
+                .andExpect(jsonPath("$.message", is("Unknown symbol: DOGE-USD")));
+    }
+
+    @Test
+    void queriesWholeBucketsAndReturnsColumns() throws Exception {
+        Mockito.when(store.range(1, 60, 60, 120))
+                .thenReturn(List.of(new StoredCandle(1, 60, 60, 1.0, 2.0, 0.5, 1.5, 3)));
+
+        mockMvc.perform(get("/api/v1/history")
+                        .param("symbol", "BTC-USD")
+                        .param("interval", "1m")
+                        .param("from", "30")
+                        .param("to", "150"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.s", is("ok")))
+                .andExpect(jsonPath("$.t[0]", is(60)))
+                .andExpect(jsonPath("$.c[0]", is(1.5)));
+    }
 }
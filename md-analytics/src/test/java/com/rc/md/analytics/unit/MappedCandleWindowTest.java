@@ -0,0 +1,85 @@
+package com.rc.md.analytics.unit;
+
+import com.rc.md.analytics.recent.MappedCandleWindow;
+import com.rc.md.candle.store.StoredCandle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedCandleWindowTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void evictsOldestAndTracksCoverage() throws Exception {
+        try (MappedCandleWindow w = new MappedCandleWindow(dir.resolve("w.bin"), 60, 3, 4)) {
+            for (long b = 0; b <= 240; b += 60) {
+                w.put(StoredCandle.open(1, 60, b, b));
+            }
+            w.put(StoredCandle.open(1, 60, 240, 1).update(5));
+
+            List<StoredCandle> all = w.range(1, 0, 1_000);
+            assertEquals(List.of(120L, 180L, 240L), all.stream().map(StoredCandle::bucketStart).toList());
+            assertEquals(5.0, all.get(2).close());
+            assertEquals(2, all.get(2).volume());
+            assertEquals(120, w.coveredFrom(1));
+            assertEquals(Long.MAX_VALUE, w.coveredFrom(2));
+        }
+    }
+
+    @Test
+    void insertsLateBucketsInOrder() throws Exception {
+        try (MappedCandleWindow w = new MappedCandleWindow(dir.resolve("w.bin"), 60, 4, 4)) {
+            w.put(StoredCandle.open(1, 60, 0, 1));
+            w.put(StoredCandle.open(1, 60, 180, 4));
+            w.put(StoredCandle.open(1, 60, 60, 2));
+            w.put(StoredCandle.open(1, 60, 120, 3));
+            w.put(StoredCandle.open(1, 60, 240, 5));
+            // older than the coverage after eviction, belongs to the candle store
+            w.put(StoredCandle.open(1, 60, 0, 9));
+
+            assertEquals(List.of(60L, 120L, 180L, 240L),
+                    w.range(1, 0, 1_000).stream().map(StoredCandle::bucketStart).toList());
+            assertEquals(List.of(2.0, 3.0), w.range(1, 60, 120).stream().map(StoredCandle::close).toList());
+        }
+    }
+
+    @Test
+    void keepsOlderBucketsSeenOutOfOrderUntilFull() throws Exception {
+        try (MappedCandleWindow w = new MappedCandleWindow(dir.resolve("w.bin"), 60, 3, 4)) {
+            // newest first, as a rebuild from a compacted topic may deliver them
+            w.put(StoredCandle.open(1, 60, 180, 4));
+            w.put(StoredCandle.open(1, 60, 60, 2));
+            w.put(StoredCandle.open(1, 60, 120, 3));
+
+            assertEquals(60, w.coveredFrom(1));
+            assertEquals(List.of(60L, 120L, 180L),
+                    w.range(1, 0, 1_000).stream().map(StoredCandle::bucketStart).toList());
+
+            // the ring is full now, so an even older bucket is left to the candle store
+            w.put(StoredCandle.open(1, 60, 0, 1));
+            assertEquals(60, w.coveredFrom(1));
+            assertEquals(3, w.range(1, 0, 1_000).size());
+        }
+    }
+
+    @Test
+    void survivesReopen() throws Exception {
+        Path file = dir.resolve("w.bin");
+        try (MappedCandleWindow w = new MappedCandleWindow(file, 60, 8, 4)) {
+            w.put(StoredCandle.open(7, 60, 600, 42));
+        }
+        try (MappedCandleWindow w = new MappedCandleWindow(file, 60, 8, 4)) {
+            assertEquals(List.of(StoredCandle.open(7, 60, 600, 42)), w.range(7, 0, 1_000));
+            assertEquals(600, w.coveredFrom(7));
+        }
+        try (MappedCandleWindow w = new MappedCandleWindow(file, 60, 16, 4)) {
+            assertEquals(List.of(), w.range(7, 0, 1_000));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.rc.md.analytics.unit;
+
+import com.rc.md.analytics.query.ParallelQueryProperties;
+import com.rc.md.analytics.query.ParallelRangeQuery;
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.candle.store.memory.InMemoryCandleStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ParallelRangeQueryTest {
+
+    private ParallelRangeQuery query;
+
+    @AfterEach
+    void tearDown() {
+        query.shutdown();
+    }
+
+    @Test
+    void splitsOnChunkBoundariesAndKeepsOrder() {
+        InMemoryCandleStore memory = new InMemoryCandleStore();
+        List<StoredCandle> candles = new ArrayList<>();
+        for (long b = 0; b < 10_000; b += 60) {
+            candles.add(StoredCandle.open(1, 60, b, b));
+        }
+        memory.write(candles);
+        CandleStore store = Mockito.spy(memory);
+
+        ParallelQueryProperties properties = new ParallelQueryProperties();
+        properties.setChunkSeconds(3_600);
+        properties.setMinRows(10);
+        properties.setThreads(3);
+        query = new ParallelRangeQuery(store, properties, new SimpleMeterRegistry());
+
+        List<StoredCandle> result = query.range(1, 60, 1_800, 9_000);
+
+        // [1800, 3599], [3600, 7199], [7200, 9000]
+        verify(store, times(3)).range(Mockito.eq(1), Mockito.eq(60), anyLong(), anyLong());
+        verify(store).range(1, 60, 3_600, 7_199);
+        assertThat(result).isEqualTo(memory.range(1, 60, 1_800, 9_000));
+    }
+
+    @Test
+    void smallRangesUseOneQuery() {
+        CandleStore store = Mockito.mock(CandleStore.class);
+        ParallelQueryProperties properties = new ParallelQueryProperties();
+        properties.setChunkSeconds(3_600);
+        query = new ParallelRangeQuery(store, properties, new SimpleMeterRegistry());
+
+        query.range(1, 60, 0, 86_400);
+
+        verify(store).range(1, 60, 0, 86_400);
+    }
+}
@@ -0,0 +1,73 @@
+package com.rc.md.analytics.unit;
+
+import com.rc.md.analytics.coalesce.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test", registry);
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> flight.execute("k", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "v";
+                })));
+            }
+            // every caller is either running the loader or waiting for it
+            while (registry.counter("md.analytics.coalesce.calls", "name", "test", "result", "executed").count()
+                    + registry.counter("md.analytics.coalesce.calls", "name", "test", "result", "shared").count() < 8) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> f : results) {
+                assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void finishedCallsAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        flight.execute("k", () -> String.valueOf(loads.incrementAndGet()));
+        flight.execute("k", () -> String.valueOf(loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(2);
+        assertThatThrownBy(() -> flight.execute("k", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(flight.execute("k", () -> "ok")).isEqualTo("ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.rc.md.analytics.unit;
+
+import com.rc.md.analytics.api.SnapshotController;
+import com.rc.md.analytics.config.IntervalConfig;
+import com.rc.md.analytics.snapshot.LatestCandles;
+import com.rc.md.analytics.snapshot.SnapshotProperties;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.common.config.IntervalDefinition;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+class SnapshotControllerTest {
+
+    private MockMvc mockMvc;
+    private LatestCandles latest;
+
+    @BeforeEach
+    void setup() {
+        IntervalDefinition m1 = new IntervalDefinition();
+        m1.setId("1m");
+        m1.setSeconds(60);
+        IntervalDefinition m5 = new IntervalDefinition();
+        m5.setId("5m");
+        m5.setSeconds(300);
+        IntervalConfig cfg = new IntervalConfig();
+        cfg.setIntervals(List.of(m1, m5));
+
+        latest = new LatestCandles(new SimpleMeterRegistry());
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setMaxPairs(4);
+        SnapshotController controller = new SnapshotController(latest, cfg,
+                SymbolRegistry.of(Map.of(1, "BTC-USD", 2, "ETH-USD", 3, "SOL-USD")), properties);
+        this.mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void returnsLatestCandlePerPair() throws Exception {
+        latest.put(StoredCandle.open(1, 60, 120, 10).update(11));
+        // an older bucket and a stale update of the current one arriving late
+        latest.put(StoredCandle.open(1, 60, 60, 9));
+        latest.put(StoredCandle.open(1, 60, 120, 10));
+        latest.put(StoredCandle.open(2, 300, 0, 20));
+
+        mockMvc.perform(get("/api/v1/snapshot")
+                        .param("symbols", "BTC-USD,ETH-USD")
+                        .param("intervals", "1m,5m"))
+                .andExpect(jsonPath("$.s", is("ok")))
+                .andExpect(jsonPath("$.candles", hasSize(2)))
+                .andExpect(jsonPath("$.candles[0].symbol", is("BTC-USD")))
+                .andExpect(jsonPath("$.candles[0].t", is(120)))
+                .andExpect(jsonPath("$.candles[0].c", is(11.0)))
+                .andExpect(jsonPath("$.candles[1].interval", is("5m")));
+    }
+
+    @Test
+    void rejectsTooManyPairs() throws Exception {
+        mockMvc.perform(get("/api/v1/snapshot")
+                        .param("symbols", "BTC-USD,ETH-USD,SOL-USD")
+                        .param("intervals", "1m,5m"))
+                .andExpect(jsonPath("$.s", is("error")));
+    }
+}
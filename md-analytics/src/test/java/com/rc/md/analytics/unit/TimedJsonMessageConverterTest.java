@@ -0,0 +1,31 @@
+package com.rc.md.analytics.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.analytics.api.TimedJsonMessageConverter;
+import com.rc.md.common.api.HistoryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimedJsonMessageConverterTest {
+
+    @Test
+    void recordsUnderTheConverterPath() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TimedJsonMessageConverter converter = new TimedJsonMessageConverter(new ObjectMapper(), registry);
+        HistoryResponse body = new HistoryResponse();
+        body.setS("error");
+
+        converter.write(body, MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+
+        // the controller's pre-serialized bodies are timed under path=prebuilt, never mixed with these
+        assertThat(registry.find("md.analytics.serialization")
+                .tags("type", "HistoryResponse", "path", "converter").timer())
+                .isNotNull()
+                .satisfies(t -> assertThat(t.count()).isEqualTo(1));
+        assertThat(registry.find("md.analytics.serialization").tag("path", "prebuilt").timer()).isNull();
+    }
+}
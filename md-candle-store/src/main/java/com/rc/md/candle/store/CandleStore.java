@@ -0,0 +1,46 @@
+package com.rc.md.candle.store;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage of OHLCV candles keyed by (symbol id, interval, bucket start).
+ * <p>
+ * Bucket starts are UNIX seconds. Implementations are picked with {@code md.candle-store.backend}
+ * and must be safe for concurrent use.
+ * <p>
+ * In fixed-point mode writers use {@link #writeFixed} and {@link #findFixed}, which keep prices as
+ * mantissas end to end. The other methods still work and convert with the symbol's scale.
+ */
+public interface CandleStore {
+
+    /**
+     * Inserts or replaces the given candles, as one batch where the backend supports it.
+     */
+    void write(List<StoredCandle> candles);
+
+    /**
+     * @return the candle of one bucket, if stored
+     */
+    Optional<StoredCandle> find(int symbolId, int intervalSec, long bucketStart);
+
+    /**
+     * Fixed-point variant of {@link #write}, for {@code md.symbols.fixed-point} only.
+     */
+    void writeFixed(List<FixedStoredCandle> candles);
+
+    /**
+     * Fixed-point variant of {@link #find}, for {@code md.symbols.fixed-point} only.
+     */
+    Optional<FixedStoredCandle> findFixed(int symbolId, int intervalSec, long bucketStart);
+
+    /**
+     * @return candles with {@code from <= bucketStart <= to}, ascending by bucket start
+     */
+    List<StoredCandle> range(int symbolId, int intervalSec, long from, long to);
+
+    /**
+     * @return the candle with the highest bucket start, if any
+     */
+    Optional<StoredCandle> latest(int symbolId, int intervalSec);
+}
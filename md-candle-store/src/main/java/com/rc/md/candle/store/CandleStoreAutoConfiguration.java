@@ -0,0 +1,55 @@
+package com.rc.md.candle.store;
+
+import com.rc.md.candle.store.jdbc.JdbcCandleStore;
+import com.rc.md.candle.store.jpa.CandleEntity;
+import com.rc.md.candle.store.jpa.CandleJpaRepository;
+import com.rc.md.candle.store.jpa.FixedCandleJpaRepository;
+import com.rc.md.candle.store.jpa.JpaCandleStore;
+import com.rc.md.candle.store.memory.InMemoryCandleStore;
+import com.rc.md.common.symbol.SymbolRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Provides the {@link CandleStore} selected by {@code md.candle-store.backend}.
+ * <p>
+ * The JPA entities and repositories are added to the auto-configuration packages, so they are
+ * picked up next to the application's own without an explicit scan.
+ */
+@AutoConfiguration(before = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@AutoConfigurationPackage(basePackageClasses = CandleEntity.class)
+@EnableConfigurationProperties(CandleStoreProperties.class)
+public class CandleStoreAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "md.candle-store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+    public CandleStore jpaCandleStore(CandleJpaRepository candles,
+                                      FixedCandleJpaRepository fixedCandles,
+                                      SymbolRegistry symbolRegistry) {
+        return new JpaCandleStore(candles, fixedCandles, symbolRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "md.candle-store", name = "backend", havingValue = "jdbc")
+    public CandleStore jdbcCandleStore(JdbcTemplate jdbcTemplate,
+                                       SymbolRegistry symbolRegistry,
+                                       CandleStoreProperties properties) {
+        return new JdbcCandleStore(jdbcTemplate, symbolRegistry, properties.getJdbc().getBatchSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "md.candle-store", name = "backend", havingValue = "memory")
+    public CandleStore inMemoryCandleStore(SymbolRegistry symbolRegistry) {
+        return new InMemoryCandleStore(symbolRegistry);
+    }
+}
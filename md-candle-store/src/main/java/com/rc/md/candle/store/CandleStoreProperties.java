@@ -0,0 +1,36 @@
+package com.rc.md.candle.store;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.candle-store")
+public class CandleStoreProperties {
+
+    /**
+     * JPA: Spring Data repositories, one statement per candle.
+     * JDBC: batched INSERT ... ON CONFLICT through JdbcTemplate.
+     * MEMORY: process-local maps, nothing is persisted (benchmarks and tests).
+     */
+    private Backend backend = Backend.JPA;
+
+    private Jdbc jdbc = new Jdbc();
+
+    @Getter
+    @Setter
+    public static class Jdbc {
+
+        /**
+         * Rows per JDBC batch.
+         */
+        private int batchSize = 500;
+    }
+
+    public enum Backend {
+        JPA,
+        JDBC,
+        MEMORY
+    }
+}
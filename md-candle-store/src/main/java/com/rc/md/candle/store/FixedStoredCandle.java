@@ -0,0 +1,44 @@
+package com.rc.md.candle.store;
+
+import com.rc.md.common.model.FixedPoint;
+
+/**
+ * A candle with prices as fixed-point mantissas, as exchanged with a {@link CandleStore} in
+ * fixed-point mode ({@code md.symbols.fixed-point}). OHLC updates stay exact.
+ *
+ * @param bucketStart start of the bucket, UNIX seconds
+ * @param scale       decimal scale of the mantissas, see {@link FixedPoint}
+ */
+public record FixedStoredCandle(
+        int symbolId,
+        int intervalSec,
+        long bucketStart,
+        int scale,
+        long open,
+        long high,
+        long low,
+        long close,
+        long volume
+) {
+
+    public static FixedStoredCandle open(int symbolId, int intervalSec, long bucketStart, int scale, long price) {
+        return new FixedStoredCandle(symbolId, intervalSec, bucketStart, scale, price, price, price, price, 1);
+    }
+
+    /**
+     * @return this candle with one more trade at {@code price}, a mantissa of the same scale
+     */
+    public FixedStoredCandle update(long price) {
+        return new FixedStoredCandle(symbolId, intervalSec, bucketStart, scale, open,
+                Math.max(high, price), Math.min(low, price), price, volume + 1);
+    }
+
+    /**
+     * @return the same candle with decimal prices, for the API edge
+     */
+    public StoredCandle toDecimal() {
+        return new StoredCandle(symbolId, intervalSec, bucketStart,
+                FixedPoint.toDouble(open, scale), FixedPoint.toDouble(high, scale),
+                FixedPoint.toDouble(low, scale), FixedPoint.toDouble(close, scale), volume);
+    }
+}
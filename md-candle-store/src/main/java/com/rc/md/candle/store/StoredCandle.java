@@ -0,0 +1,30 @@
+package com.rc.md.candle.store;
+
+/**
+ * A candle as exchanged with a {@link CandleStore}.
+ *
+ * @param bucketStart start of the bucket, UNIX seconds
+ */
+public record StoredCandle(
+        int symbolId,
+        int intervalSec,
+        long bucketStart,
+        double open,
+        double high,
+        double low,
+        double close,
+        long volume
+) {
+
+    public static StoredCandle open(int symbolId, int intervalSec, long bucketStart, double price) {
+        return new StoredCandle(symbolId, intervalSec, bucketStart, price, price, price, price, 1);
+    }
+
+    /**
+     * @return this candle with one more trade at {@code price}
+     */
+    public StoredCandle update(double price) {
+        return new StoredCandle(symbolId, intervalSec, bucketStart, open,
+                Math.max(high, price), Math.min(low, price), price, volume + 1);
+    }
+}
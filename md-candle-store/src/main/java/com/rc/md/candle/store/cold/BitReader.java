@@ -0,0 +1,41 @@
+package com.rc.md.candle.store.cold;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads what {@link BitWriter} wrote, from an absolute offset of a (mapped) buffer.
+ */
+final class BitReader {
+
+    private final ByteBuffer buf;
+    private final int base;
+    private long bitPos;
+
+    BitReader(ByteBuffer buf, int base) {
+        this.buf = buf;
+        this.base = base;
+    }
+
+    boolean readBit() {
+        int b = buf.get(base + (int) (bitPos >>> 3));
+        boolean bit = (b & (0x80 >>> (bitPos & 7))) != 0;
+        bitPos++;
+        return bit;
+    }
+
+    long read(int bits) {
+        long value = 0;
+        int remaining = bits;
+        while (remaining > 0) {
+            int offsetInByte = (int) (bitPos & 7);
+            int available = 8 - offsetInByte;
+            int take = Math.min(available, remaining);
+            int b = buf.get(base + (int) (bitPos >>> 3)) & 0xFF;
+            int chunk = (b >>> (available - take)) & ((1 << take) - 1);
+            value = (value << take) | chunk;
+            bitPos += take;
+            remaining -= take;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,42 @@
+package com.rc.md.candle.store.cold;
+
+import java.util.Arrays;
+
+/**
+ * Appends values of 1 to 64 bits, most significant bit first.
+ */
+final class BitWriter {
+
+    private byte[] bytes;
+    private long bitPos;
+
+    BitWriter(int initialBytes) {
+        this.bytes = new byte[Math.max(16, initialBytes)];
+    }
+
+    void writeBit(boolean bit) {
+        write(bit ? 1 : 0, 1);
+    }
+
+    void write(long value, int bits) {
+        ensure(bitPos + bits);
+        for (int i = bits - 1; i >= 0; i--) {
+            if (((value >>> i) & 1) != 0) {
+                int byteIndex = (int) (bitPos >>> 3);
+                bytes[byteIndex] |= (byte) (0x80 >>> (bitPos & 7));
+            }
+            bitPos++;
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, (int) ((bitPos + 7) >>> 3));
+    }
+
+    private void ensure(long bits) {
+        int needed = (int) ((bits + 7) >>> 3);
+        if (needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(needed, bytes.length * 2));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.rc.md.candle.store.cold;
+
+import com.rc.md.candle.store.StoredCandle;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Time-series encoding of the candles of one (symbol, interval, period).
+ * <p>
+ * Rows are encoded one after the other into a single bit stream, so a range read decodes from
+ * the start and stops after {@code to}:
+ * <ul>
+ *   <li>bucket start: delta-of-delta in bucket units, a single 0 bit while candles are contiguous</li>
+ *   <li>open, high, low, close: Gorilla XOR against the previous value of the same column</li>
+ *   <li>volume: delta against the previous volume</li>
+ * </ul>
+ * The first row's values are stored in full. Header (48 bytes): magic, version, symbol id,
+ * interval, period start and end, row count, first bucket start.
+ */
+public final class ColdCandleCodec {
+
+    static final int MAGIC = 0x4D44_4343;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 48;
+
+    private ColdCandleCodec() {
+    }
+
+    public record Header(int symbolId, int intervalSec, long periodStart, long periodEnd, int count) {
+    }
+
+    /**
+     * @param candles ascending by bucket start, all of {@code symbolId} and {@code intervalSec}
+     */
+    public static byte[] encode(int symbolId, int intervalSec, long periodStart, long periodEnd,
+                                List<StoredCandle> candles) {
+        if (candles.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to encode");
+        }
+        BitWriter w = new BitWriter(candles.size() * 8);
+        StoredCandle first = candles.get(0);
+        long prevUnit = first.bucketStart() / intervalSec;
+        long prevDelta = 0;
+        Xor open = new Xor(first.open());
+        Xor high = new Xor(first.high());
+        Xor low = new Xor(first.low());
+        Xor close = new Xor(first.close());
+        long prevVolume = first.volume();
+        w.write(Double.doubleToRawLongBits(first.open()), 64);
+        w.write(Double.doubleToRawLongBits(first.high()), 64);
+        w.write(Double.doubleToRawLongBits(first.low()), 64);
+        w.write(Double.doubleToRawLongBits(first.close()), 64);
+        w.write(prevVolume, 64);
+
+        for (int i = 1; i < candles.size(); i++) {
+            StoredCandle c = candles.get(i);
+            long unit = c.bucketStart() / intervalSec;
+            long delta = unit - prevUnit;
+            writeSigned(w, delta - prevDelta);
+            prevUnit = unit;
+            prevDelta = delta;
+            open.write(w, c.open());
+            high.write(w, c.high());
+            low.write(w, c.low());
+            close.write(w, c.close());
+            writeSigned(w, c.volume() - prevVolume);
+            prevVolume = c.volume();
+        }
+
+        byte[] body = w.toByteArray();
+        return ByteBuffer.allocate(HEADER_BYTES + body.length)
+                .putInt(MAGIC).putShort(VERSION).putShort((short) 0)
+                .putInt(symbolId).putInt(intervalSec)
+                .putLong(periodStart).putLong(periodEnd)
+                .putInt(candles.size()).putInt(0)
+                .putLong(first.bucketStart())
+                .put(body)
+                .array();
+    }
+
+    public static Header header(ByteBuffer buf) {
+        if (buf.getInt(0) != MAGIC || buf.getShort(4) != VERSION) {
+            throw new IllegalArgumentException("Not a cold candle file");
+        }
+        return new Header(buf.getInt(8), buf.getInt(12), buf.getLong(16), buf.getLong(24), buf.getInt(32));
+    }
+
+    /**
+     * Appends the candles with {@code from <= bucketStart <= to} to {@code out}.
+     */
+    public static void decode(ByteBuffer buf, long from, long to, List<StoredCandle> out) {
+        Header h = header(buf);
+        int sec = h.intervalSec();
+        long bucket = buf.getLong(40);
+        BitReader r = new BitReader(buf, HEADER_BYTES);
+        double open = Double.longBitsToDouble(r.read(64));
+        double high = Double.longBitsToDouble(r.read(64));
+        double low = Double.longBitsToDouble(r.read(64));
+        double close = Double.longBitsToDouble(r.read(64));
+        long volume = r.read(64);
+        Xor openX = new Xor(open);
+        Xor highX = new Xor(high);
+        Xor lowX = new Xor(low);
+        Xor closeX = new Xor(close);
+        long unit = bucket / sec;
+        long delta = 0;
+
+        for (int i = 0; ; ) {
+            if (bucket > to) {
+                return;
+            }
+            if (bucket >= from) {
+                out.add(new StoredCandle(h.symbolId(), sec, bucket, open, high, low, close, volume));
+            }
+            if (++i == h.count()) {
+                return;
+            }
+            delta += readSigned(r);
+            unit += delta;
+            bucket = unit * sec;
+            open = openX.read(r);
+            high = highX.read(r);
+            low = lowX.read(r);
+            close = closeX.read(r);
+            volume += readSigned(r);
+        }
+    }
+
+    /**
+     * Gorilla bucketing of a signed value: 0 | 10+7 bits | 110+9 bits | 1110+12 bits | 1111+64 bits.
+     */
+    private static void writeSigned(BitWriter w, long v) {
+        if (v == 0) {
+            w.writeBit(false);
+        } else if (v >= -64 && v <= 63) {
+            w.write(0b10, 2);
+            w.write(v, 7);
+        } else if (v >= -256 && v <= 255) {
+            w.write(0b110, 3);
+            w.write(v, 9);
+        } else if (v >= -2048 && v <= 2047) {
+            w.write(0b1110, 4);
+            w.write(v, 12);
+        } else {
+            w.write(0b1111, 4);
+            w.write(v, 64);
+        }
+    }
+
+    private static long readSigned(BitReader r) {
+        if (!r.readBit()) {
+            return 0;
+        }
+        int bits;
+        if (!r.readBit()) {
+            bits = 7;
+        } else if (!r.readBit()) {
+            bits = 9;
+        } else if (!r.readBit()) {
+            bits = 12;
+        } else {
+            return r.read(64);
+        }
+        long v = r.read(bits);
+        return (v << (64 - bits)) >> (64 - bits);
+    }
+
+    /**
+     * XOR state of one float column.
+     */
+    private static final class Xor {
+
+        private long prev;
+        private int leading = -1;
+        private int trailing;
+
+        Xor(double first) {
+            this.prev = Double.doubleToRawLongBits(first);
+        }
+
+        void write(BitWriter w, double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            long xor = bits ^ prev;
+            prev = bits;
+            if (xor == 0) {
+                w.writeBit(false);
+                return;
+            }
+            w.writeBit(true);
+            int lead = Math.min(31, Long.numberOfLeadingZeros(xor));
+            int trail = Long.numberOfTrailingZeros(xor);
+            if (leading >= 0 && lead >= leading && trail >= trailing) {
+                // fits in the previous meaningful window
+                w.writeBit(false);
+                w.write(xor >>> trailing, 64 - leading - trailing);
+                return;
+            }
+            int length = 64 - lead - trail;
+            w.writeBit(true);
+            w.write(lead, 5);
+            w.write(length - 1, 6);
+            w.write(xor >>> trail, length);
+            leading = lead;
+            trailing = trail;
+        }
+
+        double read(BitReader r) {
+            if (r.readBit()) {
+                long xor;
+                if (!r.readBit()) {
+                    xor = r.read(64 - leading - trailing) << trailing;
+                } else {
+                    leading = (int) r.read(5);
+                    int length = (int) r.read(6) + 1;
+                    trailing = 64 - leading - length;
+                    xor = r.read(length) << trailing;
+                }
+                prev ^= xor;
+            }
+            return Double.longBitsToDouble(prev);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.rc.md.candle.store.cold;
+
+import com.rc.md.candle.store.StoredCandle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Immutable cold-tier files, one per (symbol, interval, period), laid out as
+ * {@code <root>/<intervalSec>s/<symbolId>/<periodStart>_<periodEnd>.mdc}; period bounds are UNIX
+ * seconds, end exclusive. Files are written by the archiver and memory-mapped by readers.
+ * <p>
+ * The archiver replaces a period file when it merges late candles, possibly in another process,
+ * so a cached mapping is only reused while the file key, size and modification time still match.
+ * At most {@code maxMappedFiles} mappings are kept, least recently used first out.
+ */
+public class ColdCandleFiles {
+
+    private static final String SUFFIX = ".mdc";
+
+    public static final int DEFAULT_MAX_MAPPED_FILES = 1024;
+
+    private final Path root;
+    private final Map<Path, Mapping> mapped;
+
+    public ColdCandleFiles(Path root) {
+        this(root, DEFAULT_MAX_MAPPED_FILES);
+    }
+
+    public ColdCandleFiles(Path root, int maxMappedFiles) {
+        this.root = root;
+        this.mapped = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Mapping> eldest) {
+                return size() > maxMappedFiles;
+            }
+        });
+    }
+
+    public record Period(long start, long end, Path path) {
+    }
+
+    private record Mapping(Object fileKey, FileTime modified, long size, MappedByteBuffer buffer) {
+
+        boolean matches(BasicFileAttributes attrs) {
+            return Objects.equals(fileKey, attrs.fileKey()) && modified.equals(attrs.lastModifiedTime())
+                    && size == attrs.size();
+        }
+    }
+
+    public Path file(int symbolId, int intervalSec, long periodStart, long periodEnd) {
+        return series(symbolId, intervalSec).resolve(periodStart + "_" + periodEnd + SUFFIX);
+    }
+
+    /**
+     * Writes the file through a temporary file and an atomic rename, so readers never see a partial file.
+     */
+    public Path write(int symbolId, int intervalSec, long periodStart, long periodEnd, List<StoredCandle> candles) {
+        Path target = file(symbolId, intervalSec, periodStart, periodEnd);
+        byte[] bytes = ColdCandleCodec.encode(symbolId, intervalSec, periodStart, periodEnd, candles);
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buf = ByteBuffer.wrap(bytes);
+                while (buf.hasRemaining()) {
+                    ch.write(buf);
+                }
+                ch.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + target, e);
+        }
+        mapped.remove(target);
+        return target;
+    }
+
+    /**
+     * @return archived periods of the series, ascending
+     */
+    public List<Period> periods(int symbolId, int intervalSec) {
+        Path dir = series(symbolId, intervalSec);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(ColdCandleFiles::period)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingLong(Period::start))
+                    .toList();
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + dir, e);
+        }
+    }
+
+    /**
+     * @return end (exclusive) of the last archived period, {@link Long#MIN_VALUE} when nothing is archived
+     */
+    public long coldEnd(int symbolId, int intervalSec) {
+        List<Period> periods = periods(symbolId, intervalSec);
+        return periods.isEmpty() ? Long.MIN_VALUE : periods.get(periods.size() - 1).end();
+    }
+
+    /**
+     * @return archived candles with {@code from <= bucketStart <= to}, ascending
+     */
+    public List<StoredCandle> range(int symbolId, int intervalSec, long from, long to) {
+        List<StoredCandle> out = new ArrayList<>();
+        for (Period p : periods(symbolId, intervalSec)) {
+            if (p.end() <= from || p.start() > to) {
+                continue;
+            }
+            ColdCandleCodec.decode(map(p.path()), from, to, out);
+        }
+        return out;
+    }
+
+    public List<StoredCandle> read(Path file) {
+        List<StoredCandle> out = new ArrayList<>();
+        ColdCandleCodec.decode(map(file), Long.MIN_VALUE, Long.MAX_VALUE, out);
+        return out;
+    }
+
+    private MappedByteBuffer map(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            Mapping cached = mapped.get(file);
+            if (cached != null && cached.matches(attrs)) {
+                return cached.buffer();
+            }
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                mapped.put(file, new Mapping(attrs.fileKey(), attrs.lastModifiedTime(), attrs.size(), buffer));
+                return buffer;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map " + file, e);
+        }
+    }
+
+    private Path series(int symbolId, int intervalSec) {
+        return root.resolve(intervalSec + "s").resolve(String.valueOf(symbolId));
+    }
+
+    private static Period period(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(SUFFIX)) {
+            return null;
+        }
+        String[] bounds = name.substring(0, name.length() - SUFFIX.length()).split("_");
+        if (bounds.length != 2) {
+            return null;
+        }
+        try {
+            return new Period(Long.parseLong(bounds[0]), Long.parseLong(bounds[1]), file);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.rc.md.candle.store.jdbc;
+
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.FixedStoredCandle;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link CandleStore} writing with batched {@code INSERT ... ON CONFLICT DO UPDATE} statements and
+ * reading with plain queries, without entity hydration. PostgreSQL/TimescaleDB only.
+ * <p>
+ * In fixed-point mode the same statements run against {@code candles_fx}. {@link #writeFixed} and
+ * {@link #findFixed} bind mantissas as they are, the other methods convert with the symbol's scale.
+ */
+public class JdbcCandleStore implements CandleStore {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO %s (symbol_id, interval_sec, bucket_start, open, high, low, close, volume)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (symbol_id, interval_sec, bucket_start) DO UPDATE
+                SET open = EXCLUDED.open,
+                    high = EXCLUDED.high,
+                    low = EXCLUDED.low,
+                    close = EXCLUDED.close,
+                    volume = EXCLUDED.volume
+            """;
+
+    private static final String COLUMNS = "symbol_id, interval_sec, bucket_start, open, high, low, close, volume";
+
+    private static final String FIND_SQL = "SELECT " + COLUMNS + " FROM %s"
+            + " WHERE symbol_id = ? AND interval_sec = ? AND bucket_start = ?";
+
+    private static final String RANGE_SQL = "SELECT " + COLUMNS + " FROM %s"
+            + " WHERE symbol_id = ? AND interval_sec = ? AND bucket_start BETWEEN ? AND ?"
+            + " ORDER BY bucket_start";
+
+    private static final String LATEST_SQL = "SELECT " + COLUMNS + " FROM %s"
+            + " WHERE symbol_id = ? AND interval_sec = ? ORDER BY bucket_start DESC LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SymbolRegistry symbolRegistry;
+    private final int batchSize;
+    private final boolean fixedPoint;
+    private final String upsertSql;
+    private final String findSql;
+    private final String rangeSql;
+    private final String latestSql;
+    private final String fixedUpsertSql = UPSERT_SQL.formatted("candles_fx");
+    private final String fixedFindSql = FIND_SQL.formatted("candles_fx");
+    private final RowMapper<StoredCandle> rowMapper = this::mapRow;
+
+    public JdbcCandleStore(JdbcTemplate jdbcTemplate, SymbolRegistry symbolRegistry, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.symbolRegistry = symbolRegistry;
+        this.batchSize = batchSize;
+        this.fixedPoint = symbolRegistry.isFixedPoint();
+        String table = fixedPoint ? "candles_fx" : "candles";
+        this.upsertSql = UPSERT_SQL.formatted(table);
+        this.findSql = FIND_SQL.formatted(table);
+        this.rangeSql = RANGE_SQL.formatted(table);
+        this.latestSql = LATEST_SQL.formatted(table);
+    }
+
+    @Override
+    public void write(List<StoredCandle> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(upsertSql, candles, batchSize, this::bind);
+    }
+
+    @Override
+    public Optional<StoredCandle> find(int symbolId, int intervalSec, long bucketStart) {
+        return jdbcTemplate.query(findSql, rowMapper, symbolId, intervalSec, toTimestamp(bucketStart))
+                .stream().findFirst();
+    }
+
+    @Override
+    public void writeFixed(List<FixedStoredCandle> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(fixedUpsertSql, candles, batchSize, this::bindFixed);
+    }
+
+    @Override
+    public Optional<FixedStoredCandle> findFixed(int symbolId, int intervalSec, long bucketStart) {
+        return jdbcTemplate.query(fixedFindSql, this::mapFixedRow, symbolId, intervalSec, toTimestamp(bucketStart))
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<StoredCandle> range(int symbolId, int intervalSec, long from, long to) {
+        return jdbcTemplate.query(rangeSql, rowMapper, symbolId, intervalSec, toTimestamp(from), toTimestamp(to));
+    }
+
+    @Override
+    public Optional<StoredCandle> latest(int symbolId, int intervalSec) {
+        return jdbcTemplate.query(latestSql, rowMapper, symbolId, intervalSec).stream().findFirst();
+    }
+
+    private void bind(PreparedStatement ps, StoredCandle c) throws SQLException {
+        ps.setInt(1, c.symbolId());
+        ps.setInt(2, c.intervalSec());
+        ps.setObject(3, toTimestamp(c.bucketStart()));
+        if (fixedPoint) {
+            int scale = symbolRegistry.scale(c.symbolId());
+            ps.setLong(4, FixedPoint.toMantissa(c.open(), scale));
+            ps.setLong(5, FixedPoint.toMantissa(c.high(), scale));
+            ps.setLong(6, FixedPoint.toMantissa(c.low(), scale));
+            ps.setLong(7, FixedPoint.toMantissa(c.close(), scale));
+        } else {
+            ps.setDouble(4, c.open());
+            ps.setDouble(5, c.high());
+            ps.setDouble(6, c.low());
+            ps.setDouble(7, c.close());
+        }
+        ps.setLong(8, c.volume());
+    }
+
+    private void bindFixed(PreparedStatement ps, FixedStoredCandle c) throws SQLException {
+        ps.setInt(1, c.symbolId());
+        ps.setInt(2, c.intervalSec());
+        ps.setObject(3, toTimestamp(c.bucketStart()));
+        ps.setLong(4, c.open());
+        ps.setLong(5, c.high());
+        ps.setLong(6, c.low());
+        ps.setLong(7, c.close());
+        ps.setLong(8, c.volume());
+    }
+
+    private StoredCandle mapRow(ResultSet rs, int row) throws SQLException {
+        if (fixedPoint) {
+            return mapFixedRow(rs, row).toDecimal();
+        }
+        return new StoredCandle(rs.getInt(1), rs.getInt(2), rs.getObject(3, OffsetDateTime.class).toEpochSecond(),
+                rs.getDouble(4), rs.getDouble(5), rs.getDouble(6), rs.getDouble(7), rs.getLong(8));
+    }
+
+    private FixedStoredCandle mapFixedRow(ResultSet rs, int row) throws SQLException {
+        int symbolId = rs.getInt(1);
+        return new FixedStoredCandle(symbolId, rs.getInt(2), rs.getObject(3, OffsetDateTime.class).toEpochSecond(),
+                symbolRegistry.scale(symbolId),
+                rs.getLong(4), rs.getLong(5), rs.getLong(6), rs.getLong(7), rs.getLong(8));
+    }
+
+    private static OffsetDateTime toTimestamp(long epochSec) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSec), ZoneOffset.UTC);
+    }
+}
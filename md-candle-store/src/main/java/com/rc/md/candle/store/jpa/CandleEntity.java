@@ -1,4 +1,4 @@
-package com.rc.md.analytics.candle;
+package com.rc.md.candle.store.jpa;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -16,7 +16,7 @@ import java.time.OffsetDateTime;
 public class CandleEntity {
 
     @Id
-    private String symbol;
+    private Integer symbolId;
 
     @Id
     private Integer intervalSec;
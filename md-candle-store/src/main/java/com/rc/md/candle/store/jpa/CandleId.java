@@ -1,4 +1,4 @@
-package com.rc.md.analytics.candle;
+package com.rc.md.candle.store.jpa;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,7 +11,7 @@ import java.time.OffsetDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 public class CandleId implements Serializable {
-    private String symbol;
+    private int symbolId;
     private int intervalSec;
     private OffsetDateTime bucketStart;
 }
@@ -0,0 +1,22 @@
+package com.rc.md.candle.store.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface CandleJpaRepository extends JpaRepository<CandleEntity, CandleId> {
+
+    List<CandleEntity> findBySymbolIdAndIntervalSecAndBucketStartBetweenOrderByBucketStartAsc(
+            Integer symbolId,
+            Integer intervalSec,
+            OffsetDateTime from,
+            OffsetDateTime to
+    );
+
+    Optional<CandleEntity> findFirstBySymbolIdAndIntervalSecOrderByBucketStartDesc(
+            Integer symbolId,
+            Integer intervalSec
+    );
+}
@@ -0,0 +1,35 @@
+package com.rc.md.candle.store.jpa;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Candle with prices as fixed-point mantissas in the symbol's scale (md.symbols.fixed-point).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@IdClass(CandleId.class)
+@Entity
+@Table(name = "candles_fx")
+public class FixedCandleEntity {
+
+    @Id
+    private Integer symbolId;
+
+    @Id
+    private Integer intervalSec;
+
+    @Id
+    private OffsetDateTime bucketStart;
+
+    private long open;
+    private long high;
+    private long low;
+    private long close;
+    private long volume;
+}
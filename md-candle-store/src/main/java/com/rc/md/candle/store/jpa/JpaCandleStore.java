@@ -0,0 +1,124 @@
+package com.rc.md.candle.store.jpa;
+
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.FixedStoredCandle;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolRegistry;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link CandleStore} on Spring Data JPA. In fixed-point mode candles are kept in
+ * {@code candles_fx}; {@link #writeFixed} and {@link #findFixed} pass mantissas straight through,
+ * the other methods convert with the symbol's scale.
+ */
+public class JpaCandleStore implements CandleStore {
+
+    private final CandleJpaRepository candles;
+    private final FixedCandleJpaRepository fixedCandles;
+    private final SymbolRegistry symbolRegistry;
+    private final boolean fixedPoint;
+
+    public JpaCandleStore(CandleJpaRepository candles,
+                          FixedCandleJpaRepository fixedCandles,
+                          SymbolRegistry symbolRegistry) {
+        this.candles = candles;
+        this.fixedCandles = fixedCandles;
+        this.symbolRegistry = symbolRegistry;
+        this.fixedPoint = symbolRegistry.isFixedPoint();
+    }
+
+    @Override
+    public void write(List<StoredCandle> batch) {
+        if (fixedPoint) {
+            List<FixedStoredCandle> fixed = new ArrayList<>(batch.size());
+            for (StoredCandle c : batch) {
+                int scale = symbolRegistry.scale(c.symbolId());
+                fixed.add(new FixedStoredCandle(c.symbolId(), c.intervalSec(), c.bucketStart(), scale,
+                        FixedPoint.toMantissa(c.open(), scale),
+                        FixedPoint.toMantissa(c.high(), scale),
+                        FixedPoint.toMantissa(c.low(), scale),
+                        FixedPoint.toMantissa(c.close(), scale),
+                        c.volume()));
+            }
+            writeFixed(fixed);
+        } else {
+            List<CandleEntity> entities = new ArrayList<>(batch.size());
+            for (StoredCandle c : batch) {
+                entities.add(new CandleEntity(c.symbolId(), c.intervalSec(), toTimestamp(c.bucketStart()),
+                        c.open(), c.high(), c.low(), c.close(), c.volume()));
+            }
+            candles.saveAll(entities);
+        }
+    }
+
+    @Override
+    public void writeFixed(List<FixedStoredCandle> batch) {
+        List<FixedCandleEntity> entities = new ArrayList<>(batch.size());
+        for (FixedStoredCandle c : batch) {
+            entities.add(new FixedCandleEntity(c.symbolId(), c.intervalSec(), toTimestamp(c.bucketStart()),
+                    c.open(), c.high(), c.low(), c.close(), c.volume()));
+        }
+        fixedCandles.saveAll(entities);
+    }
+
+    @Override
+    public Optional<StoredCandle> find(int symbolId, int intervalSec, long bucketStart) {
+        CandleId id = new CandleId(symbolId, intervalSec, toTimestamp(bucketStart));
+        return fixedPoint
+                ? fixedCandles.findById(id).map(this::toCandle)
+                : candles.findById(id).map(JpaCandleStore::toCandle);
+    }
+
+    @Override
+    public Optional<FixedStoredCandle> findFixed(int symbolId, int intervalSec, long bucketStart) {
+        return fixedCandles.findById(new CandleId(symbolId, intervalSec, toTimestamp(bucketStart)))
+                .map(this::toFixedCandle);
+    }
+
+    @Override
+    public List<StoredCandle> range(int symbolId, int intervalSec, long from, long to) {
+        OffsetDateTime fromTs = toTimestamp(from);
+        OffsetDateTime toTs = toTimestamp(to);
+        if (fixedPoint) {
+            return fixedCandles.findBySymbolIdAndIntervalSecAndBucketStartBetweenOrderByBucketStartAsc(
+                    symbolId, intervalSec, fromTs, toTs).stream().map(this::toCandle).toList();
+        }
+        return candles.findBySymbolIdAndIntervalSecAndBucketStartBetweenOrderByBucketStartAsc(
+                symbolId, intervalSec, fromTs, toTs).stream().map(JpaCandleStore::toCandle).toList();
+    }
+
+    @Override
+    public Optional<StoredCandle> latest(int symbolId, int intervalSec) {
+        return fixedPoint
+                ? fixedCandles.findFirstBySymbolIdAndIntervalSecOrderByBucketStartDesc(symbolId, intervalSec)
+                        .map(this::toCandle)
+                : candles.findFirstBySymbolIdAndIntervalSecOrderByBucketStartDesc(symbolId, intervalSec)
+                        .map(JpaCandleStore::toCandle);
+    }
+
+    private static StoredCandle toCandle(CandleEntity e) {
+        return new StoredCandle(e.getSymbolId(), e.getIntervalSec(), e.getBucketStart().toEpochSecond(),
+                e.getOpen(), e.getHigh(), e.getLow(), e.getClose(), e.getVolume());
+    }
+
+    private StoredCandle toCandle(FixedCandleEntity e) {
+        return toFixedCandle(e).toDecimal();
+    }
+
+    private FixedStoredCandle toFixedCandle(FixedCandleEntity e) {
+        return new FixedStoredCandle(e.getSymbolId(), e.getIntervalSec(), e.getBucketStart().toEpochSecond(),
+                symbolRegistry.scale(e.getSymbolId()),
+                e.getOpen(), e.getHigh(), e.getLow(), e.getClose(), e.getVolume());
+    }
+
+    private static OffsetDateTime toTimestamp(long epochSec) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSec), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,93 @@
+package com.rc.md.candle.store.memory;
+
+import com.rc.md.candle.store.CandleStore;
+import com.rc.md.candle.store.FixedStoredCandle;
+import com.rc.md.candle.store.StoredCandle;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolProperties;
+import com.rc.md.common.symbol.SymbolRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Process-local {@link CandleStore}: one sorted map per (symbol, interval). Nothing survives a
+ * restart; meant for benchmarks that take the database out of the picture, and for tests.
+ * <p>
+ * Candles are kept as decimals; the fixed-point methods convert with the symbol's scale, so both
+ * views always show the same candle.
+ */
+public class InMemoryCandleStore implements CandleStore {
+
+    private final Map<Long, NavigableMap<Long, StoredCandle>> series = new ConcurrentHashMap<>();
+    private final SymbolRegistry symbolRegistry;
+
+    /**
+     * A store converting fixed-point candles with the default scale of {@link SymbolProperties}.
+     */
+    public InMemoryCandleStore() {
+        this(new SymbolRegistry(new SymbolProperties()));
+    }
+
+    public InMemoryCandleStore(SymbolRegistry symbolRegistry) {
+        this.symbolRegistry = symbolRegistry;
+    }
+
+    @Override
+    public void write(List<StoredCandle> candles) {
+        for (StoredCandle c : candles) {
+            series.computeIfAbsent(key(c.symbolId(), c.intervalSec()), k -> new ConcurrentSkipListMap<>())
+                    .put(c.bucketStart(), c);
+        }
+    }
+
+    @Override
+    public Optional<StoredCandle> find(int symbolId, int intervalSec, long bucketStart) {
+        NavigableMap<Long, StoredCandle> s = series.get(key(symbolId, intervalSec));
+        return s == null ? Optional.empty() : Optional.ofNullable(s.get(bucketStart));
+    }
+
+    @Override
+    public void writeFixed(List<FixedStoredCandle> candles) {
+        write(candles.stream().map(FixedStoredCandle::toDecimal).toList());
+    }
+
+    @Override
+    public Optional<FixedStoredCandle> findFixed(int symbolId, int intervalSec, long bucketStart) {
+        int scale = symbolRegistry.scale(symbolId);
+        return find(symbolId, intervalSec, bucketStart).map(c -> new FixedStoredCandle(symbolId, intervalSec,
+                bucketStart, scale,
+                FixedPoint.toMantissa(c.open(), scale),
+                FixedPoint.toMantissa(c.high(), scale),
+                FixedPoint.toMantissa(c.low(), scale),
+                FixedPoint.toMantissa(c.close(), scale),
+                c.volume()));
+    }
+
+    @Override
+    public List<StoredCandle> range(int symbolId, int intervalSec, long from, long to) {
+        NavigableMap<Long, StoredCandle> s = series.get(key(symbolId, intervalSec));
+        if (s == null || from > to) {
+            return List.of();
+        }
+        return List.copyOf(s.subMap(from, true, to, true).values());
+    }
+
+    @Override
+    public Optional<StoredCandle> latest(int symbolId, int intervalSec) {
+        NavigableMap<Long, StoredCandle> s = series.get(key(symbolId, intervalSec));
+        if (s == null) {
+            return Optional.empty();
+        }
+        Map.Entry<Long, StoredCandle> last = s.lastEntry();
+        return last == null ? Optional.empty() : Optional.of(last.getValue());
+    }
+
+    private static long key(int symbolId, int intervalSec) {
+        return ((long) symbolId << 32) | (intervalSec & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,72 @@
+package com.rc.md.candle.store.cold;
+
+import com.rc.md.candle.store.StoredCandle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColdCandleFilesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsCandlesWithGapsAndCompresses() throws Exception {
+        List<StoredCandle> candles = new ArrayList<>();
+        SplittableRandom rnd = new SplittableRandom(7);
+        double price = 64_000.25;
+        long bucket = 86_400;
+        for (int i = 0; i < 5_000; i++) {
+            // mostly contiguous, with some missing buckets
+            bucket += rnd.nextInt(20) == 0 ? 1 + rnd.nextInt(300) : 1;
+            double open = price;
+            price = Math.round((price + (rnd.nextDouble() - 0.5) * 4) * 100) / 100.0;
+            candles.add(new StoredCandle(3, 1, bucket, open, Math.max(open, price) + 0.5,
+                    Math.min(open, price) - 0.25, price, rnd.nextInt(50)));
+        }
+        ColdCandleFiles files = new ColdCandleFiles(dir);
+        Path file = files.write(3, 1, 86_400, 2 * 86_400, candles);
+
+        assertThat(files.read(file)).isEqualTo(candles);
+        assertThat(Files.size(file)).isLessThan(candles.size() * 48L / 2);
+
+        long from = candles.get(1_000).bucketStart();
+        long to = candles.get(1_999).bucketStart();
+        assertThat(files.range(3, 1, from, to)).isEqualTo(candles.subList(1_000, 2_000));
+        assertThat(files.coldEnd(3, 1)).isEqualTo(2 * 86_400);
+        assertThat(files.coldEnd(4, 1)).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void rangeSpansPeriodFiles() {
+        ColdCandleFiles files = new ColdCandleFiles(dir);
+        files.write(1, 60, 0, 3_600, List.of(StoredCandle.open(1, 60, 0, 1), StoredCandle.open(1, 60, 3_540, 2)));
+        files.write(1, 60, 3_600, 7_200, List.of(StoredCandle.open(1, 60, 3_600, 3)));
+
+        assertThat(files.range(1, 60, 60, 7_200)).extracting(StoredCandle::close).containsExactly(2.0, 3.0);
+        assertThat(files.periods(1, 60)).extracting(ColdCandleFiles.Period::start).containsExactly(0L, 3_600L);
+    }
+
+    @Test
+    void readerSeesAFileReplacedByAnotherWriter() {
+        ColdCandleFiles reader = new ColdCandleFiles(dir, 1);
+        ColdCandleFiles archiver = new ColdCandleFiles(dir);
+        archiver.write(1, 60, 0, 3_600, List.of(StoredCandle.open(1, 60, 0, 1)));
+        archiver.write(2, 60, 0, 3_600, List.of(StoredCandle.open(2, 60, 0, 5)));
+        assertThat(reader.range(1, 60, 0, 3_599)).hasSize(1);
+
+        // a merge of late candles rewrites the period file from another process
+        archiver.write(1, 60, 0, 3_600, List.of(StoredCandle.open(1, 60, 0, 1), StoredCandle.open(1, 60, 60, 2)));
+
+        assertThat(reader.range(1, 60, 0, 3_599)).extracting(StoredCandle::close).containsExactly(1.0, 2.0);
+        assertThat(reader.range(2, 60, 0, 3_599)).extracting(StoredCandle::close).containsExactly(5.0);
+        assertThat(reader.range(1, 60, 0, 3_599)).hasSize(2);
+    }
+}
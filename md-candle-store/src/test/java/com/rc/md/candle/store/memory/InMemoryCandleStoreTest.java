@@ -0,0 +1,55 @@
+package com.rc.md.candle.store.memory;
+
+import com.rc.md.candle.store.FixedStoredCandle;
+import com.rc.md.candle.store.StoredCandle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryCandleStoreTest {
+
+    @Test
+    void readsBackRangesAndLatestPerSeries() {
+        InMemoryCandleStore store = new InMemoryCandleStore();
+        store.write(List.of(
+                StoredCandle.open(1, 60, 120, 10.0),
+                StoredCandle.open(1, 60, 60, 9.0),
+                StoredCandle.open(1, 300, 0, 8.0),
+                StoredCandle.open(2, 60, 60, 7.0)));
+        store.write(List.of(StoredCandle.open(1, 60, 180, 11.0).update(12.0)));
+
+        assertThat(store.range(1, 60, 60, 120)).extracting(StoredCandle::bucketStart).containsExactly(60L, 120L);
+        assertThat(store.range(1, 60, 0, 59)).isEmpty();
+        assertThat(store.latest(1, 60)).get().satisfies(c -> {
+            assertThat(c.bucketStart()).isEqualTo(180);
+            assertThat(c.high()).isEqualTo(12.0);
+            assertThat(c.volume()).isEqualTo(2);
+        });
+        assertThat(store.find(2, 60, 60)).get().extracting(StoredCandle::close).isEqualTo(7.0);
+        assertThat(store.find(2, 300, 60)).isEmpty();
+    }
+
+    @Test
+    void keepsFixedPointCandlesAsMantissas() {
+        InMemoryCandleStore store = new InMemoryCandleStore();
+        store.writeFixed(List.of(FixedStoredCandle.open(1, 60, 60, 2, 10_010).update(10_030).update(10_020)));
+
+        assertThat(store.findFixed(1, 60, 60)).get().satisfies(c -> {
+            assertThat(c.open()).isEqualTo(10_010L);
+            assertThat(c.high()).isEqualTo(10_030L);
+            assertThat(c.close()).isEqualTo(10_020L);
+            assertThat(c.volume()).isEqualTo(3);
+        });
+        assertThat(store.latest(1, 60)).get().extracting(StoredCandle::high).isEqualTo(100.3);
+        assertThat(store.findFixed(1, 60, 120)).isEmpty();
+
+        // a decimal write, as the streams engine makes, is visible to findFixed as well
+        store.write(List.of(StoredCandle.open(1, 60, 60, 100.1).update(100.45)));
+        assertThat(store.findFixed(1, 60, 60)).get().satisfies(c -> {
+            assertThat(c.close()).isEqualTo(10_045L);
+            assertThat(c.volume()).isEqualTo(2);
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.rc.md.collector.binance.book;
+
+/**
+ * Price levels of one side as parallel primitive arrays, sorted so the best level is last.
+ * <p>
+ * Most updates touch the top of the book, so keeping it at the end of the arrays makes inserts
+ * and removals there shift only a few elements. A full side drops its worst level to admit a
+ * better one; updates below the worst level of a full side are ignored.
+ */
+public final class BookSide {
+
+    private final boolean bid;
+    private final long[] prices;
+    private final long[] quantities;
+    private int size;
+
+    BookSide(boolean bid, int capacity) {
+        this.bid = bid;
+        this.prices = new long[capacity];
+        this.quantities = new long[capacity];
+    }
+
+    /**
+     * Sets the quantity of a level, removing it when {@code quantity} is 0.
+     */
+    public void update(long price, long quantity) {
+        int i = search(price);
+        if (i >= 0) {
+            if (quantity == 0) {
+                System.arraycopy(prices, i + 1, prices, i, size - i - 1);
+                System.arraycopy(quantities, i + 1, quantities, i, size - i - 1);
+                size--;
+            } else {
+                quantities[i] = quantity;
+            }
+            return;
+        }
+        if (quantity == 0) {
+            // removing a level we never had is normal after a snapshot
+            return;
+        }
+        int at = -i - 1;
+        if (size == prices.length) {
+            if (at == 0) {
+                return;
+            }
+            // drop the worst level at index 0
+            System.arraycopy(prices, 1, prices, 0, at - 1);
+            System.arraycopy(quantities, 1, quantities, 0, at - 1);
+            at--;
+        } else {
+            System.arraycopy(prices, at, prices, at + 1, size - at);
+            System.arraycopy(quantities, at, quantities, at + 1, size - at);
+            size++;
+        }
+        prices[at] = price;
+        quantities[at] = quantity;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return price of the level {@code depth} steps from the top, 0 being the best
+     */
+    public long price(int depth) {
+        return prices[size - 1 - depth];
+    }
+
+    public long quantity(int depth) {
+        return quantities[size - 1 - depth];
+    }
+
+    /**
+     * @return summed quantity of the levels priced at or better than {@code limit}
+     */
+    public long quantityWithin(long limit) {
+        long total = 0;
+        for (int i = size - 1; i >= 0 && (bid ? prices[i] >= limit : prices[i] <= limit); i--) {
+            total += quantities[i];
+        }
+        return total;
+    }
+
+    /**
+     * Binary search in the worse-to-better order, as {@link java.util.Arrays#binarySearch}.
+     */
+    private int search(long price) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long p = prices[mid];
+            if (p == price) {
+                return mid;
+            }
+            // bids ascend towards the best (highest) price, asks descend towards the best (lowest)
+            if (bid ? p < price : p > price) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return -(lo + 1);
+    }
+}
@@ -0,0 +1,142 @@
+package com.rc.md.collector.binance.book;
+
+import com.rc.md.common.model.FixedPoint;
+
+/**
+ * Local L2 book of one symbol, kept in sync with a Binance diff-depth stream.
+ * <p>
+ * Prices and quantities are mantissas with {@link #SCALE} decimals, the most Binance sends, so
+ * levels are compared exactly. The book follows Binance's update ids: after a snapshot the first
+ * diff must span {@code lastUpdateId + 1}, every later diff must start right after the previous
+ * one, and anything else is a gap that needs a new snapshot.
+ */
+public final class OrderBook {
+
+    public static final int SCALE = 8;
+
+    public enum Sequence {
+        /**
+         * Apply the diff, then call {@link #applied(long)}.
+         */
+        APPLY,
+        /**
+         * Already contained in the book, skip it.
+         */
+        STALE,
+        /**
+         * Updates were missed; the book must be reloaded from a snapshot.
+         */
+        GAP
+    }
+
+    private final BookSide bids;
+    private final BookSide asks;
+    private long lastUpdateId = -1;
+    private boolean snapshotOnly;
+
+    public OrderBook(int maxLevels) {
+        this.bids = new BookSide(true, maxLevels);
+        this.asks = new BookSide(false, maxLevels);
+    }
+
+    /**
+     * Clears the book before the levels of a snapshot taken at {@code lastUpdateId} are added.
+     */
+    public void reset(long lastUpdateId) {
+        bids.clear();
+        asks.clear();
+        this.lastUpdateId = lastUpdateId;
+        this.snapshotOnly = true;
+    }
+
+    /**
+     * Clears the book until the next snapshot.
+     */
+    public void invalidate() {
+        bids.clear();
+        asks.clear();
+        lastUpdateId = -1;
+    }
+
+    public boolean isSynced() {
+        return lastUpdateId >= 0;
+    }
+
+    public Sequence check(long firstUpdateId, long finalUpdateId) {
+        if (lastUpdateId < 0) {
+            return Sequence.GAP;
+        }
+        if (finalUpdateId <= lastUpdateId) {
+            return Sequence.STALE;
+        }
+        long next = lastUpdateId + 1;
+        boolean continues = snapshotOnly ? firstUpdateId <= next : firstUpdateId == next;
+        return continues ? Sequence.APPLY : Sequence.GAP;
+    }
+
+    public void applied(long finalUpdateId) {
+        lastUpdateId = finalUpdateId;
+        snapshotOnly = false;
+    }
+
+    public long lastUpdateId() {
+        return lastUpdateId;
+    }
+
+    public BookSide bids() {
+        return bids;
+    }
+
+    public BookSide asks() {
+        return asks;
+    }
+
+    public boolean hasTop() {
+        return bids.size() > 0 && asks.size() > 0;
+    }
+
+    /**
+     * @return top-of-book mid price, only valid when {@link #hasTop()}
+     */
+    public double mid() {
+        return (price(bids.price(0)) + price(asks.price(0))) / 2;
+    }
+
+    /**
+     * Mid weighted by the opposite side's top quantity, leaning towards the side more likely to
+     * be taken out next.
+     */
+    public double microprice() {
+        double bidQty = bids.quantity(0);
+        double askQty = asks.quantity(0);
+        return (price(bids.price(0)) * askQty + price(asks.price(0)) * bidQty) / (bidQty + askQty);
+    }
+
+    /**
+     * @return bid quantity priced within {@code bps} basis points below the mid
+     */
+    public double bidDepth(int bps) {
+        long limit = (long) Math.ceil(mantissa(mid()) * (1 - bps / 10_000.0));
+        return quantity(bids.quantityWithin(limit));
+    }
+
+    /**
+     * @return ask quantity priced within {@code bps} basis points above the mid
+     */
+    public double askDepth(int bps) {
+        long limit = (long) Math.floor(mantissa(mid()) * (1 + bps / 10_000.0));
+        return quantity(asks.quantityWithin(limit));
+    }
+
+    public static double price(long mantissa) {
+        return FixedPoint.toDouble(mantissa, SCALE);
+    }
+
+    public static double quantity(long mantissa) {
+        return FixedPoint.toDouble(mantissa, SCALE);
+    }
+
+    private static double mantissa(double value) {
+        return value * FixedPoint.pow10(SCALE);
+    }
+}
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.List;
 import java.util.Map;
 
 @Getter
@@ -18,4 +19,66 @@ public class BinanceCollectorProperties {
 
     private String wsBase;
 
+    /**
+     * Keep only the latest event per symbol while a send for that symbol is in flight.
+     */
+    private boolean conflate = false;
+
+    private Depth depth = new Depth();
+
+    @Getter
+    @Setter
+    public static class Depth {
+
+        /**
+         * Keep an L2 book per symbol from the diff-depth stream and publish it to topics.depth.
+         */
+        private boolean enabled = false;
+
+        /**
+         * REST endpoint the book snapshots are loaded from.
+         */
+        private String restBase = "https://api.binance.com";
+
+        /**
+         * Levels per side of a snapshot; 1000 or more weighs on the REST rate limit.
+         */
+        private int snapshotLimit = 1_000;
+
+        /**
+         * Diff-depth stream speed, 100ms or 1000ms.
+         */
+        private String updateSpeed = "100ms";
+
+        /**
+         * Levels kept per side; worse levels of a full side are dropped.
+         */
+        private int maxLevels = 5_000;
+
+        /**
+         * Levels per side in each published snapshot.
+         */
+        private int publishLevels = 20;
+
+        /**
+         * Minimum time between published snapshots of a symbol; a change inside the interval is published
+         * when it ends. Sends in flight are conflated as well.
+         */
+        private long publishIntervalMillis = 100;
+
+        /**
+         * Distances from the mid, in basis points, the published bid and ask depth is summed over.
+         */
+        private List<Integer> depthBps = List.of(10, 50, 100);
+
+        /**
+         * Diffs buffered while a snapshot loads; older ones are dropped and show up as a gap.
+         */
+        private int maxBuffered = 10_000;
+
+        /**
+         * Minimum time between snapshot requests of a symbol, e.g. while the REST API fails.
+         */
+        private long snapshotRetryMillis = 1_000;
+    }
 }
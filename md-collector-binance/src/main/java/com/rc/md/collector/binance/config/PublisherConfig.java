@@ -0,0 +1,25 @@
+package com.rc.md.collector.binance.config;
+
+import com.rc.md.common.kafka.ConflatingEventPublisher;
+import com.rc.md.common.kafka.DirectEventPublisher;
+import com.rc.md.common.kafka.EventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+
+@Configuration
+public class PublisherConfig {
+
+    @Bean
+    public EventPublisher eventPublisher(BinanceCollectorProperties properties,
+                                         KafkaTemplate<String, String> kafkaTemplate,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${topics.normalized:md.bidask.normalized}") String topic) {
+        if (properties.isConflate()) {
+            return new ConflatingEventPublisher(kafkaTemplate, topic, meterRegistry, "binance");
+        }
+        return new DirectEventPublisher(kafkaTemplate, topic, meterRegistry, "binance");
+    }
+}
@@ -0,0 +1,397 @@
+package com.rc.md.collector.binance.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.collector.binance.book.BookSide;
+import com.rc.md.collector.binance.book.OrderBook;
+import com.rc.md.collector.binance.config.BinanceCollectorProperties;
+import com.rc.md.common.kafka.ConflatingEventPublisher;
+import com.rc.md.common.kafka.EventPublisher;
+import com.rc.md.common.metrics.CollectorMetrics;
+import com.rc.md.common.model.DepthEvent;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains an {@link OrderBook} per symbol from Binance diff-depth streams and publishes
+ * conflated snapshots with derived metrics to {@code topics.depth}, at most one per symbol every
+ * {@code publishIntervalMillis}. A change inside the interval is published when it ends.
+ * <p>
+ * Sync follows Binance's procedure: diffs are buffered while a REST snapshot loads, diffs the
+ * snapshot already contains are dropped, and the rest are replayed on top of it. A diff whose
+ * update ids do not continue the book, whether live or during replay, starts the same procedure
+ * again. Books are only published while in sync.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.collector.binance.depth", name = "enabled", havingValue = "true")
+public class BinanceDepthService {
+
+    private final BinanceCollectorProperties properties;
+    private final BinanceCollectorProperties.Depth depth;
+    private final SymbolRegistry symbolRegistry;
+    private final EventPublisher publisher;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final CollectorMetrics metrics;
+    private final int[] depthBps;
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+
+    public BinanceDepthService(BinanceCollectorProperties properties,
+                               SymbolRegistry symbolRegistry,
+                               KafkaTemplate<String, String> kafkaTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${topics.depth:md.depth}") String topic) {
+        this.properties = properties;
+        this.depth = properties.getDepth();
+        this.symbolRegistry = symbolRegistry;
+        // only the latest book of a symbol matters, so sends are always conflated
+        this.publisher = new ConflatingEventPublisher(kafkaTemplate, topic, meterRegistry, "binance-depth");
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = new ObjectMapper();
+        this.metrics = new CollectorMetrics(meterRegistry, "binance-depth");
+        this.depthBps = depth.getDepthBps().stream().mapToInt(Integer::intValue).toArray();
+        this.httpClient = HttpClient.newHttpClient();
+        this.executor = Executors.newCachedThreadPool();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "binance-depth-publish");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        Map<String, String> symbols = properties.getSymbols();
+        if (symbols == null || symbols.isEmpty()) {
+            log.warn("No Binance symbols configured under md.collector.binance.symbols, depth books will be idle.");
+            return;
+        }
+
+        symbols.forEach((binanceSymbol, internalSymbol) -> {
+            int symbolId = symbolRegistry.require(internalSymbol);
+            executor.submit(() -> connectLoop(binanceSymbol, internalSymbol, symbolId));
+        });
+
+        log.info("BinanceDepthService started for symbols: {}", symbols);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+        publisher.close();
+    }
+
+    private void connectLoop(String binanceSymbol, String internalSymbol, int symbolId) {
+        int delay = Math.max(properties.getReconnectDelaySeconds(), 1);
+        String stream = binanceSymbol.toLowerCase() + "@depth@" + depth.getUpdateSpeed();
+        while (true) {
+            try {
+                String url = properties.getWsBase() + "/" + stream;
+                log.info("Connecting to Binance depth stream {} as internal symbol {}", url, internalSymbol);
+
+                // a fresh book per connection, it syncs from a new snapshot
+                WebSocket ws = httpClient.newWebSocketBuilder()
+                        .buildAsync(URI.create(url), new DepthListener(binanceSymbol, internalSymbol, symbolId))
+                        .join();
+
+                synchronized (ws) {
+                    ws.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error in Binance depth loop for stream {} (symbol {}): {}", stream, internalSymbol, e.toString());
+            }
+
+            try {
+                log.info("Reconnecting Binance depth stream {} after {} seconds...", stream, delay);
+                Thread.sleep(delay * 1000L);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private class DepthListener implements WebSocket.Listener {
+
+        private final String binanceSymbol;
+        private final String internalSymbol;
+        private final int symbolId;
+        private final String key;
+        private final OrderBook book;
+        private final Deque<JsonNode> buffer = new ArrayDeque<>();
+        private final Counter resyncs;
+        private final StringBuilder messageBuffer = new StringBuilder();
+        private boolean snapshotPending;
+        private long lastSnapshotRequest;
+        private long lastPublish;
+        // a change was throttled and is published when the interval ends
+        private boolean publishPending;
+        private boolean publishScheduled;
+        private long pendingEventTime;
+
+        DepthListener(String binanceSymbol, String internalSymbol, int symbolId) {
+            this.binanceSymbol = binanceSymbol.toUpperCase();
+            this.internalSymbol = internalSymbol;
+            this.symbolId = symbolId;
+            this.key = Integer.toString(symbolId);
+            this.book = new OrderBook(depth.getMaxLevels());
+            this.resyncs = Counter.builder("md.collector.depth.resyncs")
+                    .description("Update id gaps that forced a book to reload from a snapshot")
+                    .tag("symbol", internalSymbol)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            log.info("Binance depth WebSocket opened for {} (symbol {})", binanceSymbol, internalSymbol);
+            WebSocket.Listener.super.onOpen(webSocket);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            messageBuffer.append(data);
+            if (last) {
+                String json = messageBuffer.toString();
+                messageBuffer.setLength(0);
+                handleMessage(json);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void handleMessage(String json) {
+            metrics.message();
+            long start = System.nanoTime();
+            try {
+                JsonNode node = objectMapper.readTree(json);
+                if (!node.has("U") || !node.has("u")) {
+                    log.debug("Skipping message without update ids: {}", json);
+                    return;
+                }
+                synchronized (this) {
+                    onDiff(node);
+                }
+                metrics.parse().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                metrics.parseFailure();
+                log.warn("Failed to handle Binance depth message: {}", e.toString());
+            }
+        }
+
+        private void onDiff(JsonNode diff) {
+            if (!book.isSynced()) {
+                if (buffer.size() >= depth.getMaxBuffered()) {
+                    buffer.pollFirst();
+                }
+                buffer.addLast(diff);
+                requestSnapshot();
+                return;
+            }
+            if (apply(diff)) {
+                publish(diff.path("E").asLong());
+            }
+        }
+
+        /**
+         * @return whether the diff changed the book; on a gap the diff is buffered and a resync started
+         */
+        private boolean apply(JsonNode diff) {
+            long first = diff.get("U").asLong();
+            long last = diff.get("u").asLong();
+            switch (book.check(first, last)) {
+                case STALE:
+                    return false;
+                case GAP:
+                    resyncs.increment();
+                    log.warn("Update id gap in {} book: have {}, got {}..{}, reloading snapshot",
+                            internalSymbol, book.lastUpdateId(), first, last);
+                    book.invalidate();
+                    buffer.addFirst(diff);
+                    requestSnapshot();
+                    return false;
+                default:
+                    levels(diff.get("b"), book.bids());
+                    levels(diff.get("a"), book.asks());
+                    book.applied(last);
+                    return true;
+            }
+        }
+
+        private void levels(JsonNode levels, BookSide side) {
+            if (levels == null) {
+                return;
+            }
+            for (JsonNode level : levels) {
+                side.update(FixedPoint.parse(level.get(0).asText(), OrderBook.SCALE),
+                        FixedPoint.parse(level.get(1).asText(), OrderBook.SCALE));
+            }
+        }
+
+        private void requestSnapshot() {
+            long now = System.currentTimeMillis();
+            if (snapshotPending || now - lastSnapshotRequest < depth.getSnapshotRetryMillis()) {
+                return;
+            }
+            snapshotPending = true;
+            lastSnapshotRequest = now;
+            CompletableFuture.supplyAsync(this::fetchSnapshot, executor).whenComplete((snapshot, ex) -> {
+                synchronized (this) {
+                    snapshotPending = false;
+                    if (ex != null) {
+                        log.warn("Failed to load {} depth snapshot: {}", binanceSymbol, ex.toString());
+                        return;
+                    }
+                    onSnapshot(snapshot);
+                }
+            });
+        }
+
+        private JsonNode fetchSnapshot() {
+            URI uri = URI.create(depth.getRestBase() + "/api/v3/depth?symbol=" + binanceSymbol
+                    + "&limit=" + depth.getSnapshotLimit());
+            try {
+                HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+                }
+                return objectMapper.readTree(response.body());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading snapshot", e);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void onSnapshot(JsonNode snapshot) {
+            long lastUpdateId = snapshot.get("lastUpdateId").asLong();
+            JsonNode oldest = buffer.peekFirst();
+            if (oldest != null && lastUpdateId < oldest.get("U").asLong() - 1) {
+                // older than every buffered diff, the next diff requests a newer one
+                log.debug("{} snapshot {} predates buffered diffs from {}", binanceSymbol, lastUpdateId,
+                        oldest.get("U").asLong());
+                return;
+            }
+            book.reset(lastUpdateId);
+            levels(snapshot.get("bids"), book.bids());
+            levels(snapshot.get("asks"), book.asks());
+            log.info("{} book loaded at update id {} with {} bids and {} asks, replaying {} buffered diffs",
+                    internalSymbol, lastUpdateId, book.bids().size(), book.asks().size(), buffer.size());
+
+            JsonNode diff;
+            long eventTime = 0;
+            while ((diff = buffer.pollFirst()) != null) {
+                apply(diff);
+                if (!book.isSynced()) {
+                    return;
+                }
+                eventTime = Math.max(eventTime, diff.path("E").asLong());
+            }
+            publish(eventTime);
+        }
+
+        private void publish(long eventTime) {
+            if (!book.hasTop()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long wait = lastPublish + depth.getPublishIntervalMillis() - now;
+            if (wait > 0) {
+                publishPending = true;
+                pendingEventTime = Math.max(pendingEventTime, eventTime);
+                if (!publishScheduled) {
+                    publishScheduled = true;
+                    scheduler.schedule(this::publishTrailing, wait, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+            lastPublish = now;
+            publishPending = false;
+            pendingEventTime = 0;
+
+            double[] bidDepth = new double[depthBps.length];
+            double[] askDepth = new double[depthBps.length];
+            for (int i = 0; i < depthBps.length; i++) {
+                bidDepth[i] = book.bidDepth(depthBps[i]);
+                askDepth[i] = book.askDepth(depthBps[i]);
+            }
+            DepthEvent event = new DepthEvent(symbolId, eventTime > 0 ? eventTime : now, book.lastUpdateId(),
+                    top(book.bids()), top(book.asks()), book.microprice(), depthBps, bidDepth, askDepth);
+            try {
+                publisher.publish(key, objectMapper.writeValueAsString(event));
+            } catch (Exception e) {
+                log.warn("Failed to publish {} depth snapshot: {}", internalSymbol, e.toString());
+            }
+        }
+
+        private void publishTrailing() {
+            synchronized (this) {
+                publishScheduled = false;
+                if (publishPending && book.isSynced()) {
+                    publish(pendingEventTime);
+                }
+            }
+        }
+
+        private double[][] top(BookSide side) {
+            int n = Math.min(depth.getPublishLevels(), side.size());
+            double[][] levels = new double[n][];
+            for (int i = 0; i < n; i++) {
+                levels[i] = new double[]{OrderBook.price(side.price(i)), OrderBook.quantity(side.quantity(i))};
+            }
+            return levels;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            log.error("Depth WebSocket error for {} (symbol {}): {}", binanceSymbol, internalSymbol, error.toString());
+            synchronized (webSocket) {
+                webSocket.notifyAll();
+            }
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            log.info("Depth WebSocket closed for {} (symbol {}): status={} reason={}",
+                    binanceSymbol, internalSymbol, statusCode, reason);
+            synchronized (webSocket) {
+                webSocket.notifyAll();
+            }
+            return null;
+        }
+    }
+}
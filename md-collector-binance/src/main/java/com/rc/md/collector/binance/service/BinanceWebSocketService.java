@@ -3,11 +3,14 @@ package com.rc.md.collector.binance.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rc.md.collector.binance.config.BinanceCollectorProperties;
+import com.rc.md.common.jfr.CollectorMessageEvent;
+import com.rc.md.common.kafka.EventPublisher;
+import com.rc.md.common.metrics.CollectorMetrics;
 import com.rc.md.common.model.BidAskEvent;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.producer.ProducerRecord;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
@@ -21,26 +24,30 @@ import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class BinanceWebSocketService {
 
-    @Value("${topics.normalized:md.bidask.normalized}")
-    private String topic;
-
     private final BinanceCollectorProperties properties;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final EventPublisher eventPublisher;
+    private final SymbolRegistry symbolRegistry;
     private final ObjectMapper objectMapper;
+    private final CollectorMetrics metrics;
 
     private final HttpClient httpClient;
     private final ExecutorService executor;
 
     public BinanceWebSocketService(BinanceCollectorProperties properties,
-                                   KafkaTemplate<String, String> kafkaTemplate) {
+                                   EventPublisher eventPublisher,
+                                   SymbolRegistry symbolRegistry,
+                                   MeterRegistry meterRegistry) {
         this.properties = properties;
-        this.kafkaTemplate = kafkaTemplate;
+        this.eventPublisher = eventPublisher;
+        this.symbolRegistry = symbolRegistry;
         this.objectMapper = new ObjectMapper();
+        this.metrics = new CollectorMetrics(meterRegistry, "binance");
         this.httpClient = HttpClient.newHttpClient();
         this.executor = Executors.newCachedThreadPool();
     }
@@ -55,13 +62,14 @@ public class BinanceWebSocketService {
 
         symbols.forEach((binanceSymbol, internalSymbol) -> {
             String stream = binanceSymbol.toLowerCase() + "@bookTicker";
-            executor.submit(() -> connectLoop(stream, internalSymbol));
+            int symbolId = symbolRegistry.require(internalSymbol);
+            executor.submit(() -> connectLoop(stream, internalSymbol, symbolId));
         });
 
         log.info("BinanceWebSocketService started for symbols: {}", symbols);
     }
 
-    private void connectLoop(String stream, String internalSymbol) {
+    private void connectLoop(String stream, String internalSymbol, int symbolId) {
         int delay = Math.max(properties.getReconnectDelaySeconds(), 1);
         while (true) {
             try {
@@ -69,7 +77,7 @@ public class BinanceWebSocketService {
                 log.info("Connecting to Binance stream {} as internal symbol {}", url, internalSymbol);
 
                 WebSocket ws = httpClient.newWebSocketBuilder()
-                        .buildAsync(URI.create(url), new WebSocketListener(stream, internalSymbol))
+                        .buildAsync(URI.create(url), new WebSocketListener(stream, internalSymbol, symbolId))
                         .join();
 
                 // Block until completion; listener handles lifecycle.
@@ -96,11 +104,17 @@ public class BinanceWebSocketService {
 
         private final String stream;
         private final String internalSymbol;
+        private final int symbolId;
+        private final String key;
+        private final int scale;
         private final StringBuilder messageBuffer = new StringBuilder();
 
-        WebSocketListener(String stream, String internalSymbol) {
+        WebSocketListener(String stream, String internalSymbol, int symbolId) {
             this.stream = stream;
             this.internalSymbol = internalSymbol;
+            this.symbolId = symbolId;
+            this.key = Integer.toString(symbolId);
+            this.scale = symbolRegistry.scale(symbolId);
         }
 
         @Override
@@ -122,6 +136,10 @@ public class BinanceWebSocketService {
         }
 
         private void handleMessage(String json) {
+            metrics.message();
+            CollectorMessageEvent jfr = new CollectorMessageEvent();
+            jfr.begin();
+            long start = System.nanoTime();
             try {
                 JsonNode node = objectMapper.readTree(json);
 
@@ -137,8 +155,6 @@ public class BinanceWebSocketService {
                     return;
                 }
 
-                double bid = Double.parseDouble(bidNode.asText());
-                double ask = Double.parseDouble(askNode.asText());
                 JsonNode timeNode = node.get("T"); // Binance event time in ms
                 long ts;
                 if (timeNode != null && !timeNode.isNull()) {
@@ -147,16 +163,26 @@ public class BinanceWebSocketService {
                     ts = Instant.now().getEpochSecond(); // fallback
                 }
 
-                BidAskEvent event = new BidAskEvent(internalSymbol, bid, ask, ts);
+                // Binance sends prices as decimal strings, fixed-point mode parses them without a double
+                BidAskEvent event = symbolRegistry.isFixedPoint()
+                        ? BidAskEvent.fixed(symbolId,
+                                FixedPoint.parse(bidNode.asText(), scale), FixedPoint.parse(askNode.asText(), scale), ts)
+                        : new BidAskEvent(symbolId,
+                                Double.parseDouble(bidNode.asText()), Double.parseDouble(askNode.asText()), ts);
                 String payload = objectMapper.writeValueAsString(event);
+                metrics.parse().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-                log.info("Sending message to Kafka: {}", payload);
-
-                ProducerRecord<String, String> record =
-                        new ProducerRecord<>(topic, internalSymbol, payload);
+                log.debug("Sending message to Kafka: {}", payload);
 
-                kafkaTemplate.send(record);
+                eventPublisher.publish(key, payload);
+                jfr.end();
+                if (jfr.shouldCommit()) {
+                    jfr.collector = "binance";
+                    jfr.symbol = internalSymbol;
+                    jfr.commit();
+                }
             } catch (Exception e) {
+                metrics.parseFailure();
                 log.warn("Failed to handle Binance message: {}", e.toString());
             }
         }
@@ -0,0 +1,94 @@
+package com.rc.md.collector.binance.unit;
+
+import com.rc.md.collector.binance.book.BookSide;
+import com.rc.md.collector.binance.book.OrderBook;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class OrderBookTest {
+
+    private static final long ONE = 100_000_000L;
+
+    @Test
+    void sidesKeepLevelsSortedBestFirst() {
+        OrderBook book = new OrderBook(10);
+        BookSide bids = book.bids();
+        bids.update(100 * ONE, 1 * ONE);
+        bids.update(102 * ONE, 2 * ONE);
+        bids.update(101 * ONE, 3 * ONE);
+        BookSide asks = book.asks();
+        asks.update(105 * ONE, 1 * ONE);
+        asks.update(103 * ONE, 2 * ONE);
+
+        assertThat(bids.size()).isEqualTo(3);
+        assertThat(bids.price(0)).isEqualTo(102 * ONE);
+        assertThat(bids.price(2)).isEqualTo(100 * ONE);
+        assertThat(asks.price(0)).isEqualTo(103 * ONE);
+
+        bids.update(102 * ONE, 0);
+        bids.update(101 * ONE, 7 * ONE);
+        bids.update(99 * ONE, 0);
+
+        assertThat(bids.size()).isEqualTo(2);
+        assertThat(bids.price(0)).isEqualTo(101 * ONE);
+        assertThat(bids.quantity(0)).isEqualTo(7 * ONE);
+    }
+
+    @Test
+    void fullSideDropsItsWorstLevel() {
+        OrderBook book = new OrderBook(3);
+        BookSide asks = book.asks();
+        asks.update(10 * ONE, ONE);
+        asks.update(11 * ONE, ONE);
+        asks.update(12 * ONE, ONE);
+
+        asks.update(13 * ONE, ONE);
+        asks.update(9 * ONE, ONE);
+
+        assertThat(asks.size()).isEqualTo(3);
+        assertThat(asks.price(0)).isEqualTo(9 * ONE);
+        assertThat(asks.price(2)).isEqualTo(11 * ONE);
+    }
+
+    @Test
+    void diffsMustContinueTheSnapshotAndEachOther() {
+        OrderBook book = new OrderBook(10);
+        assertThat(book.check(1, 5)).isEqualTo(OrderBook.Sequence.GAP);
+
+        book.reset(100);
+        assertThat(book.check(90, 100)).isEqualTo(OrderBook.Sequence.STALE);
+        // the first diff only has to span the snapshot's next id
+        assertThat(book.check(95, 110)).isEqualTo(OrderBook.Sequence.APPLY);
+        book.applied(110);
+
+        assertThat(book.check(111, 115)).isEqualTo(OrderBook.Sequence.APPLY);
+        book.applied(115);
+        assertThat(book.check(117, 120)).isEqualTo(OrderBook.Sequence.GAP);
+
+        book.invalidate();
+        assertThat(book.isSynced()).isFalse();
+        assertThat(book.bids().size()).isZero();
+    }
+
+    @Test
+    void derivesMicropriceAndDepthAroundTheMid() {
+        OrderBook book = new OrderBook(10);
+        book.reset(1);
+        book.bids().update(100 * ONE, 3 * ONE);
+        book.bids().update(99 * ONE, 5 * ONE);
+        book.bids().update(90 * ONE, 50 * ONE);
+        book.asks().update(101 * ONE, 1 * ONE);
+        book.asks().update(102 * ONE, 4 * ONE);
+
+        assertThat(book.mid()).isEqualTo(100.5);
+        // more size on the bid pushes the fair price towards the ask
+        assertThat(book.microprice()).isCloseTo((100 * 1 + 101 * 3) / 4.0, within(1e-12));
+        // 100 bps around 100.5 reaches down to 99.495 and up to 101.505
+        assertThat(book.bidDepth(100)).isEqualTo(3.0);
+        assertThat(book.askDepth(100)).isEqualTo(1.0);
+        assertThat(book.bidDepth(200)).isEqualTo(8.0);
+        assertThat(book.askDepth(200)).isEqualTo(5.0);
+    }
+}
@@ -0,0 +1,16 @@
+package com.rc.md.collector.replay;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+public class ReplayApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReplayApplication.class, args);
+    }
+}
@@ -0,0 +1,21 @@
+package com.rc.md.collector.replay.config;
+
+import com.rc.md.common.kafka.DirectEventPublisher;
+import com.rc.md.common.kafka.EventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+
+@Configuration
+public class PublisherConfig {
+
+    // Replays are never conflated: every captured tick is sent, in journal order.
+    @Bean
+    public EventPublisher eventPublisher(KafkaTemplate<String, String> kafkaTemplate,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${topics.normalized:md.bidask.normalized}") String topic) {
+        return new DirectEventPublisher(kafkaTemplate, topic, meterRegistry, "replay");
+    }
+}
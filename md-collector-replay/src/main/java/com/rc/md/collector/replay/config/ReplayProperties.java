@@ -0,0 +1,75 @@
+package com.rc.md.collector.replay.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.collector.replay")
+public class ReplayProperties {
+
+    /**
+     * CAPTURE: append every event of the normalized topic to the journal.
+     * REPLAY: stream the journal back into the normalized topic, then exit.
+     */
+    private Mode mode = Mode.REPLAY;
+
+    /**
+     * Directory holding the journal segments.
+     */
+    private String journalDir = "journal";
+
+    /**
+     * Replay speed relative to capture time: "1" (real time), "10" (10x faster) or "max" (no pacing).
+     */
+    private String speed = "1";
+
+    /**
+     * Shift event timestamps so the first replayed event carries the current time.
+     */
+    private boolean rebaseTimestamps = false;
+
+    /**
+     * Size of each journal segment file in MB (CAPTURE mode).
+     */
+    private int segmentSizeMb = 64;
+
+    /**
+     * Number of newest segments to keep, 0 keeps all (CAPTURE mode).
+     */
+    private int retainSegments = 0;
+
+    /**
+     * How often the current segment is forced to disk (CAPTURE mode).
+     */
+    private int flushIntervalSeconds = 5;
+
+    /**
+     * Consumer group of the capturing listener, separate from the aggregator's group.
+     */
+    private String captureGroup = "md-tick-capture";
+
+    /**
+     * Speed as a multiplier, 0 meaning as fast as possible.
+     */
+    public double speedFactor() {
+        String s = speed.trim().toLowerCase();
+        if (s.equals("max")) {
+            return 0;
+        }
+        if (s.endsWith("x")) {
+            s = s.substring(0, s.length() - 1);
+        }
+        double factor = Double.parseDouble(s);
+        if (factor <= 0) {
+            throw new IllegalArgumentException("md.collector.replay.speed must be > 0 or 'max': " + speed);
+        }
+        return factor;
+    }
+
+    public enum Mode {
+        CAPTURE,
+        REPLAY
+    }
+}
@@ -0,0 +1,113 @@
+package com.rc.md.collector.replay.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.collector.replay.config.ReplayProperties;
+import com.rc.md.common.journal.TickJournalReader;
+import com.rc.md.common.kafka.EventPublisher;
+import com.rc.md.common.model.BidAskEvent;
+import com.rc.md.common.model.FixedPoint;
+import com.rc.md.common.symbol.SymbolRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams a captured journal back into the normalized topic.
+ * <p>
+ * Ticks are sent from a single thread in journal order and keyed by symbol, so per-symbol
+ * ordering is preserved by the partition they land on.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.collector.replay", name = "mode", havingValue = "replay", matchIfMissing = true)
+public class ReplayRunner implements CommandLineRunner {
+
+    private final ReplayProperties properties;
+    private final EventPublisher eventPublisher;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final SymbolRegistry symbolRegistry;
+    private final ApplicationContext context;
+    private final ObjectMapper objectMapper;
+
+    private long startNanos;
+    private long firstCaptureMillis = -1;
+    private long timestampShift;
+    private long skipped;
+
+    public ReplayRunner(ReplayProperties properties,
+                        EventPublisher eventPublisher,
+                        KafkaTemplate<String, String> kafkaTemplate,
+                        SymbolRegistry symbolRegistry,
+                        ApplicationContext context) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.kafkaTemplate = kafkaTemplate;
+        this.symbolRegistry = symbolRegistry;
+        this.context = context;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path dir = Path.of(properties.getJournalDir());
+        double speed = properties.speedFactor();
+        log.info("Starting replay: journalDir={}, segments={}, speed={}, rebaseTimestamps={}",
+                dir.toAbsolutePath(), TickJournalReader.segments(dir).size(),
+                speed == 0 ? "max" : speed + "x", properties.isRebaseTimestamps());
+
+        startNanos = System.nanoTime();
+        long count = new TickJournalReader(dir).read((captureMillis, symbol, bid, ask, timestamp) ->
+                replay(captureMillis, symbol, bid, ask, timestamp, speed));
+        kafkaTemplate.flush();
+
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        log.info("Replay completed: events={}, skipped={}, seconds={}, rate={}/s",
+                count, skipped, String.format("%.3f", seconds), String.format("%.0f", count / Math.max(seconds, 1e-9)));
+
+        // exit after replay so it behaves like a CLI
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private void replay(long captureMillis, String symbol, double bid, double ask, long timestamp, double speed) {
+        if (firstCaptureMillis < 0) {
+            firstCaptureMillis = captureMillis;
+            if (properties.isRebaseTimestamps()) {
+                timestampShift = System.currentTimeMillis() / 1000 - timestamp;
+            }
+        }
+
+        if (speed > 0) {
+            long due = startNanos + (long) ((captureMillis - firstCaptureMillis) * 1_000_000L / speed);
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+
+        int symbolId = symbolRegistry.id(symbol);
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            if (skipped++ == 0) {
+                log.warn("Skipping ticks of symbols missing from the registry, first: {}", symbol);
+            }
+            return;
+        }
+        long ts = timestamp + timestampShift;
+        int scale = symbolRegistry.scale(symbolId);
+        BidAskEvent out = symbolRegistry.isFixedPoint()
+                ? BidAskEvent.fixed(symbolId, FixedPoint.toMantissa(bid, scale), FixedPoint.toMantissa(ask, scale), ts)
+                : new BidAskEvent(symbolId, bid, ask, ts);
+        try {
+            eventPublisher.publish(Integer.toString(symbolId), objectMapper.writeValueAsString(out));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize event", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.rc.md.collector.replay.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.collector.replay.config.ReplayProperties;
+import com.rc.md.common.journal.TickJournalWriter;
+import com.rc.md.common.model.BidAskEvent;
+import com.rc.md.common.symbol.SymbolRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every normalized event to the tick journal.
+ * <p>
+ * The Kafka record timestamp is kept as capture time, so a replay reproduces the original
+ * inter-arrival gaps. Symbols are journaled by name so a journal stays readable when ids are
+ * reassigned. Runs in its own consumer group and never affects the aggregator's offsets.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.collector.replay", name = "mode", havingValue = "capture")
+public class TickCaptureListener {
+
+    private final ObjectMapper objectMapper;
+    private final TickJournalWriter writer;
+    private final SymbolRegistry symbolRegistry;
+    private long captured;
+
+    public TickCaptureListener(ReplayProperties properties, SymbolRegistry symbolRegistry) throws IOException {
+        this.objectMapper = new ObjectMapper();
+        this.symbolRegistry = symbolRegistry;
+        Path dir = Path.of(properties.getJournalDir());
+        this.writer = new TickJournalWriter(dir, properties.getSegmentSizeMb() * 1024 * 1024,
+                properties.getRetainSegments());
+        log.info("Capturing ticks into {}", dir.toAbsolutePath());
+    }
+
+    @KafkaListener(
+            topics = "${topics.normalized:md.bidask.normalized}",
+            groupId = "${md.collector.replay.capture-group:md-tick-capture}"
+    )
+    public synchronized void onMessage(ConsumerRecord<String, String> record) {
+        try {
+            BidAskEvent event = objectMapper.readValue(record.value(), BidAskEvent.class);
+            String symbol = symbolRegistry.name(event.symbolId());
+            if (symbol == null) {
+                log.warn("Skipping event with unregistered symbol id {}", event.symbolId());
+                return;
+            }
+            int scale = symbolRegistry.scale(event.symbolId());
+            writer.append(record.timestamp(), symbol, event.bid(scale), event.ask(scale), event.timestamp());
+            captured++;
+        } catch (Exception e) {
+            log.error("Failed to capture record: {}", record.value(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${md.collector.replay.flush-interval-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public synchronized void flush() {
+        writer.flush();
+        log.debug("Tick journal flushed: captured={}, segment={}", captured, writer.currentSegment());
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        writer.close();
+        log.info("Tick capture stopped after {} events", captured);
+    }
+}
@@ -16,4 +16,53 @@ public class SimulatorProperties {
     private int targetRatePerSymbol;
     private int workerThreads;
 
+    /**
+     * Keep only the latest event per symbol while a send for that symbol is in flight.
+     */
+    private boolean conflate = false;
+
+    /**
+     * LEGACY: one loop per symbol with a random sleep.
+     * PACED: a few scheduler threads drive an exact aggregate event rate.
+     */
+    private Mode mode = Mode.LEGACY;
+
+    /**
+     * Seed for the per-symbol random streams (PACED mode).
+     */
+    private long seed = 42L;
+
+    /**
+     * Number of scheduler threads sharing the symbols (PACED mode).
+     */
+    private int schedulerThreads = 2;
+
+    /**
+     * Total events per second across all symbols (PACED mode).
+     * When 0, targetRatePerSymbol * number of symbols is used.
+     */
+    private long targetAggregateRate = 0;
+
+    /**
+     * Number of generated symbols added on top of {@link #symbols} (PACED mode), the first ids of
+     * the {@link #syntheticRange} range of md.symbols, which also defines their names.
+     */
+    private int syntheticSymbols = 0;
+
+    /**
+     * Prefix of the md.symbols range the synthetic symbols are taken from.
+     */
+    private String syntheticRange = "SIM-";
+    private double syntheticBasePrice = 100.0;
+
+    /**
+     * Decimal places bid/ask prices are rounded to. In fixed-point mode the symbol's scale from
+     * md.symbols is used instead.
+     */
+    private int priceDecimals = 2;
+
+    public enum Mode {
+        LEGACY,
+        PACED
+    }
 }
@@ -0,0 +1,209 @@
+package com.rc.md.collector.simulator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.collector.simulator.config.SimulatorProperties;
+import com.rc.md.common.jfr.CollectorMessageEvent;
+import com.rc.md.common.kafka.EventPublisher;
+import com.rc.md.common.metrics.CollectorMetrics;
+import com.rc.md.common.model.BidAskEvent;
+import com.rc.md.common.symbol.SymbolProperties;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an exact aggregate event rate from a small, fixed number of scheduler threads.
+ * <p>
+ * Symbols are split round-robin across the threads; each thread emits its symbols in turn and
+ * paces itself against a start-relative schedule, so short stalls are caught up instead of
+ * lowering the rate. Every symbol gets its own random stream split from {@code seed}, which makes
+ * the price path of each symbol reproducible regardless of thread count.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "md.collector.simulator", name = "mode", havingValue = "paced")
+public class PacedSimulator {
+
+    private static final long MAX_PARK_NANOS = 50_000L;
+    private static final long REPORT_INTERVAL_MILLIS = 10_000L;
+
+    private final SimulatorProperties properties;
+    private final EventPublisher eventPublisher;
+    private final SymbolRegistry symbolRegistry;
+    private final ObjectMapper objectMapper;
+    private final CollectorMetrics metrics;
+    private final boolean fixedPoint;
+    private final LongAdder emitted = new LongAdder();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public PacedSimulator(SimulatorProperties properties,
+                          EventPublisher eventPublisher,
+                          SymbolRegistry symbolRegistry,
+                          MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.symbolRegistry = symbolRegistry;
+        this.objectMapper = new ObjectMapper();
+        this.metrics = new CollectorMetrics(meterRegistry, "simulator");
+        this.fixedPoint = symbolRegistry.isFixedPoint();
+    }
+
+    @PostConstruct
+    public void start() {
+        List<QuoteGenerator> generators = buildGenerators();
+        if (generators.isEmpty()) {
+            log.warn("No simulator symbols configured, paced simulator will be idle.");
+            return;
+        }
+
+        long aggregateRate = properties.getTargetAggregateRate() > 0
+                ? properties.getTargetAggregateRate()
+                : (long) properties.getTargetRatePerSymbol() * generators.size();
+        if (aggregateRate <= 0) {
+            throw new IllegalStateException(
+                    "md.collector.simulator.targetAggregateRate or targetRatePerSymbol must be > 0 in PACED mode");
+        }
+
+        int threadCount = Math.max(1, Math.min(properties.getSchedulerThreads(), generators.size()));
+        // Every symbol ticks once per (symbols / aggregateRate) seconds.
+        double deltaT = generators.size() / (double) aggregateRate;
+
+        for (int k = 0; k < threadCount; k++) {
+            List<QuoteGenerator> owned = new ArrayList<>();
+            for (int i = k; i < generators.size(); i += threadCount) {
+                owned.add(generators.get(i));
+            }
+            double threadRate = aggregateRate * owned.size() / (double) generators.size();
+            QuoteGenerator[] ownedArray = owned.toArray(new QuoteGenerator[0]);
+            Thread t = new Thread(() -> runScheduler(ownedArray, threadRate, deltaT), "sim-scheduler-" + k);
+            t.setDaemon(true);
+            threads.add(t);
+        }
+
+        Thread reporter = new Thread(() -> report(aggregateRate), "sim-reporter");
+        reporter.setDaemon(true);
+        threads.add(reporter);
+        threads.forEach(Thread::start);
+
+        log.info("Paced simulator started: symbols={}, aggregateRate={}/s, schedulerThreads={}, seed={}",
+                generators.size(), aggregateRate, threadCount, properties.getSeed());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread t : threads) {
+            t.join(1000);
+        }
+    }
+
+    private List<QuoteGenerator> buildGenerators() {
+        SplittableRandom root = new SplittableRandom(properties.getSeed());
+        List<QuoteGenerator> generators = new ArrayList<>();
+        if (properties.getSymbols() != null) {
+            for (Map.Entry<String, Double> e : properties.getSymbols().entrySet()) {
+                int id = symbolRegistry.require(e.getKey());
+                generators.add(new QuoteGenerator(id, e.getKey(), e.getValue(), root.split(), decimals(id)));
+            }
+        }
+        int synthetic = properties.getSyntheticSymbols();
+        if (synthetic > 0) {
+            SymbolProperties.Range range = symbolRegistry.range(properties.getSyntheticRange());
+            if (range == null || synthetic > range.getCount()) {
+                throw new IllegalStateException("md.collector.simulator.syntheticSymbols=" + synthetic
+                        + " needs an md.symbols range " + properties.getSyntheticRange() + " of at least that many ids");
+            }
+            for (int i = 0; i < synthetic; i++) {
+                int id = range.getFirstId() + i;
+                generators.add(new QuoteGenerator(id, symbolRegistry.name(id), properties.getSyntheticBasePrice(),
+                        root.split(), decimals(id)));
+            }
+        }
+        return generators;
+    }
+
+    private int decimals(int symbolId) {
+        return symbolRegistry.isFixedPoint() ? symbolRegistry.scale(symbolId) : properties.getPriceDecimals();
+    }
+
+    private void runScheduler(QuoteGenerator[] owned, double rate, double deltaT) {
+        double periodNanos = 1_000_000_000.0 / rate;
+        long parkNanos = Math.max(1L, Math.min(MAX_PARK_NANOS, (long) periodNanos));
+        long start = System.nanoTime();
+        long sent = 0;
+        int next = 0;
+
+        while (running) {
+            long due = (long) ((System.nanoTime() - start) / periodNanos) + 1;
+            if (sent >= due) {
+                LockSupport.parkNanos(parkNanos);
+                continue;
+            }
+
+            long ts = System.currentTimeMillis() / 1000;
+            long batch = due - sent;
+            for (long n = 0; n < batch && running; n++) {
+                emit(owned[next], deltaT, ts);
+                if (++next == owned.length) {
+                    next = 0;
+                }
+            }
+            sent += batch;
+            emitted.add(batch);
+        }
+    }
+
+    private void emit(QuoteGenerator quotes, double deltaT, long ts) {
+        CollectorMessageEvent jfr = new CollectorMessageEvent();
+        jfr.begin();
+        quotes.next(deltaT);
+        metrics.message();
+        BidAskEvent event = quotes.event(ts, fixedPoint);
+        try {
+            eventPublisher.publish(quotes.key(), objectMapper.writeValueAsString(event));
+            jfr.end();
+            if (jfr.shouldCommit()) {
+                jfr.collector = "simulator";
+                jfr.symbol = quotes.symbol();
+                jfr.commit();
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize event", e);
+        } catch (Exception e) {
+            log.error("Unexpected error publishing simulator event", e);
+        }
+    }
+
+    private void report(long targetRate) {
+        long last = 0;
+        long lastNanos = System.nanoTime();
+        while (running) {
+            try {
+                Thread.sleep(REPORT_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long total = emitted.sum();
+            long now = System.nanoTime();
+            double rate = (total - last) * 1_000_000_000.0 / (now - lastNanos);
+            log.info("Simulator rate: actual={}/s, target={}/s, total={}",
+                    String.format("%.0f", rate), targetRate, total);
+            last = total;
+            lastNanos = now;
+        }
+    }
+}
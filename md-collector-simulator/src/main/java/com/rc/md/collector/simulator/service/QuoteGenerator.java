@@ -0,0 +1,76 @@
+package com.rc.md.collector.simulator.service;
+
+import com.rc.md.common.model.BidAskEvent;
+
+import java.util.SplittableRandom;
+
+/**
+ * Geometric Brownian Motion quote model for a single symbol.
+ * <p>
+ * Each instance owns its random stream, so a generator must only be driven by one thread at a
+ * time and the sequence of quotes for a symbol is reproducible from its seed.
+ */
+public class QuoteGenerator {
+
+    private static final double MU = 0.1;
+    private static final double SIGMA = 0.2; // volatility
+    private static final double BASE_SPREAD = 0.0015;
+    private static final double SPREAD_NOISE = 0.0001;
+
+    private final int symbolId;
+    private final String symbol;
+    private final String key;
+    private final SplittableRandom random;
+    private final double priceFactor;
+    private double midPrice;
+    private long bidPx;
+    private long askPx;
+    private double bid;
+    private double ask;
+
+    public QuoteGenerator(int symbolId, String symbol, double initialPrice, SplittableRandom random, int priceDecimals) {
+        this.symbolId = symbolId;
+        this.symbol = symbol;
+        this.key = Integer.toString(symbolId);
+        this.midPrice = initialPrice;
+        this.random = random;
+        this.priceFactor = Math.pow(10, priceDecimals);
+    }
+
+    /**
+     * Advances the mid price by {@code deltaT} seconds and derives a new bid/ask around it.
+     */
+    public void next(double deltaT) {
+        // 1. --- Update Mid-Price (Geometric Brownian Motion) ---
+        double z = random.nextGaussian();
+        double exponent = (MU - (SIGMA * SIGMA / 2)) * deltaT + SIGMA * Math.sqrt(deltaT) * z;
+        double mid = midPrice * Math.exp(exponent);
+
+        // 2. --- Calculate the Bid-Ask Spread ---
+        double totalSpreadFraction = BASE_SPREAD + random.nextDouble() * SPREAD_NOISE;
+        double spread = mid * totalSpreadFraction;
+
+        // 3. --- Determine Bid and Ask, rounded to the configured tick ---
+        askPx = Math.round((mid + spread / 2.0) * priceFactor);
+        bidPx = Math.round((mid - spread / 2.0) * priceFactor);
+        ask = askPx / priceFactor;
+        bid = bidPx / priceFactor;
+        midPrice = (bid + ask) / 2.0;
+    }
+
+    public int symbolId() { return symbolId; }
+    public String symbol() { return symbol; }
+    /** Kafka record key, the symbol id as text. */
+    public String key() { return key; }
+    public double bid() { return bid; }
+    public double ask() { return ask; }
+
+    /**
+     * The current quote, with mantissas in {@code priceDecimals} when {@code fixedPoint}.
+     */
+    public BidAskEvent event(long timestamp, boolean fixedPoint) {
+        return fixedPoint
+                ? BidAskEvent.fixed(symbolId, bidPx, askPx, timestamp)
+                : new BidAskEvent(symbolId, bid, ask, timestamp);
+    }
+}
@@ -0,0 +1,157 @@
+package com.rc.md.collector.simulator.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.collector.simulator.config.SimulatorProperties;
+import com.rc.md.collector.simulator.service.PacedSimulator;
+import com.rc.md.common.kafka.EventPublisher;
+import com.rc.md.common.model.BidAskEvent;
+import com.rc.md.common.symbol.SymbolProperties;
+import com.rc.md.common.symbol.SymbolRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PacedSimulatorTest {
+
+    /**
+     * Records every published quote per key.
+     */
+    private static class RecordingPublisher implements EventPublisher {
+        final Map<String, List<BidAskEvent>> events = new ConcurrentHashMap<>();
+        final AtomicLong count = new AtomicLong();
+        private final ObjectMapper mapper = new ObjectMapper();
+
+        @Override
+        public void publish(String key, String payload) {
+            try {
+                BidAskEvent event = mapper.readValue(payload, BidAskEvent.class);
+                List<BidAskEvent> list = events.computeIfAbsent(key, k -> new ArrayList<>());
+                synchronized (list) {
+                    list.add(event);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            count.incrementAndGet();
+        }
+
+        List<BidAskEvent> first(String key, int n) {
+            List<BidAskEvent> list = events.getOrDefault(key, List.of());
+            synchronized (list) {
+                return List.copyOf(list.subList(0, Math.min(n, list.size())));
+            }
+        }
+    }
+
+    private final List<PacedSimulator> started = new ArrayList<>();
+
+    @AfterEach
+    void stop() throws Exception {
+        for (PacedSimulator simulator : started) {
+            simulator.stop();
+        }
+    }
+
+    @Test
+    void usesTheWholeConfiguredRange() throws Exception {
+        RecordingPublisher publisher = new RecordingPublisher();
+        SimulatorProperties properties = properties(100_000, 1_000, 1);
+
+        start(properties, publisher);
+        waitFor(() -> publisher.count.get() >= 10);
+
+        assertThat(publisher.events.keySet()).allSatisfy(key ->
+                assertThat(Integer.parseInt(key)).isBetween(100_000, 199_999));
+    }
+
+    @Test
+    void rejectsMoreSymbolsThanTheRangeHolds() {
+        SimulatorProperties properties = properties(100_001, 1_000, 1);
+
+        assertThatThrownBy(() -> start(properties, new RecordingPublisher()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void holdsTheAggregateRate() throws Exception {
+        RecordingPublisher publisher = new RecordingPublisher();
+        long t0 = System.nanoTime();
+        start(properties(8, 2_000, 2), publisher);
+
+        Thread.sleep(1_000);
+        long sent = publisher.count.get();
+        double expected = 2_000 * (System.nanoTime() - t0) / 1e9;
+
+        assertThat((double) sent).isBetween(expected * 0.75, expected * 1.05);
+        assertThat(publisher.events).hasSize(8);
+    }
+
+    @Test
+    void sameSeedGivesTheSamePricePathsForAnyThreadCount() throws Exception {
+        RecordingPublisher one = new RecordingPublisher();
+        RecordingPublisher three = new RecordingPublisher();
+        start(properties(6, 6_000, 1), one);
+        start(properties(6, 6_000, 3), three);
+        waitFor(() -> one.count.get() >= 200 && three.count.get() >= 200);
+
+        for (int id = 100_000; id < 100_006; id++) {
+            String key = Integer.toString(id);
+            List<double[]> a = prices(one.first(key, 20));
+            List<double[]> b = prices(three.first(key, 20));
+            assertThat(a).hasSize(20);
+            assertThat(b).usingElementComparator(PacedSimulatorTest::compare).containsExactlyElementsOf(a);
+        }
+    }
+
+    private void start(SimulatorProperties properties, EventPublisher publisher) {
+        PacedSimulator simulator = new PacedSimulator(properties, publisher, registry(), new SimpleMeterRegistry());
+        started.add(simulator);
+        simulator.start();
+    }
+
+    private static SimulatorProperties properties(int synthetic, long rate, int threads) {
+        SimulatorProperties properties = new SimulatorProperties();
+        properties.setSyntheticSymbols(synthetic);
+        properties.setTargetAggregateRate(rate);
+        properties.setSchedulerThreads(threads);
+        properties.setSeed(7);
+        return properties;
+    }
+
+    private static SymbolRegistry registry() {
+        SymbolProperties properties = new SymbolProperties();
+        SymbolProperties.Range range = new SymbolProperties.Range();
+        range.setPrefix("SIM-");
+        range.setFirstId(100_000);
+        range.setCount(100_000);
+        properties.getRanges().add(range);
+        return new SymbolRegistry(properties);
+    }
+
+    private static List<double[]> prices(List<BidAskEvent> events) {
+        return events.stream().map(e -> new double[]{e.bid(), e.ask()}).toList();
+    }
+
+    private static int compare(double[] a, double[] b) {
+        return Arrays.compare(a, b);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).as("condition within 5s").isTrue();
+    }
+}
@@ -0,0 +1,48 @@
+package com.rc.md.common.api;
+
+import java.util.List;
+
+/**
+ * Return statistics of a symbol set over one window. Entries are {@code null} for symbols without
+ * enough candles in the window, and correlations also for symbols whose price never moved.
+ */
+public class MatrixResponse {
+
+    private String s;
+    private String interval;
+    private long from;
+    private long to;
+    private int points;
+    private List<String> symbols;
+    private List<Double> volatility;
+    private List<List<Double>> correlation;
+    private String message;
+
+    public String getS() { return s; }
+    public void setS(String s) { this.s = s; }
+    public String getInterval() { return interval; }
+    public void setInterval(String interval) { this.interval = interval; }
+    public long getFrom() { return from; }
+    public void setFrom(long from) { this.from = from; }
+    public long getTo() { return to; }
+    public void setTo(long to) { this.to = to; }
+    /**
+     * Number of close-to-close returns every statistic is computed from.
+     */
+    public int getPoints() { return points; }
+    public void setPoints(int points) { this.points = points; }
+    public List<String> getSymbols() { return symbols; }
+    public void setSymbols(List<String> symbols) { this.symbols = symbols; }
+    /**
+     * Annualized (365 days) standard deviation of log returns, in {@link #getSymbols()} order.
+     */
+    public List<Double> getVolatility() { return volatility; }
+    public void setVolatility(List<Double> volatility) { this.volatility = volatility; }
+    /**
+     * Pearson correlation of log returns, row and column in {@link #getSymbols()} order.
+     */
+    public List<List<Double>> getCorrelation() { return correlation; }
+    public void setCorrelation(List<List<Double>> correlation) { this.correlation = correlation; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
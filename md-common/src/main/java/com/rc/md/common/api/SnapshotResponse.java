@@ -0,0 +1,49 @@
+package com.rc.md.common.api;
+
+import java.util.List;
+
+public class SnapshotResponse {
+
+    private String s;
+    private List<Entry> candles;
+    private String message;
+
+    public String getS() { return s; }
+    public void setS(String s) { this.s = s; }
+    public List<Entry> getCandles() { return candles; }
+    public void setCandles(List<Entry> candles) { this.candles = candles; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    /**
+     * The latest (usually still forming) candle of one symbol and interval; {@code c} is the last price.
+     */
+    public static class Entry {
+
+        private String symbol;
+        private String interval;
+        private long t;
+        private double o;
+        private double h;
+        private double l;
+        private double c;
+        private long v;
+
+        public String getSymbol() { return symbol; }
+        public void setSymbol(String symbol) { this.symbol = symbol; }
+        public String getInterval() { return interval; }
+        public void setInterval(String interval) { this.interval = interval; }
+        public long getT() { return t; }
+        public void setT(long t) { this.t = t; }
+        public double getO() { return o; }
+        public void setO(double o) { this.o = o; }
+        public double getH() { return h; }
+        public void setH(double h) { this.h = h; }
+        public double getL() { return l; }
+        public void setL(double l) { this.l = l; }
+        public double getC() { return c; }
+        public void setC(double c) { this.c = c; }
+        public long getV() { return v; }
+        public void setV(long v) { this.v = v; }
+    }
+}
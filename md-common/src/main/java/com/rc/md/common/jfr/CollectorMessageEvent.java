@@ -0,0 +1,26 @@
+package com.rc.md.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One source message handled by a collector, from receipt (or generation) until it was handed to
+ * the publisher. Costs next to nothing unless a recording with this event enabled is running.
+ */
+@Name("md.CollectorMessage")
+@Label("Collector Message")
+@Category({"Market Data", "Collector"})
+@Description("A source message turned into an event and handed to the publisher")
+@StackTrace(false)
+public class CollectorMessageEvent extends Event {
+
+    @Label("Collector")
+    public String collector;
+
+    @Label("Symbol")
+    public String symbol;
+}
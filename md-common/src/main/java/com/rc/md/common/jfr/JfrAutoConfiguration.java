@@ -0,0 +1,27 @@
+package com.rc.md.common.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers {@link JfrRecordingEndpoint} in every module that has actuator on the classpath.
+ */
+@AutoConfiguration
+@ConditionalOnClass(Endpoint.class)
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint(endpoint = JfrRecordingEndpoint.class)
+    public JfrRecordingEndpoint jfrRecordingEndpoint(JfrProperties properties,
+                                                     @Value("${spring.application.name:md}") String applicationName) {
+        return new JfrRecordingEndpoint(properties, applicationName);
+    }
+}
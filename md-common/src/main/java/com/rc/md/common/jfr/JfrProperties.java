@@ -0,0 +1,33 @@
+package com.rc.md.common.jfr;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.jfr")
+public class JfrProperties {
+
+    /**
+     * Built-in JFR settings a recording starts from: "default" (~1% overhead) or "profile".
+     */
+    private String settings = "default";
+
+    /**
+     * A recording stops and is written out on its own after this long.
+     */
+    private Duration maxDuration = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound of the recording size on disk; the oldest data is dropped beyond it.
+     */
+    private long maxSizeMb = 100;
+
+    /**
+     * Where finished recordings are written, the system temp directory when empty.
+     */
+    private String directory;
+}
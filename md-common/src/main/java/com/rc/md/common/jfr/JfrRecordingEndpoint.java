@@ -0,0 +1,161 @@
+package com.rc.md.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts, stops and serves one bounded JDK Flight Recorder recording at a time.
+ * <ul>
+ *   <li>{@code POST /actuator/jfr} starts a recording, optionally with {@code settings},
+ *       {@code durationSeconds} and {@code maxSizeMb},</li>
+ *   <li>{@code GET /actuator/jfr} shows the current or last recording,</li>
+ *   <li>{@code DELETE /actuator/jfr} stops it early and writes it out,</li>
+ *   <li>{@code GET /actuator/jfr/{file}} downloads a finished recording.</li>
+ * </ul>
+ * Every recording is capped by {@code md.jfr.max-duration} and {@code md.jfr.max-size-mb}, so a
+ * forgotten recording stops on its own. Over JMX the file cannot be downloaded; the operations
+ * report its path instead.
+ */
+@Slf4j
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final JfrProperties properties;
+    private final String applicationName;
+    private Recording recording;
+    private Path file;
+
+    public JfrRecordingEndpoint(JfrProperties properties, String applicationName) {
+        this.properties = properties;
+        this.applicationName = applicationName;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return describe();
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings,
+                                                  @Nullable Integer durationSeconds,
+                                                  @Nullable Integer maxSizeMb) throws IOException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("A recording is already running: " + recording.getName(),
+                    "A recording is already running");
+        }
+        closeRecording();
+
+        Duration maxDuration = properties.getMaxDuration();
+        Duration duration = durationSeconds == null
+                ? maxDuration
+                : min(Duration.ofSeconds(durationSeconds), maxDuration);
+        long sizeMb = maxSizeMb == null ? properties.getMaxSizeMb() : Math.min(maxSizeMb, properties.getMaxSizeMb());
+        String name = applicationName + "-" + FILE_TIME.format(Instant.now());
+
+        Recording r = new Recording(configuration(settings == null ? properties.getSettings() : settings));
+        r.setName(name);
+        r.setDuration(duration);
+        r.setMaxSize(sizeMb * 1024 * 1024);
+        r.setToDisk(true);
+        file = directory().resolve(name + ".jfr");
+        r.setDestination(file);
+        r.start();
+        recording = r;
+        log.info("Started JFR recording {}: duration={}, maxSizeMb={}, file={}", name, duration, sizeMb, file);
+        return describe();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return describe();
+        }
+        // writes the recording to its destination
+        recording.stop();
+        log.info("Stopped JFR recording {}, written to {}", recording.getName(), file);
+        return describe();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource download(@Selector String name) {
+        if (file == null || !file.getFileName().toString().equals(name) || !Files.exists(file)) {
+            return null;
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("Recording " + recording.getName() + " is still running",
+                    "Recording is still running");
+        }
+        return new FileSystemResource(file);
+    }
+
+    private Map<String, Object> describe() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("duration", String.valueOf(recording.getDuration()));
+        status.put("maxSizeMb", recording.getMaxSize() / (1024 * 1024));
+        status.put("file", file.getFileName().toString());
+        status.put("path", file.toAbsolutePath().toString());
+        if (Files.exists(file)) {
+            try {
+                status.put("sizeBytes", Files.size(file));
+            } catch (IOException e) {
+                status.put("sizeBytes", -1);
+            }
+        }
+        return status;
+    }
+
+    private static Configuration configuration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (Exception e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settings, "Unknown JFR settings");
+        }
+    }
+
+    private Path directory() throws IOException {
+        String dir = properties.getDirectory();
+        return Files.createDirectories(Path.of(dir == null || dir.isBlank() ? System.getProperty("java.io.tmpdir") : dir));
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
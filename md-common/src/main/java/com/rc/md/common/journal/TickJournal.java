@@ -0,0 +1,36 @@
+package com.rc.md.common.journal;
+
+/**
+ * On-disk layout of tick journal segments.
+ * <p>
+ * A journal is a directory of fixed-size, memory-mapped segment files named
+ * {@code ticks-<createdMillis>-<sequence>.mdj}, so lexical order is write order. Each segment
+ * starts with a header and carries its own symbol dictionary, so it can be read on its own:
+ * <pre>
+ * header : int magic, int version, long createdMillis
+ * SYMBOL : byte 1, short symbolId, short length, byte[length] utf-8 name
+ * TICK   : byte 2, short symbolId, long captureMillis, long eventTimestamp, double bid, double ask
+ * </pre>
+ * A zero type byte (the untouched tail of a mapped file) marks the end of a segment.
+ * <p>
+ * The dictionary holds symbol names rather than registry ids, so an archived journal stays
+ * readable after the symbol registry changes.
+ */
+public final class TickJournal {
+
+    public static final int MAGIC = 0x4D444A31; // "MDJ1"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+
+    public static final byte END = 0;
+    public static final byte SYMBOL = 1;
+    public static final byte TICK = 2;
+
+    public static final int TICK_BYTES = 1 + 2 + 8 + 8 + 8 + 8;
+
+    public static final String SEGMENT_PREFIX = "ticks-";
+    public static final String SEGMENT_SUFFIX = ".mdj";
+
+    private TickJournal() {
+    }
+}
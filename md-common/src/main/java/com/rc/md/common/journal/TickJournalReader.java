@@ -0,0 +1,105 @@
+package com.rc.md.common.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams ticks back from journal segments in write order. See {@link TickJournal} for the format.
+ */
+public class TickJournalReader {
+
+    @FunctionalInterface
+    public interface TickHandler {
+        void onTick(long captureMillis, String symbol, double bid, double ask, long timestamp);
+    }
+
+    private final Path directory;
+
+    public TickJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads every segment in the directory, oldest first.
+     *
+     * @return number of ticks read
+     */
+    public long read(TickHandler handler) throws IOException {
+        long count = 0;
+        for (Path segment : segments(directory)) {
+            count += readSegment(segment, handler);
+        }
+        return count;
+    }
+
+    public static long readSegment(Path segment, TickHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < TickJournal.HEADER_BYTES) {
+                return 0;
+            }
+            int magic = buffer.getInt();
+            int version = buffer.getInt();
+            if (magic != TickJournal.MAGIC || version != TickJournal.VERSION) {
+                throw new IOException("Not a tick journal segment (magic=" + Integer.toHexString(magic)
+                        + ", version=" + version + "): " + segment);
+            }
+            buffer.getLong(); // createdMillis
+
+            List<String> symbols = new ArrayList<>();
+            long count = 0;
+            while (buffer.hasRemaining()) {
+                byte type = buffer.get();
+                if (type == TickJournal.END) {
+                    break;
+                } else if (type == TickJournal.SYMBOL) {
+                    short id = buffer.getShort();
+                    byte[] name = new byte[buffer.getShort()];
+                    buffer.get(name);
+                    if (id != symbols.size()) {
+                        throw new IOException("Out of order symbol id " + id + " in " + segment);
+                    }
+                    symbols.add(new String(name, StandardCharsets.UTF_8));
+                } else if (type == TickJournal.TICK) {
+                    String symbol = symbols.get(buffer.getShort());
+                    long captureMillis = buffer.getLong();
+                    long timestamp = buffer.getLong();
+                    double bid = buffer.getDouble();
+                    double ask = buffer.getDouble();
+                    handler.onTick(captureMillis, symbol, bid, ask, timestamp);
+                    count++;
+                } else {
+                    throw new IOException("Unknown record type " + type + " at offset "
+                            + (buffer.position() - 1) + " in " + segment);
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Lists the journal segments of a directory, oldest first.
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(TickJournal.SEGMENT_PREFIX) && name.endsWith(TickJournal.SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
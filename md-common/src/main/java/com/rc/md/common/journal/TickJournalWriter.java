@@ -0,0 +1,149 @@
+package com.rc.md.common.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends ticks to a rolling, memory-mapped journal. See {@link TickJournal} for the format.
+ * <p>
+ * Not thread-safe: a writer is meant to be driven by a single capturing thread.
+ */
+@Slf4j
+public class TickJournalWriter implements Closeable {
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int retainSegments;
+    private final Map<String, Short> symbolIds = new HashMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Path currentSegment;
+    private int sequence;
+
+    /**
+     * @param segmentBytes   size of each mapped segment file
+     * @param retainSegments number of newest segments to keep, 0 keeps all
+     */
+    public TickJournalWriter(Path directory, int segmentBytes, int retainSegments) throws IOException {
+        if (segmentBytes < TickJournal.HEADER_BYTES + 1024) {
+            throw new IllegalArgumentException("segmentBytes too small: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.retainSegments = retainSegments;
+        Files.createDirectories(directory);
+        openSegment();
+    }
+
+    public void append(long captureMillis, String symbol, double bid, double ask, long timestamp) throws IOException {
+        Short id = symbolIds.get(symbol);
+        byte[] name = null;
+        int needed = TickJournal.TICK_BYTES;
+        if (id == null) {
+            name = symbol.getBytes(StandardCharsets.UTF_8);
+            needed += 1 + 2 + 2 + name.length;
+        }
+
+        if (buffer.remaining() < needed || (id == null && symbolIds.size() >= Short.MAX_VALUE)) {
+            roll();
+            id = null;
+            if (name == null) {
+                name = symbol.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        if (id == null) {
+            id = (short) symbolIds.size();
+            symbolIds.put(symbol, id);
+            buffer.put(TickJournal.SYMBOL)
+                    .putShort(id)
+                    .putShort((short) name.length)
+                    .put(name);
+        }
+
+        buffer.put(TickJournal.TICK)
+                .putShort(id)
+                .putLong(captureMillis)
+                .putLong(timestamp)
+                .putDouble(bid)
+                .putDouble(ask);
+    }
+
+    /**
+     * Forces written ticks of the current segment to disk.
+     */
+    public void flush() {
+        buffer.force();
+    }
+
+    public Path currentSegment() {
+        return currentSegment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    private void roll() throws IOException {
+        closeSegment();
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        long now = System.currentTimeMillis();
+        currentSegment = directory.resolve(String.format("%s%013d-%06d%s",
+                TickJournal.SEGMENT_PREFIX, now, sequence++, TickJournal.SEGMENT_SUFFIX));
+        channel = FileChannel.open(currentSegment,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.putInt(TickJournal.MAGIC)
+                .putInt(TickJournal.VERSION)
+                .putLong(now);
+        symbolIds.clear();
+        log.info("Opened tick journal segment {}", currentSegment);
+        enforceRetention();
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        int used = buffer.position();
+        buffer.force();
+        try {
+            // Drop the unused, zero-filled tail so closed segments stay compact.
+            channel.truncate(used);
+        } catch (IOException e) {
+            log.debug("Could not truncate journal segment {}: {}", currentSegment, e.toString());
+        }
+        channel.close();
+        channel = null;
+    }
+
+    private void enforceRetention() throws IOException {
+        if (retainSegments <= 0) {
+            return;
+        }
+        List<Path> segments = TickJournalReader.segments(directory);
+        for (int i = 0; i < segments.size() - retainSegments; i++) {
+            Path old = segments.get(i);
+            if (!old.equals(currentSegment)) {
+                Files.deleteIfExists(old);
+                log.info("Deleted tick journal segment {} (retention {})", old, retainSegments);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.rc.md.common.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps at most one send in flight per key. Events arriving while a send is outstanding
+ * overwrite each other, so only the latest quote for a symbol is sent once the broker
+ * acknowledges the previous one.
+ * <p>
+ * The caller never waits for Kafka: follow-up sends are issued from a dedicated drain thread
+ * rather than from the producer callback, which runs on the producer I/O thread.
+ */
+@Slf4j
+public class ConflatingEventPublisher implements EventPublisher {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final PublisherMetrics metrics;
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final ExecutorService drainExecutor;
+
+    public ConflatingEventPublisher(KafkaTemplate<String, String> kafkaTemplate,
+                                    String topic,
+                                    MeterRegistry meterRegistry,
+                                    String collector) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.metrics = new PublisherMetrics(meterRegistry, collector);
+        this.drainExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "conflating-publisher-" + collector);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public void publish(String key, String payload) {
+        metrics.offered.increment();
+        Slot slot = slots.computeIfAbsent(key, Slot::new);
+        if (slot.pending.getAndSet(payload) != null) {
+            metrics.conflated.increment();
+        }
+        if (slot.inFlight.compareAndSet(false, true)) {
+            sendNext(slot);
+        }
+    }
+
+    private void sendNext(Slot slot) {
+        String payload = slot.pending.getAndSet(null);
+        if (payload == null) {
+            slot.inFlight.set(false);
+            // An event may have arrived between the empty read and releasing the slot.
+            if (slot.pending.get() != null && slot.inFlight.compareAndSet(false, true)) {
+                sendNext(slot);
+            }
+            return;
+        }
+
+        metrics.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            kafkaTemplate.send(topic, slot.key, payload).whenComplete((result, ex) -> {
+                metrics.inFlight.decrementAndGet();
+                if (ex != null) {
+                    metrics.failed.increment();
+                    log.warn("Failed to send event for key {}: {}", slot.key, ex.toString());
+                } else {
+                    metrics.sent.increment();
+                    metrics.sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                drainExecutor.execute(() -> sendNext(slot));
+            });
+        } catch (RuntimeException e) {
+            metrics.inFlight.decrementAndGet();
+            metrics.failed.increment();
+            log.warn("Failed to send event for key {}: {}", slot.key, e.toString());
+            slot.inFlight.set(false);
+        }
+    }
+
+    @Override
+    public void close() {
+        drainExecutor.shutdown();
+        try {
+            drainExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Slot {
+        private final String key;
+        private final AtomicReference<String> pending = new AtomicReference<>();
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+
+        private Slot(String key) {
+            this.key = key;
+        }
+    }
+}
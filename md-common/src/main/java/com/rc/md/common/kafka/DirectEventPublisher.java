@@ -0,0 +1,51 @@
+package com.rc.md.common.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends every event asynchronously and tracks completion through the returned future.
+ */
+@Slf4j
+public class DirectEventPublisher implements EventPublisher {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final PublisherMetrics metrics;
+
+    public DirectEventPublisher(KafkaTemplate<String, String> kafkaTemplate,
+                                String topic,
+                                MeterRegistry meterRegistry,
+                                String collector) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.metrics = new PublisherMetrics(meterRegistry, collector);
+    }
+
+    @Override
+    public void publish(String key, String payload) {
+        metrics.offered.increment();
+        metrics.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            kafkaTemplate.send(topic, key, payload).whenComplete((result, ex) -> {
+                metrics.inFlight.decrementAndGet();
+                if (ex != null) {
+                    metrics.failed.increment();
+                    log.warn("Failed to send event for key {}: {}", key, ex.toString());
+                } else {
+                    metrics.sent.increment();
+                    metrics.sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RuntimeException e) {
+            // serialization errors and max.block.ms timeouts are thrown before a future exists
+            metrics.inFlight.decrementAndGet();
+            metrics.failed.increment();
+            log.warn("Failed to send event for key {}: {}", key, e.toString());
+        }
+    }
+}
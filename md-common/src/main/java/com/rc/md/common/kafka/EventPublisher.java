@@ -0,0 +1,15 @@
+package com.rc.md.common.kafka;
+
+/**
+ * Publishes serialized market data events keyed by symbol.
+ * <p>
+ * Implementations must never block the calling (ingestion) thread on broker acknowledgement.
+ */
+public interface EventPublisher extends AutoCloseable {
+
+    void publish(String key, String payload);
+
+    @Override
+    default void close() {
+    }
+}
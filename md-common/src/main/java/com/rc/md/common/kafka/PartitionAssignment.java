@@ -0,0 +1,140 @@
+package com.rc.md.common.kafka;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Plans which partition each symbol id is sent to so the summed weight (message rate) per
+ * partition is balanced.
+ * <p>
+ * Symbols of the current assignment keep their partition; every other weighted symbol is placed,
+ * heaviest first, on the least loaded partition. After that at most {@code maxMoves} symbols are
+ * moved from the most to the least loaded partition, so a weight change only reorders the
+ * symbols an operator allowed to move. The result depends only on its inputs, so every producer
+ * given the same configuration computes the same table.
+ */
+public final class PartitionAssignment {
+
+    private PartitionAssignment() {
+    }
+
+    /**
+     * @return symbol id to partition, ordered by symbol id
+     */
+    public static Map<Integer, Integer> plan(Map<Integer, Double> weights,
+                                             Map<Integer, Integer> current,
+                                             int partitions,
+                                             int maxMoves) {
+        Map<Integer, Integer> table = new TreeMap<>();
+        double[] load = new double[partitions];
+        current.forEach((symbol, partition) -> {
+            if (partition >= 0 && partition < partitions) {
+                table.put(symbol, partition);
+                load[partition] += weights.getOrDefault(symbol, 0.0);
+            }
+        });
+
+        List<Map.Entry<Integer, Double>> unplaced = new ArrayList<>();
+        for (Map.Entry<Integer, Double> e : weights.entrySet()) {
+            if (!table.containsKey(e.getKey())) {
+                unplaced.add(e);
+            }
+        }
+        unplaced.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<Integer, Double> e : unplaced) {
+            int p = lightest(load);
+            table.put(e.getKey(), p);
+            load[p] += e.getValue();
+        }
+
+        for (int move = 0; move < maxMoves; move++) {
+            int hi = heaviest(load);
+            int lo = lightest(load);
+            double gap = load[hi] - load[lo];
+            // moving weight w improves the pair when w < gap, most when w is closest to gap / 2
+            Integer best = null;
+            double bestDistance = Double.MAX_VALUE;
+            for (Map.Entry<Integer, Integer> e : table.entrySet()) {
+                double w = weights.getOrDefault(e.getKey(), 0.0);
+                if (e.getValue() == hi && w > 0 && w < gap && Math.abs(gap / 2 - w) < bestDistance) {
+                    best = e.getKey();
+                    bestDistance = Math.abs(gap / 2 - w);
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            double w = weights.get(best);
+            table.put(best, lo);
+            load[hi] -= w;
+            load[lo] += w;
+        }
+        return table;
+    }
+
+    /**
+     * @return summed weight per partition
+     */
+    public static double[] loads(Map<Integer, Integer> table, Map<Integer, Double> weights, int partitions) {
+        double[] load = new double[partitions];
+        table.forEach((symbol, partition) -> load[partition] += weights.getOrDefault(symbol, 0.0));
+        return load;
+    }
+
+    /**
+     * Parses {@code "1:0,2:1"} style lists of {@code symbolId:value}.
+     */
+    public static <V> Map<Integer, V> parse(String spec, Function<String, V> value) {
+        Map<Integer, V> out = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return out;
+        }
+        for (String pair : spec.split(",")) {
+            String trimmed = pair.trim();
+            int colon = trimmed.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Expected symbolId:value, got '" + trimmed + "'");
+            }
+            out.put(Integer.parseInt(trimmed.substring(0, colon).trim()), value.apply(trimmed.substring(colon + 1).trim()));
+        }
+        return out;
+    }
+
+    /**
+     * @return the table in the format {@link #parse} reads, ready to pin as the current assignment
+     */
+    public static String format(Map<Integer, Integer> table) {
+        StringJoiner out = new StringJoiner(",");
+        table.entrySet().stream()
+                .sorted(Comparator.comparing(Map.Entry::getKey))
+                .forEach(e -> out.add(e.getKey() + ":" + e.getValue()));
+        return out.toString();
+    }
+
+    private static int lightest(double[] load) {
+        int best = 0;
+        for (int p = 1; p < load.length; p++) {
+            if (load[p] < load[best]) {
+                best = p;
+            }
+        }
+        return best;
+    }
+
+    private static int heaviest(double[] load) {
+        int best = 0;
+        for (int p = 1; p < load.length; p++) {
+            if (load[p] > load[best]) {
+                best = p;
+            }
+        }
+        return best;
+    }
+}
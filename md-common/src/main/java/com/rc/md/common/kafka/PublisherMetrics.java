@@ -0,0 +1,57 @@
+package com.rc.md.common.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters shared by all {@link EventPublisher} implementations, tagged with the collector name.
+ */
+class PublisherMetrics {
+
+    final Counter offered;
+    final Counter conflated;
+    final Counter sent;
+    final Counter failed;
+    final Timer sendLatency;
+    final AtomicInteger inFlight = new AtomicInteger();
+
+    PublisherMetrics(MeterRegistry registry, String collector) {
+        this.offered = Counter.builder("md.collector.publish.offered")
+                .description("Events handed to the publisher")
+                .tag("collector", collector)
+                .register(registry);
+        this.conflated = Counter.builder("md.collector.publish.conflated")
+                .description("Events replaced by a newer event for the same key before being sent")
+                .tag("collector", collector)
+                .register(registry);
+        this.sent = Counter.builder("md.collector.publish.sent")
+                .description("Events acknowledged by Kafka")
+                .tag("collector", collector)
+                .register(registry);
+        this.failed = Counter.builder("md.collector.publish.failed")
+                .description("Events whose send failed")
+                .tag("collector", collector)
+                .register(registry);
+        this.sendLatency = Timer.builder("md.collector.publish.latency")
+                .description("Time from handing an event to the producer until the broker acknowledged it")
+                .tag("collector", collector)
+                .register(registry);
+        Gauge.builder("md.collector.publish.inflight", inFlight, AtomicInteger::get)
+                .description("Sends awaiting broker acknowledgement")
+                .tag("collector", collector)
+                .register(registry);
+        Gauge.builder("md.collector.publish.conflation.ratio", this, PublisherMetrics::conflationRatio)
+                .description("Share of offered events dropped by conflation")
+                .tag("collector", collector)
+                .register(registry);
+    }
+
+    private double conflationRatio() {
+        double total = offered.count();
+        return total == 0 ? 0.0 : conflated.count() / total;
+    }
+}
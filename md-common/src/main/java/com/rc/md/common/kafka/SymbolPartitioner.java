@@ -0,0 +1,102 @@
+package com.rc.md.common.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.utils.Utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends records keyed by symbol id to the partition of a weight-balanced assignment table
+ * ({@link PartitionAssignment}), so hot symbols do not pile up on the partition they hash to.
+ * <p>
+ * A symbol always maps to one partition for a given configuration, which keeps its events in
+ * order. Keys that are not a symbol id of the table are hashed exactly like Kafka's default
+ * partitioner, so enabling this only moves the listed symbols. The table is fixed for the
+ * producer's lifetime; roll out a new one with all producers of the topic stopped, and after
+ * consumers have drained the old partitions, or symbols moved by it may be read out of order
+ * once around the switch.
+ * <p>
+ * Configured through producer properties, e.g. {@code spring.kafka.producer.properties}:
+ * <ul>
+ *   <li>{@value #WEIGHTS_CONFIG}: {@code symbolId:weight} list, the measured message rate per symbol</li>
+ *   <li>{@value #ASSIGNMENT_CONFIG}: {@code symbolId:partition} list pinning the current assignment</li>
+ *   <li>{@value #MAX_MOVES_CONFIG}: pinned symbols that may be moved to rebalance changed weights</li>
+ * </ul>
+ * The effective table is logged per partition count in the assignment format, ready to be pinned.
+ */
+@Slf4j
+public class SymbolPartitioner implements Partitioner {
+
+    public static final String WEIGHTS_CONFIG = "md.partitioner.weights";
+    public static final String ASSIGNMENT_CONFIG = "md.partitioner.assignment";
+    public static final String MAX_MOVES_CONFIG = "md.partitioner.max-moves";
+
+    private Map<Integer, Double> weights = Map.of();
+    private Map<Integer, Integer> assignment = Map.of();
+    private int maxMoves;
+    private final Map<Integer, Map<Integer, Integer>> tables = new ConcurrentHashMap<>();
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        weights = PartitionAssignment.parse(string(configs.get(WEIGHTS_CONFIG)), Double::parseDouble);
+        assignment = PartitionAssignment.parse(string(configs.get(ASSIGNMENT_CONFIG)), Integer::parseInt);
+        String moves = string(configs.get(MAX_MOVES_CONFIG));
+        maxMoves = moves == null || moves.isBlank() ? 0 : Integer.parseInt(moves.trim());
+    }
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+        int partitions = cluster.partitionsForTopic(topic).size();
+        if (keyBytes == null) {
+            return ThreadLocalRandom.current().nextInt(partitions);
+        }
+        int symbolId = key instanceof String s ? symbolId(s) : -1;
+        if (symbolId >= 0) {
+            Integer p = tables.computeIfAbsent(partitions, this::table).get(symbolId);
+            if (p != null) {
+                return p;
+            }
+        }
+        return Utils.toPositive(Utils.murmur2(keyBytes)) % partitions;
+    }
+
+    private Map<Integer, Integer> table(int partitions) {
+        Map<Integer, Integer> table = PartitionAssignment.plan(weights, assignment, partitions, maxMoves);
+        log.info("Symbol partition table for {} partitions: {}={} load={}", partitions, ASSIGNMENT_CONFIG,
+                PartitionAssignment.format(table),
+                Arrays.toString(PartitionAssignment.loads(table, weights, partitions)));
+        return Map.copyOf(table);
+    }
+
+    /**
+     * @return the key as a non-negative int, -1 for anything else (e.g. composite candle keys)
+     */
+    static int symbolId(String key) {
+        int n = key.length();
+        if (n == 0 || n > 9) {
+            return -1;
+        }
+        int id = 0;
+        for (int i = 0; i < n; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public void close() {
+    }
+}
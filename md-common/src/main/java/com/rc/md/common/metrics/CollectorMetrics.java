@@ -0,0 +1,43 @@
+package com.rc.md.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Ingest-side meters of a collector, tagged with the collector name. Publishing is measured
+ * separately by the {@link com.rc.md.common.kafka.EventPublisher} implementations.
+ */
+public class CollectorMetrics {
+
+    private final Counter messages;
+    private final Counter parseFailures;
+    private final Timer parse;
+
+    public CollectorMetrics(MeterRegistry registry, String collector) {
+        this.messages = Counter.builder("md.collector.messages")
+                .description("Messages received from the source, or generated by a simulator")
+                .tag("collector", collector)
+                .register(registry);
+        this.parseFailures = Counter.builder("md.collector.parse.failures")
+                .description("Source messages that could not be turned into an event")
+                .tag("collector", collector)
+                .register(registry);
+        this.parse = Timer.builder("md.collector.parse")
+                .description("Time to turn a source message into a serialized event")
+                .tag("collector", collector)
+                .register(registry);
+    }
+
+    public void message() {
+        messages.increment();
+    }
+
+    public void parseFailure() {
+        parseFailures.increment();
+    }
+
+    public Timer parse() {
+        return parse;
+    }
+}
@@ -1,8 +1,59 @@
 package com.rc.md.common.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Normalized top-of-book quote as it travels on {@code md.bidask.normalized}.
+ * <p>
+ * Prices are carried either as doubles ({@code bid}, {@code ask}) or, in fixed-point mode, as
+ * mantissas ({@code bidPx}, {@code askPx}) in the symbol's scale, see {@link FixedPoint}. The
+ * mantissas are {@code null} on double quotes, which is what marks a quote as fixed-point. Only
+ * the populated pair is serialized.
+ *
+ * @param symbolId id assigned by {@link com.rc.md.common.symbol.SymbolRegistry}
+ */
 public record BidAskEvent(
-        String symbol,
-        double bid,
-        double ask,
-        long timestamp
-) {}
+        int symbolId,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) double bid,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) double ask,
+        long timestamp,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long bidPx,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long askPx
+) {
+
+    public BidAskEvent(int symbolId, double bid, double ask, long timestamp) {
+        this(symbolId, bid, ask, timestamp, null, null);
+    }
+
+    public static BidAskEvent fixed(int symbolId, long bidPx, long askPx, long timestamp) {
+        return new BidAskEvent(symbolId, 0, 0, timestamp, bidPx, askPx);
+    }
+
+    @JsonIgnore
+    public boolean isFixed() {
+        return bidPx != null;
+    }
+
+    /**
+     * Bid as a mantissa of {@code scale}, rounding double prices if needed.
+     */
+    public long bidPx(int scale) {
+        return isFixed() ? bidPx : FixedPoint.toMantissa(bid, scale);
+    }
+
+    public long askPx(int scale) {
+        return isFixed() ? askPx : FixedPoint.toMantissa(ask, scale);
+    }
+
+    /**
+     * Bid as a double, {@code scale} is only used for fixed-point events.
+     */
+    public double bid(int scale) {
+        return isFixed() ? FixedPoint.toDouble(bidPx, scale) : bid;
+    }
+
+    public double ask(int scale) {
+        return isFixed() ? FixedPoint.toDouble(askPx, scale) : ask;
+    }
+}
@@ -0,0 +1,27 @@
+package com.rc.md.common.model;
+
+/**
+ * Conflated L2 snapshot of one symbol as it travels on {@code md.depth}: the top levels of each
+ * side, best first, and metrics derived from the full local book.
+ *
+ * @param timestamp   exchange event time in UNIX milliseconds
+ * @param updateId    exchange update id the book is current to
+ * @param bids        {@code [price, quantity]} per level, best first
+ * @param asks        {@code [price, quantity]} per level, best first
+ * @param microprice  mid weighted by the opposite top quantity
+ * @param depthBps    distances from the mid, in basis points, of {@code bidDepth} and {@code askDepth}
+ * @param bidDepth    bid quantity within each {@code depthBps} of the mid
+ * @param askDepth    ask quantity within each {@code depthBps} of the mid
+ */
+public record DepthEvent(
+        int symbolId,
+        long timestamp,
+        long updateId,
+        double[][] bids,
+        double[][] asks,
+        double microprice,
+        int[] depthBps,
+        double[] bidDepth,
+        double[] askDepth
+) {
+}
@@ -0,0 +1,109 @@
+package com.rc.md.common.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point prices: a {@code long} mantissa and a per-symbol decimal scale, so that
+ * {@code price = mantissa / 10^scale}. Comparisons and OHLC updates on mantissas are exact;
+ * conversion to {@code double} happens only at the edges (HTTP API, tick journal).
+ * <p>
+ * {@link #toMantissa} rounds the shortest decimal form of a double, the one
+ * {@link Double#toString} prints, and {@link #parse} rounds the text; both round half away from
+ * zero, so a price maps to the same mantissa whether it arrives as a double or as text.
+ */
+public final class FixedPoint {
+
+    public static final int MAX_SCALE = 18;
+
+    private static final long[] POW10 = new long[MAX_SCALE + 1];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private FixedPoint() {
+    }
+
+    public static long pow10(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+        return POW10[scale];
+    }
+
+    /**
+     * Rounds the shortest decimal form of {@code price} half away from zero to the nearest multiple
+     * of {@code 10^-scale}, so {@code 1.005} becomes {@code 101} at scale 2 rather than whatever the
+     * binary error of {@code 1.005 * 100} decides.
+     */
+    public static long toMantissa(double price, int scale) {
+        pow10(scale); // rejects scales a mantissa cannot hold
+        return BigDecimal.valueOf(price).setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @return the double nearest to the decimal {@code mantissa / 10^scale}
+     */
+    public static double toDouble(long mantissa, int scale) {
+        return mantissa / (double) pow10(scale);
+    }
+
+    /**
+     * Parses a plain decimal such as {@code "90000.12000000"} straight into a mantissa, without a
+     * detour through {@code double}. Digits beyond {@code scale} are rounded half away from zero.
+     */
+    public static long parse(CharSequence text, int scale) {
+        long factor = pow10(scale);
+        int len = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (len > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        long integer = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (; i < len; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && !seenPoint) {
+                seenPoint = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Not a plain decimal: " + text);
+            }
+            seenDigit = true;
+            int digit = c - '0';
+            if (!seenPoint) {
+                integer = Math.addExact(Math.multiplyExact(integer, 10), digit);
+            } else if (fractionDigits < scale) {
+                fraction = fraction * 10 + digit;
+                fractionDigits++;
+            } else if (fractionDigits == scale) {
+                roundUp = digit >= 5;
+                fractionDigits++;
+            }
+        }
+        if (!seenDigit) {
+            throw new NumberFormatException("Not a plain decimal: " + text);
+        }
+        fraction *= POW10[scale - Math.min(fractionDigits, scale)];
+        long mantissa = Math.addExact(Math.multiplyExact(integer, factor), fraction) + (roundUp ? 1 : 0);
+        return negative ? -mantissa : mantissa;
+    }
+
+    /**
+     * Mid of two mantissas of the same scale; an odd sum rounds toward positive infinity.
+     */
+    public static long mid(long bid, long ask) {
+        return Math.floorDiv(bid + ask + 1, 2);
+    }
+}
@@ -0,0 +1,20 @@
+package com.rc.md.common.symbol;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Provides the {@link SymbolRegistry} built from {@code md.symbols} to every service.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(SymbolProperties.class)
+public class SymbolAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SymbolRegistry symbolRegistry(SymbolProperties properties) {
+        return new SymbolRegistry(properties);
+    }
+}
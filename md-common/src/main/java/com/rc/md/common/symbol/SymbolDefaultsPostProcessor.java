@@ -0,0 +1,43 @@
+package com.rc.md.common.symbol;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Adds {@code config-repo/symbols.yml}, packaged into md-common at build time, as the lowest
+ * precedence property source, so every service starts with the same {@code md.symbols} without
+ * its own copy. Application config and the config server still override it.
+ */
+public class SymbolDefaultsPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String LOCATION = "md/symbols.yml";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Resource resource = new ClassPathResource(LOCATION);
+        if (!resource.exists() || environment.getPropertySources().contains(LOCATION)) {
+            return;
+        }
+        try {
+            for (PropertySource<?> source : new YamlPropertySourceLoader().load(LOCATION, resource)) {
+                environment.getPropertySources().addLast(source);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + LOCATION, e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
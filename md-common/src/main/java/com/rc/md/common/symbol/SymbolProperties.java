@@ -0,0 +1,71 @@
+package com.rc.md.common.symbol;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "md.symbols")
+public class SymbolProperties {
+
+    /**
+     * Explicitly assigned ids, e.g. {@code 1: BTC-USD}. Ids must never be reused for another name.
+     */
+    private Map<Integer, String> names = new LinkedHashMap<>();
+
+    /**
+     * Generated blocks of symbols, e.g. the simulator's SIM-00000 .. SIM-09999.
+     */
+    private List<Range> ranges = new ArrayList<>();
+
+    /**
+     * Write the registry to the symbols table on startup (aggregator only).
+     */
+    private boolean syncTable = true;
+
+    /**
+     * Carry prices as long mantissas on Kafka and store candles in candles_fx instead of
+     * double columns. Must be the same in every service.
+     */
+    private boolean fixedPoint = false;
+
+    /**
+     * Decimal places of the fixed-point mantissa for symbols without an explicit scale.
+     */
+    private int defaultScale = 2;
+
+    /**
+     * Per-symbol decimal places by symbol id, e.g. {@code 2: 4}.
+     */
+    private Map<Integer, Integer> scales = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Range {
+
+        private String prefix;
+
+        /**
+         * Id of prefix + 0; the following names get consecutive ids.
+         */
+        private int firstId;
+
+        private int count;
+
+        /**
+         * Digits the index is zero padded to.
+         */
+        private int width = 5;
+
+        /**
+         * Decimal places of the range's symbols, the default scale when not set.
+         */
+        private Integer scale;
+    }
+}
@@ -0,0 +1,181 @@
+package com.rc.md.common.symbol;
+
+import com.rc.md.common.model.FixedPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Assigns compact integer ids to symbol names.
+ * <p>
+ * Ids are what travels on Kafka, keys in-memory state and is stored in the database; names are
+ * only resolved where humans are involved: configuration, the HTTP API and logs. Every module
+ * builds the registry from the same {@code md.symbols} configuration, so ids agree across
+ * services without a lookup at runtime.
+ */
+public class SymbolRegistry {
+
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Map<Integer, String> names = new HashMap<>();
+    private final List<SymbolProperties.Range> ranges;
+    private final Map<Integer, Integer> scales;
+    private final int defaultScale;
+    private final boolean fixedPoint;
+
+    public SymbolRegistry(SymbolProperties properties) {
+        properties.getNames().forEach((id, name) -> {
+            if (id < 0) {
+                throw new IllegalArgumentException("Symbol id must be >= 0: " + id + " -> " + name);
+            }
+            String previous = names.put(id, name);
+            if (previous != null || ids.put(name, id) != null) {
+                throw new IllegalArgumentException("Duplicate symbol id or name: " + id + " -> " + name);
+            }
+        });
+        this.ranges = List.copyOf(properties.getRanges());
+        for (SymbolProperties.Range r : ranges) {
+            if (r.getCount() > Math.pow(10, r.getWidth())) {
+                throw new IllegalArgumentException("Range " + r.getPrefix() + " has more symbols than "
+                        + r.getWidth() + " digits allow");
+            }
+            for (int id : names.keySet()) {
+                if (id >= r.getFirstId() && id < r.getFirstId() + r.getCount()) {
+                    throw new IllegalArgumentException("Symbol id " + id + " overlaps range " + r.getPrefix());
+                }
+            }
+            if (r.getScale() != null) {
+                FixedPoint.pow10(r.getScale());
+            }
+        }
+        this.scales = Map.copyOf(properties.getScales());
+        this.scales.values().forEach(FixedPoint::pow10);
+        this.defaultScale = properties.getDefaultScale();
+        FixedPoint.pow10(defaultScale);
+        this.fixedPoint = properties.isFixedPoint();
+    }
+
+    public static SymbolRegistry of(Map<Integer, String> names) {
+        SymbolProperties properties = new SymbolProperties();
+        properties.setNames(names);
+        return new SymbolRegistry(properties);
+    }
+
+    /**
+     * @return the id of {@code name}, or {@link #UNKNOWN}
+     */
+    public int id(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        for (SymbolProperties.Range r : ranges) {
+            if (name.length() == r.getPrefix().length() + r.getWidth() && name.startsWith(r.getPrefix())) {
+                int index = parseIndex(name, r.getPrefix().length());
+                if (index >= 0 && index < r.getCount()) {
+                    return r.getFirstId() + index;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Like {@link #id(String)}, but fails for names that are not registered.
+     */
+    public int require(String name) {
+        int id = id(name);
+        if (id == UNKNOWN) {
+            throw new IllegalArgumentException("Unknown symbol " + name + ", register it under md.symbols");
+        }
+        return id;
+    }
+
+    /**
+     * @return the name of {@code id}, or {@code null}
+     */
+    public String name(int id) {
+        String name = names.get(id);
+        if (name != null) {
+            return name;
+        }
+        for (SymbolProperties.Range r : ranges) {
+            if (id >= r.getFirstId() && id < r.getFirstId() + r.getCount()) {
+                return r.getPrefix() + pad(id - r.getFirstId(), r.getWidth());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the generated range with this prefix, or {@code null}
+     */
+    public SymbolProperties.Range range(String prefix) {
+        for (SymbolProperties.Range r : ranges) {
+            if (r.getPrefix().equals(prefix)) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Visits every registered symbol, explicit names first.
+     */
+    public void forEach(BiConsumer<Integer, String> action) {
+        List<Integer> sorted = new ArrayList<>(names.keySet());
+        Collections.sort(sorted);
+        sorted.forEach(id -> action.accept(id, names.get(id)));
+        for (SymbolProperties.Range r : ranges) {
+            for (int i = 0; i < r.getCount(); i++) {
+                action.accept(r.getFirstId() + i, r.getPrefix() + pad(i, r.getWidth()));
+            }
+        }
+    }
+
+    /**
+     * @return decimal places of the fixed-point mantissa of {@code id}
+     */
+    public int scale(int id) {
+        Integer scale = scales.get(id);
+        if (scale != null) {
+            return scale;
+        }
+        for (SymbolProperties.Range r : ranges) {
+            if (r.getScale() != null && id >= r.getFirstId() && id < r.getFirstId() + r.getCount()) {
+                return r.getScale();
+            }
+        }
+        return defaultScale;
+    }
+
+    public boolean isFixedPoint() {
+        return fixedPoint;
+    }
+
+    public int size() {
+        return names.size() + ranges.stream().mapToInt(SymbolProperties.Range::getCount).sum();
+    }
+
+    private static int parseIndex(String name, int from) {
+        int value = 0;
+        for (int i = from; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static String pad(int index, int width) {
+        String digits = Integer.toString(index);
+        return digits.length() >= width ? digits : "0".repeat(width - digits.length()) + digits;
+    }
+}
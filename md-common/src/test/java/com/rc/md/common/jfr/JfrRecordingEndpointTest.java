@@ -0,0 +1,51 @@
+package com.rc.md.common.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JfrRecordingEndpointTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsCustomEventsAndServesTheFile() throws Exception {
+        JfrProperties properties = new JfrProperties();
+        properties.setDirectory(dir.toString());
+        JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(properties, "test");
+
+        Map<String, Object> started = endpoint.start(null, 60, 10);
+        assertThat(started).containsEntry("state", "RUNNING");
+        assertThatThrownBy(() -> endpoint.start(null, null, null)).isInstanceOf(InvalidEndpointRequestException.class);
+
+        CollectorMessageEvent event = new CollectorMessageEvent();
+        event.collector = "test";
+        event.symbol = "BTC-USD";
+        event.commit();
+
+        Map<String, Object> stopped = endpoint.stop();
+        // a recording with a destination is written out and closed when it stops
+        assertThat(stopped).containsEntry("state", "CLOSED");
+
+        Resource resource = endpoint.download((String) stopped.get("file"));
+        assertThat(resource).isNotNull();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(resource.getFile().toPath());
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("md.CollectorMessage"))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getString("symbol")).isEqualTo("BTC-USD"));
+
+        assertThat(endpoint.download("../other.jfr")).isNull();
+    }
+}
@@ -0,0 +1,56 @@
+package com.rc.md.common.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private record Tick(String symbol, double bid, double ask, long timestamp) {}
+
+    @Test
+    void readsBackTicksInWriteOrderAcrossSegments() throws Exception {
+        List<Tick> written = new ArrayList<>();
+        // small segments force several rolls, each with its own symbol dictionary
+        try (TickJournalWriter writer = new TickJournalWriter(dir, 2048, 0)) {
+            for (int i = 0; i < 200; i++) {
+                String symbol = i % 3 == 0 ? "BTC-USD" : (i % 3 == 1 ? "ETH-USD" : "SOL-USD");
+                Tick tick = new Tick(symbol, 100.0 + i, 100.5 + i, 1_700_000_000L + i);
+                writer.append(1_700_000_000_000L + i * 10L, tick.symbol(), tick.bid(), tick.ask(), tick.timestamp());
+                written.add(tick);
+            }
+        }
+
+        assertThat(TickJournalReader.segments(dir)).hasSizeGreaterThan(1);
+
+        List<Tick> read = new ArrayList<>();
+        List<Long> captureTimes = new ArrayList<>();
+        long count = new TickJournalReader(dir).read((captureMillis, symbol, bid, ask, timestamp) -> {
+            captureTimes.add(captureMillis);
+            read.add(new Tick(symbol, bid, ask, timestamp));
+        });
+
+        assertThat(count).isEqualTo(200);
+        assertThat(read).containsExactlyElementsOf(written);
+        assertThat(captureTimes).isSorted();
+    }
+
+    @Test
+    void retentionKeepsNewestSegments() throws Exception {
+        try (TickJournalWriter writer = new TickJournalWriter(dir, 2048, 2)) {
+            for (int i = 0; i < 500; i++) {
+                writer.append(i, "BTC-USD", 1.0, 2.0, i);
+            }
+        }
+
+        assertThat(TickJournalReader.segments(dir)).hasSize(2);
+    }
+}
@@ -0,0 +1,93 @@
+package com.rc.md.common.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConflatingEventPublisherTest {
+
+    private static final String TOPIC = "md.bidask.normalized";
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> template = mock(KafkaTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConflatingEventPublisher publisher = new ConflatingEventPublisher(template, TOPIC, registry, "test");
+
+    @AfterEach
+    void close() {
+        publisher.close();
+    }
+
+    @Test
+    void eventsArrivingDuringASendAreConflatedToTheLatest() {
+        CompletableFuture<SendResult<String, String>> first = new CompletableFuture<>();
+        when(template.send(anyString(), anyString(), anyString())).thenReturn(first, new CompletableFuture<>());
+
+        publisher.publish("1", "a");
+        publisher.publish("1", "b");
+        publisher.publish("1", "c");
+        verify(template).send(TOPIC, "1", "a");
+
+        first.complete(null);
+
+        verify(template, timeout(1_000)).send(TOPIC, "1", "c");
+        verify(template, times(2)).send(anyString(), anyString(), anyString());
+        assertThat(count("md.collector.publish.offered")).isEqualTo(3);
+        assertThat(count("md.collector.publish.conflated")).isEqualTo(1);
+        assertThat(count("md.collector.publish.sent")).isEqualTo(1);
+    }
+
+    @Test
+    void slotIsReleasedAfterTheDrainFindsNothingPending() throws Exception {
+        when(template.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null), new CompletableFuture<>());
+
+        publisher.publish("1", "a");
+        waitForInFlight(0);
+        // either the drain has released the slot or it picks the event up after its empty read
+        publisher.publish("1", "b");
+
+        verify(template, timeout(1_000)).send(TOPIC, "1", "b");
+        assertThat(count("md.collector.publish.conflated")).isZero();
+    }
+
+    @Test
+    void synchronousSendFailureIsCountedAndReleasesTheSlot() {
+        when(template.send(anyString(), anyString(), anyString()))
+                .thenThrow(new TimeoutException("max.block.ms"))
+                .thenReturn(new CompletableFuture<>());
+
+        publisher.publish("1", "a");
+
+        assertThat(count("md.collector.publish.failed")).isEqualTo(1);
+        assertThat(registry.get("md.collector.publish.inflight").gauge().value()).isZero();
+
+        publisher.publish("1", "b");
+        verify(template).send(TOPIC, "1", "b");
+    }
+
+    private double count(String name) {
+        return registry.get(name).counter().count();
+    }
+
+    private void waitForInFlight(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1_000;
+        while (registry.get("md.collector.publish.inflight").gauge().value() != expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.rc.md.common.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DirectEventPublisherTest {
+
+    @Test
+    void synchronousSendFailureIsCountedAndNotLeftInFlight() {
+        @SuppressWarnings("unchecked")
+        KafkaTemplate<String, String> template = mock(KafkaTemplate.class);
+        when(template.send(anyString(), anyString(), anyString())).thenThrow(new SerializationException("bad"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DirectEventPublisher publisher = new DirectEventPublisher(template, "md.bidask.normalized", registry, "test");
+
+        publisher.publish("1", "a");
+
+        assertThat(registry.get("md.collector.publish.failed").counter().count()).isEqualTo(1);
+        assertThat(registry.get("md.collector.publish.inflight").gauge().value()).isZero();
+    }
+}
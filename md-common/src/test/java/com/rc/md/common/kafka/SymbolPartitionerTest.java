@@ -0,0 +1,93 @@
+package com.rc.md.common.kafka;
+
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolPartitionerTest {
+
+    private static final String TOPIC = "md.bidask.normalized";
+
+    @Test
+    void heaviestSymbolsAreSpreadAcrossPartitions() {
+        Map<Integer, Double> weights = Map.of(1, 40.0, 2, 25.0, 3, 10.0, 4, 8.0, 5, 7.0, 6, 5.0);
+
+        Map<Integer, Integer> table = PartitionAssignment.plan(weights, Map.of(), 3, 0);
+
+        assertThat(table).containsEntry(1, 0).containsEntry(2, 1).containsEntry(3, 2);
+        assertThat(PartitionAssignment.loads(table, weights, 3)).containsExactly(40.0, 30.0, 25.0);
+    }
+
+    @Test
+    void pinnedSymbolsStayAndOnlyAllowedMovesAreMade() {
+        Map<Integer, Integer> current = Map.of(1, 0, 2, 0, 3, 1);
+        Map<Integer, Double> weights = Map.of(1, 40.0, 2, 30.0, 3, 10.0, 4, 5.0);
+
+        Map<Integer, Integer> pinned = PartitionAssignment.plan(weights, current, 2, 0);
+        assertThat(pinned).containsEntry(1, 0).containsEntry(2, 0).containsEntry(3, 1).containsEntry(4, 1);
+
+        Map<Integer, Integer> rebalanced = PartitionAssignment.plan(weights, current, 2, 1);
+        assertThat(rebalanced).containsEntry(1, 0).containsEntry(2, 1).containsEntry(3, 1);
+        assertThat(PartitionAssignment.loads(rebalanced, weights, 2)).containsExactly(40.0, 45.0);
+    }
+
+    @Test
+    void formatRoundTripsThroughParse() {
+        Map<Integer, Integer> table = Map.of(2, 1, 10, 0, 1, 4);
+
+        String spec = PartitionAssignment.format(table);
+
+        assertThat(spec).isEqualTo("1:4,2:1,10:0");
+        assertThat(PartitionAssignment.parse(spec, Integer::parseInt)).isEqualTo(table);
+    }
+
+    @Test
+    void listedSymbolsFollowTheTableAndOtherKeysAreHashed() {
+        SymbolPartitioner partitioner = new SymbolPartitioner();
+        partitioner.configure(Map.of(
+                SymbolPartitioner.WEIGHTS_CONFIG, "1:40,2:25,3:10",
+                SymbolPartitioner.ASSIGNMENT_CONFIG, "2:4"));
+        Cluster cluster = cluster(5);
+
+        assertThat(partition(partitioner, cluster, "2")).isEqualTo(4);
+        assertThat(partition(partitioner, cluster, "1")).isZero();
+        assertThat(partition(partitioner, cluster, "3")).isEqualTo(1);
+        for (String key : List.of("100042", "1:60:1764470000")) {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            assertThat(partition(partitioner, cluster, key)).isEqualTo(Utils.toPositive(Utils.murmur2(bytes)) % 5);
+        }
+        // stable for every record of a symbol
+        assertThat(partition(partitioner, cluster, "1")).isZero();
+    }
+
+    @Test
+    void symbolIdAcceptsOnlyPlainNumbers() {
+        assertThat(SymbolPartitioner.symbolId("100042")).isEqualTo(100_042);
+        assertThat(SymbolPartitioner.symbolId("1:60:0")).isEqualTo(-1);
+        assertThat(SymbolPartitioner.symbolId("")).isEqualTo(-1);
+        assertThat(SymbolPartitioner.symbolId("12345678901")).isEqualTo(-1);
+    }
+
+    private static int partition(SymbolPartitioner partitioner, Cluster cluster, String key) {
+        return partitioner.partition(TOPIC, key, key.getBytes(StandardCharsets.UTF_8), null, null, cluster);
+    }
+
+    private static Cluster cluster(int partitions) {
+        Node node = new Node(0, "localhost", 9092);
+        List<PartitionInfo> infos = new ArrayList<>();
+        for (int p = 0; p < partitions; p++) {
+            infos.add(new PartitionInfo(TOPIC, p, node, new Node[]{node}, new Node[]{node}));
+        }
+        return new Cluster("test", List.of(node), infos, Set.of(), Set.of());
+    }
+}
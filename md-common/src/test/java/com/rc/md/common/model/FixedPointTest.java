@@ -0,0 +1,64 @@
+package com.rc.md.common.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixedPointTest {
+
+    @Test
+    void parsesDecimalsExactly() {
+        assertThat(FixedPoint.parse("90000.12000000", 2)).isEqualTo(9_000_012L);
+        assertThat(FixedPoint.parse("0.1", 8)).isEqualTo(10_000_000L);
+        assertThat(FixedPoint.parse("3000", 2)).isEqualTo(300_000L);
+        assertThat(FixedPoint.parse("1.005", 2)).isEqualTo(101L);
+        assertThat(FixedPoint.parse("1.0049", 2)).isEqualTo(100L);
+        assertThat(FixedPoint.parse("-2.5", 0)).isEqualTo(-3L);
+        assertThatThrownBy(() -> FixedPoint.parse("1e5", 2)).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> FixedPoint.parse(".", 2)).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void convertsAndRoundsMid() {
+        assertThat(FixedPoint.toMantissa(0.1 + 0.2, 2)).isEqualTo(30L);
+        assertThat(FixedPoint.toMantissa(2.5, 0)).isEqualTo(3L);
+        assertThat(FixedPoint.toMantissa(-2.5, 0)).isEqualTo(FixedPoint.parse("-2.5", 0));
+        for (double x : new double[]{1.005, 1.115, 0.145, -1.005}) {
+            assertThat(FixedPoint.toMantissa(x, 2)).as("%s", x).isEqualTo(FixedPoint.parse(Double.toString(x), 2));
+        }
+        assertThat(FixedPoint.toMantissa(1.005, 2)).isEqualTo(101L);
+        assertThat(FixedPoint.toDouble(9_000_012L, 2)).isEqualTo(90000.12);
+        assertThat(FixedPoint.mid(100, 103)).isEqualTo(102L);
+        assertThat(FixedPoint.mid(100, 102)).isEqualTo(101L);
+    }
+
+    @Test
+    void serializesOnlyThePopulatedPricePair() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        String doubles = mapper.writeValueAsString(new BidAskEvent(1, 100.5, 101.5, 1_700_000_000L));
+        String fixed = mapper.writeValueAsString(BidAskEvent.fixed(1, 10_050, 10_150, 1_700_000_000L));
+
+        assertThat(doubles).isEqualTo("{\"symbolId\":1,\"bid\":100.5,\"ask\":101.5,\"timestamp\":1700000000}");
+        assertThat(fixed).isEqualTo("{\"symbolId\":1,\"timestamp\":1700000000,\"bidPx\":10050,\"askPx\":10150}");
+        BidAskEvent decoded = mapper.readValue(fixed, BidAskEvent.class);
+        assertThat(decoded.isFixed()).isTrue();
+        assertThat(decoded.bid(2)).isEqualTo(100.5);
+        assertThat(mapper.readValue(doubles, BidAskEvent.class).askPx(2)).isEqualTo(10_150L);
+    }
+
+    @Test
+    void zeroMantissasStayFixed() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        BidAskEvent zero = BidAskEvent.fixed(1, 0, 0, 1_700_000_000L);
+
+        String json = mapper.writeValueAsString(zero);
+
+        assertThat(zero.isFixed()).isTrue();
+        assertThat(json).isEqualTo("{\"symbolId\":1,\"timestamp\":1700000000,\"bidPx\":0,\"askPx\":0}");
+        assertThat(mapper.readValue(json, BidAskEvent.class).isFixed()).isTrue();
+        assertThat(new BidAskEvent(1, 100.5, 101.5, 1_700_000_000L).isFixed()).isFalse();
+    }
+}
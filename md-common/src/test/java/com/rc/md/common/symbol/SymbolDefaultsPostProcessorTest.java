@@ -0,0 +1,28 @@
+package com.rc.md.common.symbol;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolDefaultsPostProcessorTest {
+
+    @Test
+    void sharedSymbolsAreDefaultsThatApplicationConfigOverrides() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("application",
+                Map.of("md.symbols.default-scale", "4", "md.symbols.names.42", "TEST-USD")));
+
+        new SymbolDefaultsPostProcessor().postProcessEnvironment(environment, new SpringApplication());
+        SymbolProperties properties = Binder.get(environment).bind("md.symbols", SymbolProperties.class).get();
+
+        assertThat(properties.getDefaultScale()).isEqualTo(4);
+        assertThat(properties.getNames()).containsEntry(1, "BTC-USD").containsEntry(42, "TEST-USD");
+        assertThat(properties.getRanges()).extracting(SymbolProperties.Range::getPrefix).containsExactly("SIM-");
+    }
+}
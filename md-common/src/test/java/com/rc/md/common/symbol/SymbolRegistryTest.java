@@ -0,0 +1,61 @@
+package com.rc.md.common.symbol;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SymbolRegistryTest {
+
+    @Test
+    void resolvesNamedAndGeneratedSymbolsBothWays() {
+        SymbolRegistry registry = new SymbolRegistry(properties());
+
+        assertThat(registry.id("BTC-USD")).isEqualTo(1);
+        assertThat(registry.name(1)).isEqualTo("BTC-USD");
+        assertThat(registry.id("SIM-00042")).isEqualTo(100_042);
+        assertThat(registry.name(100_042)).isEqualTo("SIM-00042");
+
+        assertThat(registry.id("SIM-00100")).isEqualTo(SymbolRegistry.UNKNOWN);
+        assertThat(registry.id("SIM-0042")).isEqualTo(SymbolRegistry.UNKNOWN);
+        assertThat(registry.id("DOGE-USD")).isEqualTo(SymbolRegistry.UNKNOWN);
+        assertThat(registry.name(100_100)).isNull();
+        assertThat(registry.range("SIM-").getFirstId()).isEqualTo(100_000);
+        assertThat(registry.range("TEST-")).isNull();
+        assertThatThrownBy(() -> registry.require("DOGE-USD")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void visitsEverySymbolOnce() {
+        SymbolRegistry registry = new SymbolRegistry(properties());
+        List<Integer> ids = new ArrayList<>();
+
+        registry.forEach((id, name) -> ids.add(id));
+
+        assertThat(ids).hasSize(registry.size()).doesNotHaveDuplicates().startsWith(1, 2);
+        assertThat(registry.size()).isEqualTo(102);
+    }
+
+    @Test
+    void rejectsIdsInsideARange() {
+        SymbolProperties properties = properties();
+        properties.getNames().put(100_005, "ETH-USD-2");
+
+        assertThatThrownBy(() -> new SymbolRegistry(properties)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SymbolProperties properties() {
+        SymbolProperties properties = new SymbolProperties();
+        properties.getNames().putAll(Map.of(1, "BTC-USD", 2, "ETH-USD"));
+        SymbolProperties.Range range = new SymbolProperties.Range();
+        range.setPrefix("SIM-");
+        range.setFirstId(100_000);
+        range.setCount(100);
+        properties.getRanges().add(range);
+        return properties;
+    }
+}
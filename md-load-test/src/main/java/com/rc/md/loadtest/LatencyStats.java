@@ -0,0 +1,107 @@
+package com.rc.md.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency recording for load runs, in nanoseconds.
+ * <p>
+ * {@code response} is measured from the intended send time and so includes any queueing delay
+ * caused by the system under test (coordinated-omission corrected); {@code service} is measured
+ * from the actual send. In a closed loop both are the same.
+ */
+@Slf4j
+public class LatencyStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int MAX_ERROR_SAMPLES = 5;
+
+    private final Recorder response = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder service = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final Queue<String> errorSamples = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sampled = new AtomicInteger();
+
+    private Histogram responseHistogram;
+    private Histogram serviceHistogram;
+
+    /**
+     * Combines completed stats, e.g. all scenarios of a run.
+     */
+    public static LatencyStats merge(Collection<LatencyStats> parts) {
+        LatencyStats merged = new LatencyStats();
+        merged.responseHistogram = new Histogram(SIGNIFICANT_DIGITS);
+        merged.serviceHistogram = new Histogram(SIGNIFICANT_DIGITS);
+        for (LatencyStats part : parts) {
+            merged.responseHistogram.add(part.responseHistogram);
+            merged.serviceHistogram.add(part.serviceHistogram);
+            merged.errors.add(part.errors.sum());
+            part.errorSamples.forEach(e -> {
+                if (merged.sampled.incrementAndGet() <= MAX_ERROR_SAMPLES) {
+                    merged.errorSamples.add(e);
+                }
+            });
+        }
+        return merged;
+    }
+
+    public void record(long intendedStartNanos, long actualStartNanos, long endNanos) {
+        response.recordValue(endNanos - intendedStartNanos);
+        service.recordValue(endNanos - actualStartNanos);
+    }
+
+    public void recordError(String error) {
+        errors.increment();
+        if (sampled.incrementAndGet() <= MAX_ERROR_SAMPLES) {
+            errorSamples.add(error);
+        }
+    }
+
+    /**
+     * Freezes the recorded values; call once all requests have completed.
+     */
+    public void complete() {
+        responseHistogram = response.getIntervalHistogram();
+        serviceHistogram = service.getIntervalHistogram();
+    }
+
+    public Histogram responseHistogram() { return responseHistogram; }
+    public Histogram serviceHistogram() { return serviceHistogram; }
+    public long errorCount() { return errors.sum(); }
+
+    public void log(String label, double totalSeconds) {
+        long count = responseHistogram.getTotalCount();
+        log.info("[{}] requests={}, errors={}, throughput={} req/s",
+                label, count, errors.sum(), String.format("%.2f", count / totalSeconds));
+        logPercentiles(label + " response (from intended start)", responseHistogram);
+        logPercentiles(label + " service (from actual send)", serviceHistogram);
+        if (errors.sum() > 0) {
+            log.warn("[{}] {} errors (showing up to {}):", label, errors.sum(), MAX_ERROR_SAMPLES);
+            errorSamples.forEach(err -> log.warn("  {}", err));
+        }
+    }
+
+    private static void logPercentiles(String label, Histogram h) {
+        log.info("{} latency (ms): min={}, avg={}, p50={}, p90={}, p99={}, p99.9={}, p99.99={}, max={}",
+                label,
+                millis(h.getMinValue()),
+                millis((long) h.getMean()),
+                millis(h.getValueAtPercentile(50)),
+                millis(h.getValueAtPercentile(90)),
+                millis(h.getValueAtPercentile(99)),
+                millis(h.getValueAtPercentile(99.9)),
+                millis(h.getValueAtPercentile(99.99)),
+                millis(h.getMaxValue()));
+    }
+
+    static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
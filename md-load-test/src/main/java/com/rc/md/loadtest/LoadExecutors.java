@@ -0,0 +1,34 @@
+package com.rc.md.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors whose concurrency is not bounded by a pool size.
+ */
+@Slf4j
+final class LoadExecutors {
+
+    private LoadExecutors() {
+    }
+
+    /**
+     * One virtual thread per task when running on a JDK that has them (21+), otherwise an
+     * unbounded cached pool. Looked up reflectively because the build targets Java 17.
+     */
+    static ExecutorService newPerTaskExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Using virtual threads for request execution");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            log.info("Virtual threads not available on Java {}, using an unbounded cached thread pool",
+                    Runtime.version().feature());
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -1,20 +1,38 @@
 package com.rc.md.loadtest;
 
+import com.rc.md.loadtest.e2e.E2eHarness;
+import com.rc.md.loadtest.e2e.E2eResult;
+import com.rc.md.loadtest.report.ResultReporter;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 
+import java.time.Instant;
+import java.util.Map;
+
 @SpringBootApplication
 @ConfigurationPropertiesScan
 @EnableFeignClients(basePackages = "com.rc.md.client.analytics")
 public class LoadTestApplication implements CommandLineRunner {
 
     private final LoadTestRunner runner;
+    private final OpenLoopRunner openLoopRunner;
+    private final E2eHarness e2eHarness;
+    private final ResultReporter resultReporter;
+    private final LoadTestProperties properties;
 
-    public LoadTestApplication(LoadTestRunner runner) {
+    public LoadTestApplication(LoadTestRunner runner,
+                               OpenLoopRunner openLoopRunner,
+                               E2eHarness e2eHarness,
+                               ResultReporter resultReporter,
+                               LoadTestProperties properties) {
         this.runner = runner;
+        this.openLoopRunner = openLoopRunner;
+        this.e2eHarness = e2eHarness;
+        this.resultReporter = resultReporter;
+        this.properties = properties;
     }
 
     public static void main(String[] args) {
@@ -23,8 +41,17 @@ public class LoadTestApplication implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
-        runner.runOnce();
-        // exit after test so it behaves like a CLI
-        System.exit(0);
+        Instant startedAt = Instant.now();
+        int exitCode = switch (properties.getMode()) {
+            case OPEN -> resultReporter.report(startedAt, openLoopRunner.run(), Map.of());
+            case CLOSED -> resultReporter.report(startedAt, runner.runOnce(), Map.of());
+            case E2E -> {
+                E2eResult result = e2eHarness.run();
+                yield resultReporter.report(startedAt, result.probes(), result.lagMetrics());
+            }
+            case COMPARE -> resultReporter.compareFiles();
+        };
+        // exit after test so it behaves like a CLI; non-zero on a regression against the baseline
+        System.exit(exitCode);
     }
 }
@@ -4,11 +4,34 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "md.load")
 public class LoadTestProperties {
 
+    /**
+     * CLOSED: each worker thread sends its next request when the previous one returns.
+     * OPEN: requests are fired at a fixed arrival rate regardless of response times.
+     * E2E: publishes ticks to Kafka and measures tick-to-candle visibility and ingest throughput.
+     * COMPARE: runs nothing, compares report.current against report.baseline.
+     */
+    private Mode mode = Mode.CLOSED;
+
+    /**
+     * Arrival rate in requests per second (OPEN mode).
+     */
+    private double ratePerSecond = 100;
+
+    /**
+     * How long requests are fired for (OPEN and E2E mode).
+     */
+    private int durationSeconds = 60;
+
     /**
      * Number of parallel worker threads generating load.
      */
@@ -39,9 +62,120 @@ public class LoadTestProperties {
      */
     private long to = 1764480000;
 
+    /**
+     * Scenario file with a weighted request mix (file: or classpath: location), e.g.
+     * classpath:scenarios/mixed.yml. When set, symbol/interval/from/to are ignored.
+     */
+    private String scenarioFile;
+
     /**
      * Whether to print each error in detail.
      */
     private boolean verboseErrors = false;
 
+    private E2e e2e = new E2e();
+
+    private Report report = new Report();
+
+    public enum Mode {
+        CLOSED,
+        OPEN,
+        E2E,
+        COMPARE
+    }
+
+    @Getter
+    @Setter
+    public static class E2e {
+
+        /**
+         * Background ticks published per second across {@link #loadSymbols}.
+         */
+        private double eventsPerSecond = 1000;
+
+        private List<String> loadSymbols = new ArrayList<>(List.of("BTC-USD", "ETH-USD", "SOL-USD", "BNB-USD"));
+
+        /**
+         * Symbol reserved for probe ticks; it must not be published by anything else.
+         */
+        private String probeSymbol = "E2E-PROBE";
+
+        /**
+         * Interval id polled for probe candles; the finest interval configured in the aggregator.
+         */
+        private String probeInterval = "1s";
+
+        /**
+         * A new probe tick is published every probeIntervalMillis.
+         */
+        private long probeIntervalMillis = 1000;
+
+        /**
+         * Delay between two history polls of one probe; bounds the measurement resolution.
+         */
+        private long pollIntervalMillis = 5;
+
+        private int probeTimeoutSeconds = 30;
+
+        /**
+         * Consumer group whose lag and throughput are sampled.
+         */
+        private String consumerGroup = "md-aggregator";
+
+        private int sampleIntervalSeconds = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Report {
+
+        /**
+         * Directory result files are written to; nothing is written when empty.
+         */
+        private String outputDir = "target/load-results";
+
+        /**
+         * Base name of the result files, defaults to the mode and start time.
+         */
+        private String name;
+
+        /**
+         * Result JSON to compare against. When set, the run fails (exit code 1) on a regression.
+         */
+        private String baseline;
+
+        /**
+         * Result JSON to check in COMPARE mode.
+         */
+        private String current;
+
+        private Tolerances tolerances = new Tolerances();
+    }
+
+    @Getter
+    @Setter
+    public static class Tolerances {
+
+        /**
+         * Largest allowed throughput drop, in percent of the baseline.
+         */
+        private double throughputDropPercent = 10;
+
+        /**
+         * Largest allowed increase per response latency percentile (p50, p90, p99, p999, p9999),
+         * in percent of the baseline. Percentiles not listed are not checked.
+         */
+        private Map<String, Double> latencyIncreasePercent = new LinkedHashMap<>(Map.of(
+                "p50", 10.0, "p99", 20.0, "p999", 30.0));
+
+        /**
+         * Latency increases below this are treated as noise, whatever the percentage.
+         */
+        private double minLatencyDeltaMillis = 1.0;
+
+        /**
+         * Largest allowed increase of the error rate (errors / requests), absolute.
+         */
+        private double maxErrorRateIncrease = 0.001;
+    }
 }
@@ -0,0 +1,95 @@
+package com.rc.md.loadtest;
+
+import com.rc.md.client.analytics.AnalyticsClient;
+import com.rc.md.common.api.HistoryResponse;
+import com.rc.md.loadtest.scenario.HistoryRequest;
+import com.rc.md.loadtest.scenario.Workload;
+import com.rc.md.loadtest.scenario.WorkloadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fires requests at a fixed arrival rate, independent of how fast responses come back.
+ * <p>
+ * Request {@code i} is due at {@code start + i / rate}; its latency is recorded from that intended
+ * time, so a stalled server shows up as queueing delay instead of silently lowering the rate.
+ */
+@Component
+@Slf4j
+public class OpenLoopRunner {
+
+    private final AnalyticsClient analyticsClient;
+    private final LoadTestProperties properties;
+    private final WorkloadFactory workloadFactory;
+
+    public OpenLoopRunner(AnalyticsClient analyticsClient,
+                          LoadTestProperties properties,
+                          WorkloadFactory workloadFactory) {
+        this.analyticsClient = analyticsClient;
+        this.properties = properties;
+        this.workloadFactory = workloadFactory;
+    }
+
+    public ScenarioStats run() throws Exception {
+        double rate = properties.getRatePerSecond();
+        long totalRequests = (long) (rate * properties.getDurationSeconds());
+        double intervalNanos = 1_000_000_000.0 / rate;
+        Workload workload = workloadFactory.create();
+        SplittableRandom random = new SplittableRandom(workload.seed());
+
+        log.info("Starting open-loop load test: rate={} req/s, durationSeconds={}, totalRequests={}",
+                rate, properties.getDurationSeconds(), totalRequests);
+
+        ScenarioStats stats = new ScenarioStats();
+        ExecutorService executor = LoadExecutors.newPerTaskExecutor();
+        long start = System.nanoTime();
+
+        for (long i = 0; i < totalRequests; i++) {
+            HistoryRequest req = workload.next(random);
+            long intended = start + (long) (i * intervalNanos);
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            executor.execute(() -> send(stats.forScenario(req.scenario()), intended, req));
+        }
+
+        long scheduledEnd = System.nanoTime();
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.MINUTES)) {
+            log.warn("Requests still outstanding 5 minutes after the last was fired");
+        }
+        long end = System.nanoTime();
+        stats.complete();
+
+        double sendSeconds = (scheduledEnd - start) / 1_000_000_000.0;
+        double totalSeconds = (end - start) / 1_000_000_000.0;
+        log.info("Open-loop load test completed: totalSeconds={}, achievedArrivalRate={} req/s",
+                String.format("%.3f", totalSeconds),
+                String.format("%.2f", totalRequests / sendSeconds));
+        stats.log(totalSeconds);
+        return stats;
+    }
+
+    private void send(LatencyStats stats, long intended, HistoryRequest req) {
+        long t0 = System.nanoTime();
+        try {
+            HistoryResponse res = analyticsClient.getHistory(req.symbol(), req.interval(), req.from(), req.to());
+            stats.record(intended, t0, System.nanoTime());
+            if (!"ok".equalsIgnoreCase(res.getS())) {
+                stats.recordError("Non-ok status: " + res.getS() + " msg=" + res.getMessage());
+            }
+        } catch (Exception e) {
+            stats.record(intended, t0, System.nanoTime());
+            stats.recordError("Exception: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (properties.isVerboseErrors()) {
+                log.warn("Request failed: {}", req, e);
+            }
+        }
+    }
+}
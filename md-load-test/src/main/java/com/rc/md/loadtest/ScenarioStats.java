@@ -0,0 +1,47 @@
+package com.rc.md.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link LatencyStats} broken down by scenario name.
+ */
+public class ScenarioStats {
+
+    private final ConcurrentHashMap<String, LatencyStats> byScenario = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private long endNanos;
+
+    public LatencyStats forScenario(String scenario) {
+        LatencyStats stats = byScenario.get(scenario);
+        return stats != null ? stats : byScenario.computeIfAbsent(scenario, s -> new LatencyStats());
+    }
+
+    public void complete() {
+        endNanos = System.nanoTime();
+        byScenario.values().forEach(LatencyStats::complete);
+    }
+
+    /**
+     * Time from creation until {@link #complete()}.
+     */
+    public double elapsedSeconds() {
+        return (endNanos - startNanos) / 1_000_000_000.0;
+    }
+
+    public Map<String, LatencyStats> scenarios() {
+        return new TreeMap<>(byScenario);
+    }
+
+    public LatencyStats total() {
+        return LatencyStats.merge(byScenario.values());
+    }
+
+    public void log(double totalSeconds) {
+        scenarios().forEach((name, stats) -> stats.log(name, totalSeconds));
+        if (byScenario.size() > 1) {
+            total().log("all", totalSeconds);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.rc.md.loadtest.e2e;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples end offsets and committed offsets of one consumer group on one topic.
+ */
+class ConsumerLagSampler implements AutoCloseable {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final AdminClient admin;
+    private final String group;
+    private final List<TopicPartition> partitions;
+
+    private long lastMillis = -1;
+    private long lastEnd;
+    private long lastCommitted;
+
+    ConsumerLagSampler(Map<String, Object> adminConfig, String topic, String group) throws Exception {
+        this.admin = AdminClient.create(adminConfig);
+        this.group = group;
+        this.partitions = admin.describeTopics(List.of(topic)).allTopicNames()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .get(topic)
+                .partitions().stream()
+                .map(p -> new TopicPartition(topic, p.partition()))
+                .toList();
+    }
+
+    LagSample sample() throws Exception {
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        partitions.forEach(tp -> latest.put(tp, OffsetSpec.latest()));
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends =
+                admin.listOffsets(latest).all().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(group)
+                .partitionsToOffsetAndMetadata().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        long now = System.currentTimeMillis();
+        long end = 0;
+        long done = 0;
+        for (TopicPartition tp : partitions) {
+            OffsetAndMetadata c = committed.get(tp);
+            if (c == null) {
+                // the group has not consumed from this partition yet
+                continue;
+            }
+            end += ends.get(tp).offset();
+            done += c.offset();
+        }
+
+        double produceRate = 0;
+        double consumeRate = 0;
+        if (lastMillis > 0 && now > lastMillis) {
+            double seconds = (now - lastMillis) / 1000.0;
+            produceRate = (end - lastEnd) / seconds;
+            consumeRate = (done - lastCommitted) / seconds;
+        }
+        lastMillis = now;
+        lastEnd = end;
+        lastCommitted = done;
+        return new LagSample(now, end, done, end - done, produceRate, consumeRate);
+    }
+
+    @Override
+    public void close() {
+        admin.close();
+    }
+}
@@ -0,0 +1,221 @@
+package com.rc.md.loadtest.e2e;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.client.analytics.AnalyticsClient;
+import com.rc.md.common.api.HistoryResponse;
+import com.rc.md.common.model.BidAskEvent;
+import com.rc.md.common.symbol.SymbolRegistry;
+import com.rc.md.loadtest.LatencyStats;
+import com.rc.md.loadtest.LoadTestProperties;
+import com.rc.md.loadtest.ScenarioStats;
+import com.rc.md.loadtest.scenario.ScenarioWorkload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end harness against a running broker, aggregator and analytics service.
+ * <ul>
+ *   <li>a load driver publishes background ticks at a controlled rate,</li>
+ *   <li>probes publish uniquely priced ticks on a reserved symbol and poll /api/v1/history until
+ *       the candle reflects them, measuring tick-to-candle visibility latency,</li>
+ *   <li>a sampler records the aggregator's consumer lag and throughput over time.</li>
+ * </ul>
+ * Probe prices strictly increase and bid == ask, so the aggregator's mid equals the probe price and
+ * a candle close at or above it proves the probe (and every earlier one) has been applied.
+ */
+@Slf4j
+@Component
+public class E2eHarness {
+
+    private static final double PROBE_BASE_PRICE = 1_000.0;
+
+    @Value("${topics.normalized:md.bidask.normalized}")
+    private String topic;
+
+    private final AnalyticsClient analyticsClient;
+    private final LoadTestProperties properties;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaAdmin kafkaAdmin;
+    private final SymbolRegistry symbolRegistry;
+    private final ObjectMapper objectMapper;
+
+    private volatile boolean running;
+
+    public E2eHarness(AnalyticsClient analyticsClient,
+                      LoadTestProperties properties,
+                      KafkaTemplate<String, String> kafkaTemplate,
+                      KafkaAdmin kafkaAdmin,
+                      SymbolRegistry symbolRegistry) {
+        this.analyticsClient = analyticsClient;
+        this.properties = properties;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaAdmin = kafkaAdmin;
+        this.symbolRegistry = symbolRegistry;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    public E2eResult run() throws Exception {
+        LoadTestProperties.E2e cfg = properties.getE2e();
+        int durationSeconds = properties.getDurationSeconds();
+        ScenarioStats probes = new ScenarioStats();
+        LatencyStats visibility = probes.forScenario("visibility");
+        List<LagSample> samples = new ArrayList<>();
+
+        log.info("Starting end-to-end run: durationSeconds={}, eventsPerSecond={}, loadSymbols={}, probeSymbol={}, probeInterval={}, consumerGroup={}",
+                durationSeconds, cfg.getEventsPerSecond(), cfg.getLoadSymbols(), cfg.getProbeSymbol(),
+                cfg.getProbeInterval(), cfg.getConsumerGroup());
+
+        int probeSymbolId = symbolRegistry.require(cfg.getProbeSymbol());
+        int[] loadSymbolIds = cfg.getLoadSymbols().stream().mapToInt(symbolRegistry::require).toArray();
+
+        running = true;
+        Thread driver = new Thread(() -> drive(cfg, loadSymbolIds), "e2e-load-driver");
+        driver.setDaemon(true);
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        ExecutorService pollers = Executors.newCachedThreadPool();
+        AtomicLong probeSeq = new AtomicLong();
+        long start = System.nanoTime();
+
+        try (ConsumerLagSampler sampler = new ConsumerLagSampler(
+                kafkaAdmin.getConfigurationProperties(), topic, cfg.getConsumerGroup())) {
+            driver.start();
+            scheduler.scheduleAtFixedRate(() -> probe(cfg, probeSymbolId, probeSeq.incrementAndGet(), visibility, pollers),
+                    0, cfg.getProbeIntervalMillis(), TimeUnit.MILLISECONDS);
+            scheduler.scheduleAtFixedRate(() -> sample(sampler, samples),
+                    0, cfg.getSampleIntervalSeconds(), TimeUnit.SECONDS);
+
+            Thread.sleep(durationSeconds * 1000L);
+
+            running = false;
+            scheduler.shutdown();
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            pollers.shutdown();
+            pollers.awaitTermination(cfg.getProbeTimeoutSeconds() + 5L, TimeUnit.SECONDS);
+            driver.join(5000);
+            kafkaTemplate.flush();
+        } finally {
+            running = false;
+            scheduler.shutdownNow();
+            pollers.shutdownNow();
+        }
+
+        double totalSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        probes.complete();
+        probes.log(totalSeconds);
+        E2eResult result = new E2eResult(probes, List.copyOf(samples), totalSeconds);
+        logLagSummary(result);
+        return result;
+    }
+
+    private void drive(LoadTestProperties.E2e cfg, int[] symbolIds) {
+        if (symbolIds.length == 0 || cfg.getEventsPerSecond() <= 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(42L);
+        double[] mids = new double[symbolIds.length];
+        Arrays.fill(mids, 100.0);
+        double periodNanos = 1_000_000_000.0 / cfg.getEventsPerSecond();
+        long start = System.nanoTime();
+        long sent = 0;
+        int next = 0;
+
+        while (running) {
+            long due = (long) ((System.nanoTime() - start) / periodNanos) + 1;
+            if (sent >= due) {
+                LockSupport.parkNanos(Math.min(50_000L, (long) periodNanos));
+                continue;
+            }
+            long ts = System.currentTimeMillis() / 1000;
+            for (; sent < due && running; sent++) {
+                mids[next] *= 1 + (random.nextDouble() - 0.5) * 0.001;
+                double mid = Math.round(mids[next] * 100.0) / 100.0;
+                publish(new BidAskEvent(symbolIds[next], mid - 0.01, mid + 0.01, ts));
+                next = (next + 1) % symbolIds.length;
+            }
+        }
+    }
+
+    private void probe(LoadTestProperties.E2e cfg, int symbolId, long seq, LatencyStats visibility, ExecutorService pollers) {
+        if (!running) {
+            return;
+        }
+        double price = PROBE_BASE_PRICE + seq / 100.0;
+        long ts = System.currentTimeMillis() / 1000;
+        long sentNanos = System.nanoTime();
+        publish(new BidAskEvent(symbolId, price, price, ts));
+        pollers.execute(() -> awaitVisible(cfg, price, ts, sentNanos, visibility));
+    }
+
+    private void awaitVisible(LoadTestProperties.E2e cfg, double price, long ts, long sentNanos, LatencyStats visibility) {
+        long sec = ScenarioWorkload.intervalSeconds(cfg.getProbeInterval());
+        long bucket = Math.floorDiv(ts, sec) * sec;
+        long deadline = sentNanos + TimeUnit.SECONDS.toNanos(cfg.getProbeTimeoutSeconds());
+
+        while (System.nanoTime() < deadline) {
+            try {
+                HistoryResponse res = analyticsClient.getHistory(cfg.getProbeSymbol(), cfg.getProbeInterval(), bucket, bucket);
+                List<Double> closes = res.getC();
+                if ("ok".equalsIgnoreCase(res.getS()) && closes != null && !closes.isEmpty()
+                        && closes.get(closes.size() - 1) >= price) {
+                    visibility.record(sentNanos, sentNanos, System.nanoTime());
+                    return;
+                }
+            } catch (Exception e) {
+                if (properties.isVerboseErrors()) {
+                    log.warn("Probe poll failed", e);
+                }
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(cfg.getPollIntervalMillis()));
+        }
+        visibility.recordError("Probe at price " + price + " not visible within " + cfg.getProbeTimeoutSeconds() + "s");
+    }
+
+    private void publish(BidAskEvent event) {
+        try {
+            kafkaTemplate.send(topic, Integer.toString(event.symbolId()), objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.warn("Failed to publish {}: {}", event, e.toString());
+        }
+    }
+
+    private void sample(ConsumerLagSampler sampler, List<LagSample> samples) {
+        try {
+            LagSample s = sampler.sample();
+            synchronized (samples) {
+                samples.add(s);
+            }
+            log.info("lag={}, produced={}/s, consumed={}/s", s.lag(),
+                    String.format("%.0f", s.produceRate()), String.format("%.0f", s.consumeRate()));
+        } catch (Exception e) {
+            log.warn("Failed to sample consumer lag: {}", e.toString());
+        }
+    }
+
+    private static void logLagSummary(E2eResult result) {
+        Map<String, Double> m = result.lagMetrics();
+        if (m.isEmpty()) {
+            log.warn("No consumer lag samples collected");
+            return;
+        }
+        log.info("Consumer lag summary: maxLag={}, finalLag={}, avgProduced={}/s, avgConsumed={}/s, peakConsumed={}/s",
+                m.get("maxLag").longValue(), m.get("finalLag").longValue(),
+                String.format("%.0f", m.get("avgProduceRate")), String.format("%.0f", m.get("avgConsumeRate")),
+                String.format("%.0f", m.get("peakConsumeRate")));
+    }
+}
@@ -0,0 +1,35 @@
+package com.rc.md.loadtest.e2e;
+
+import com.rc.md.loadtest.ScenarioStats;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Probe visibility latencies and the consumer lag time series of one end-to-end run.
+ */
+public record E2eResult(
+        ScenarioStats probes,
+        List<LagSample> lagSamples,
+        double durationSeconds
+) {
+
+    /**
+     * Lag and throughput summary over all samples but the first, which has no rates yet.
+     * Empty when fewer than two samples were taken.
+     */
+    public Map<String, Double> lagMetrics() {
+        List<LagSample> rated = lagSamples.stream().skip(1).toList();
+        if (rated.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("maxLag", (double) rated.stream().mapToLong(LagSample::lag).max().orElse(0));
+        metrics.put("finalLag", (double) rated.get(rated.size() - 1).lag());
+        metrics.put("avgProduceRate", rated.stream().mapToDouble(LagSample::produceRate).average().orElse(0));
+        metrics.put("avgConsumeRate", rated.stream().mapToDouble(LagSample::consumeRate).average().orElse(0));
+        metrics.put("peakConsumeRate", rated.stream().mapToDouble(LagSample::consumeRate).max().orElse(0));
+        return metrics;
+    }
+}
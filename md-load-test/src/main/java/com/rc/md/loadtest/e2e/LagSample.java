@@ -0,0 +1,13 @@
+package com.rc.md.loadtest.e2e;
+
+/**
+ * Consumer group position at one point in time. Rates are per second since the previous sample.
+ */
+public record LagSample(
+        long epochMillis,
+        long endOffsets,
+        long committedOffsets,
+        long lag,
+        double produceRate,
+        double consumeRate
+) {}
@@ -0,0 +1,63 @@
+package com.rc.md.loadtest.report;
+
+import com.rc.md.loadtest.LoadTestProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks a run against a baseline run, scenario by scenario and for the run total.
+ * <p>
+ * Throughput may not drop, and response latency percentiles and the error rate may not rise,
+ * beyond the configured tolerances. A scenario of the baseline that is missing from the current
+ * run is a regression; new scenarios are ignored.
+ */
+public final class BaselineComparator {
+
+    private static final String TOTAL = "all";
+
+    private BaselineComparator() {
+    }
+
+    public static Comparison compare(RunResult baseline, RunResult current, LoadTestProperties.Tolerances tolerances) {
+        List<Comparison.Check> checks = new ArrayList<>();
+        Map<String, ScenarioResult> currentScenarios = withTotal(current);
+        for (Map.Entry<String, ScenarioResult> e : withTotal(baseline).entrySet()) {
+            ScenarioResult cur = currentScenarios.get(e.getKey());
+            if (cur == null) {
+                checks.add(new Comparison.Check(e.getKey(), "present", 1, 0, 1, true));
+                continue;
+            }
+            compare(e.getKey(), e.getValue(), cur, tolerances, checks);
+        }
+        return new Comparison(checks);
+    }
+
+    private static void compare(String scenario, ScenarioResult base, ScenarioResult cur,
+                                LoadTestProperties.Tolerances tolerances, List<Comparison.Check> checks) {
+        double minThroughput = base.throughput() * (1 - tolerances.getThroughputDropPercent() / 100.0);
+        checks.add(new Comparison.Check(scenario, "throughput", base.throughput(), cur.throughput(),
+                minThroughput, cur.throughput() < minThroughput));
+
+        for (Map.Entry<String, Double> t : tolerances.getLatencyIncreasePercent().entrySet()) {
+            double b = base.response().percentile(t.getKey());
+            double c = cur.response().percentile(t.getKey());
+            double limit = Math.max(b * (1 + t.getValue() / 100.0), b + tolerances.getMinLatencyDeltaMillis());
+            checks.add(new Comparison.Check(scenario, t.getKey() + "_ms", b, c, limit, c > limit));
+        }
+
+        double maxErrorRate = base.errorRate() + tolerances.getMaxErrorRateIncrease();
+        checks.add(new Comparison.Check(scenario, "error_rate", base.errorRate(), cur.errorRate(),
+                maxErrorRate, cur.errorRate() > maxErrorRate));
+    }
+
+    private static Map<String, ScenarioResult> withTotal(RunResult run) {
+        Map<String, ScenarioResult> all = new LinkedHashMap<>(run.scenarios());
+        if (run.total() != null) {
+            all.put(TOTAL, run.total());
+        }
+        return all;
+    }
+}
@@ -0,0 +1,29 @@
+package com.rc.md.loadtest.report;
+
+import java.util.List;
+
+/**
+ * Every check {@link BaselineComparator} made, passing or not.
+ */
+public record Comparison(List<Check> checks) {
+
+    public boolean regressed() {
+        return checks.stream().anyMatch(Check::regression);
+    }
+
+    public List<Check> regressions() {
+        return checks.stream().filter(Check::regression).toList();
+    }
+
+    /**
+     * @param limit the worst value {@code current} may take before it counts as a regression
+     */
+    public record Check(
+            String scenario,
+            String metric,
+            double baseline,
+            double current,
+            double limit,
+            boolean regression
+    ) {}
+}
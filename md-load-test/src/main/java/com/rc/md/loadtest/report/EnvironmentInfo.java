@@ -0,0 +1,41 @@
+package com.rc.md.loadtest.report;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Describes the machine and JVM a run was made on, so results from different hosts are not
+ * compared by accident.
+ */
+final class EnvironmentInfo {
+
+    private EnvironmentInfo() {
+    }
+
+    static Map<String, String> collect() {
+        Runtime runtime = Runtime.getRuntime();
+        Map<String, String> env = new LinkedHashMap<>();
+        env.put("host", hostName());
+        env.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        env.put("arch", System.getProperty("os.arch"));
+        env.put("cpus", String.valueOf(runtime.availableProcessors()));
+        env.put("maxHeapMb", String.valueOf(runtime.maxMemory() / (1024 * 1024)));
+        env.put("javaVersion", System.getProperty("java.version"));
+        env.put("javaVendor", System.getProperty("java.vendor"));
+        env.put("vm", System.getProperty("java.vm.name") + " " + System.getProperty("java.vm.version"));
+        env.put("jvmArgs", String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments()));
+        // set by CI; there is no git metadata inside the packaged jar
+        env.put("gitCommit", System.getenv().getOrDefault("GIT_COMMIT", "unknown"));
+        return env;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.rc.md.loadtest.report;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * Latency distribution in milliseconds.
+ * <p>
+ * {@code histogram} carries the complete HdrHistogram (in nanoseconds) as base64 of its compressed
+ * encoding, so any percentile can be recomputed later; see {@link #decodeHistogram()}.
+ */
+public record LatencySummary(
+        double min,
+        double mean,
+        double max,
+        Map<String, Double> percentiles,
+        String histogram
+) {
+
+    /**
+     * Reported percentiles, keyed as they appear in results and tolerances.
+     */
+    public static final Map<String, Double> PERCENTILES;
+
+    static {
+        Map<String, Double> p = new LinkedHashMap<>();
+        p.put("p50", 50.0);
+        p.put("p90", 90.0);
+        p.put("p99", 99.0);
+        p.put("p999", 99.9);
+        p.put("p9999", 99.99);
+        PERCENTILES = Collections.unmodifiableMap(p);
+    }
+
+    public static LatencySummary of(Histogram h) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        PERCENTILES.forEach((key, percentile) -> percentiles.put(key, millis(h.getValueAtPercentile(percentile))));
+        ByteBuffer buffer = ByteBuffer.allocate(h.getNeededByteBufferCapacity());
+        int length = h.encodeIntoCompressedByteBuffer(buffer);
+        String encoded = Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+        return new LatencySummary(
+                h.getTotalCount() == 0 ? 0 : millis(h.getMinValue()),
+                h.getMean() / 1_000_000.0,
+                millis(h.getMaxValue()),
+                percentiles,
+                encoded);
+    }
+
+    public Histogram decodeHistogram() throws DataFormatException {
+        return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(histogram)), 0);
+    }
+
+    public double percentile(String key) {
+        Double value = percentiles.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown percentile " + key + ", expected one of " + PERCENTILES.keySet());
+        }
+        return value;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,169 @@
+package com.rc.md.loadtest.report;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rc.md.loadtest.LatencyStats;
+import com.rc.md.loadtest.LoadTestProperties;
+import com.rc.md.loadtest.ScenarioStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * Writes run results to disk and checks them against a baseline.
+ * <p>
+ * For every run, {@code outputDir} receives:
+ * <ul>
+ *   <li>{@code <name>.json}: a {@link RunResult}, including the encoded histograms,</li>
+ *   <li>{@code <name>.csv}: one row of throughput and response percentiles per scenario,</li>
+ *   <li>{@code <name>-<scenario>.hgrm}: the HdrHistogram percentile distribution in ms.</li>
+ * </ul>
+ * The methods return the process exit code: 0 when fine, 1 on a regression.
+ */
+@Slf4j
+@Component
+public class ResultReporter {
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final List<String> COMPARABLE_ENVIRONMENT = List.of("host", "cpus", "maxHeapMb", "javaVersion");
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public ResultReporter(LoadTestProperties properties) {
+        this.properties = properties;
+        this.objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public int report(Instant startedAt, ScenarioStats stats, Map<String, Double> metrics) throws IOException {
+        RunResult result = build(startedAt, stats, metrics);
+        write(result);
+
+        String baseline = properties.getReport().getBaseline();
+        if (baseline == null || baseline.isBlank()) {
+            return 0;
+        }
+        return check(read(Path.of(baseline)), result);
+    }
+
+    /**
+     * COMPARE mode: checks report.current against report.baseline without running anything.
+     */
+    public int compareFiles() throws IOException {
+        LoadTestProperties.Report cfg = properties.getReport();
+        if (cfg.getBaseline() == null || cfg.getCurrent() == null) {
+            throw new IllegalStateException("md.load.report.baseline and md.load.report.current are required in COMPARE mode");
+        }
+        return check(read(Path.of(cfg.getBaseline())), read(Path.of(cfg.getCurrent())));
+    }
+
+    public RunResult read(Path file) throws IOException {
+        return objectMapper.readValue(file.toFile(), RunResult.class);
+    }
+
+    RunResult build(Instant startedAt, ScenarioStats stats, Map<String, Double> metrics) {
+        double totalSeconds = stats.elapsedSeconds();
+        Map<String, ScenarioResult> scenarios = new LinkedHashMap<>();
+        stats.scenarios().forEach((name, s) -> scenarios.put(name, ScenarioResult.of(s, totalSeconds)));
+        LatencyStats total = stats.total();
+
+        String name = properties.getReport().getName();
+        if (name == null || name.isBlank()) {
+            name = properties.getMode().name().toLowerCase(Locale.ROOT) + "-" + FILE_TIME.format(startedAt);
+        }
+
+        Map<String, Object> parameters = objectMapper.convertValue(properties, new TypeReference<>() {});
+        parameters.remove("report");
+
+        return new RunResult(name, properties.getMode().name(), startedAt.toString(), totalSeconds,
+                EnvironmentInfo.collect(), parameters, scenarios, ScenarioResult.of(total, totalSeconds),
+                metrics == null ? Map.of() : metrics);
+    }
+
+    private void write(RunResult result) throws IOException {
+        String outputDir = properties.getReport().getOutputDir();
+        if (outputDir == null || outputDir.isBlank()) {
+            return;
+        }
+        Path dir = Files.createDirectories(Path.of(outputDir));
+        objectMapper.writeValue(dir.resolve(result.name() + ".json").toFile(), result);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(dir.resolve(result.name() + ".csv")))) {
+            csv.print("scenario,requests,errors,throughput,min_ms,mean_ms");
+            LatencySummary.PERCENTILES.keySet().forEach(p -> csv.print("," + p + "_ms"));
+            csv.println(",max_ms");
+            result.scenarios().forEach((name, s) -> csvRow(csv, name, s));
+            csvRow(csv, "all", result.total());
+        }
+
+        for (Map.Entry<String, ScenarioResult> e : result.scenarios().entrySet()) {
+            Path hgrm = dir.resolve(result.name() + "-" + e.getKey().replaceAll("[^A-Za-z0-9._-]", "_") + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                e.getValue().response().decodeHistogram().outputPercentileDistribution(out, 1_000_000.0);
+            } catch (DataFormatException ex) {
+                throw new IOException("Failed to write " + hgrm, ex);
+            }
+        }
+        log.info("Results written to {}", dir.resolve(result.name() + ".json").toAbsolutePath());
+    }
+
+    private static void csvRow(PrintWriter csv, String scenario, ScenarioResult s) {
+        LatencySummary r = s.response();
+        StringBuilder row = new StringBuilder()
+                .append(scenario).append(',')
+                .append(s.requests()).append(',')
+                .append(s.errors()).append(',')
+                .append(format(s.throughput())).append(',')
+                .append(format(r.min())).append(',')
+                .append(format(r.mean()));
+        r.percentiles().values().forEach(v -> row.append(',').append(format(v)));
+        row.append(',').append(format(r.max()));
+        csv.println(row);
+    }
+
+    private int check(RunResult baseline, RunResult current) {
+        for (String key : COMPARABLE_ENVIRONMENT) {
+            String b = baseline.environment().get(key);
+            String c = current.environment().get(key);
+            if (b != null && !b.equals(c)) {
+                log.warn("Baseline {} was recorded with {}={}, this run has {}", baseline.name(), key, b, c);
+            }
+        }
+        Comparison comparison = BaselineComparator.compare(baseline, current, properties.getReport().getTolerances());
+        for (Comparison.Check c : comparison.checks()) {
+            String line = String.format(Locale.ROOT, "[%s] %s: baseline=%s, current=%s, limit=%s",
+                    c.scenario(), c.metric(), format(c.baseline()), format(c.current()), format(c.limit()));
+            if (c.regression()) {
+                log.error("REGRESSION {}", line);
+            } else {
+                log.info("ok {}", line);
+            }
+        }
+        if (comparison.regressed()) {
+            log.error("{} of {} checks regressed against baseline {}",
+                    comparison.regressions().size(), comparison.checks().size(), baseline.name());
+            return 1;
+        }
+        log.info("No regressions against baseline {} ({} checks)", baseline.name(), comparison.checks().size());
+        return 0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
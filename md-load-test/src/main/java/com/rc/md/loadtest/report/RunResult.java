@@ -0,0 +1,21 @@
+package com.rc.md.loadtest.report;
+
+import java.util.Map;
+
+/**
+ * Everything needed to compare one load run against another: what ran, where it ran, and the
+ * full latency distribution per scenario. Serialized as JSON by {@link ResultReporter}.
+ *
+ * @param metrics mode specific scalars, e.g. consumer lag figures of an E2E run
+ */
+public record RunResult(
+        String name,
+        String mode,
+        String startedAt,
+        double durationSeconds,
+        Map<String, String> environment,
+        Map<String, Object> parameters,
+        Map<String, ScenarioResult> scenarios,
+        ScenarioResult total,
+        Map<String, Double> metrics
+) {}
@@ -0,0 +1,29 @@
+package com.rc.md.loadtest.report;
+
+import com.rc.md.loadtest.LatencyStats;
+
+/**
+ * Outcome of one scenario, or of the whole run under {@link RunResult#total()}.
+ */
+public record ScenarioResult(
+        long requests,
+        long errors,
+        double throughput,
+        LatencySummary response,
+        LatencySummary service
+) {
+
+    public static ScenarioResult of(LatencyStats stats, double totalSeconds) {
+        long requests = stats.responseHistogram().getTotalCount();
+        return new ScenarioResult(
+                requests,
+                stats.errorCount(),
+                totalSeconds > 0 ? requests / totalSeconds : 0,
+                LatencySummary.of(stats.responseHistogram()),
+                LatencySummary.of(stats.serviceHistogram()));
+    }
+
+    public double errorRate() {
+        return requests == 0 ? 0 : errors / (double) requests;
+    }
+}
@@ -0,0 +1,12 @@
+package com.rc.md.loadtest.scenario;
+
+/**
+ * One generated history call, tagged with the scenario it was drawn from.
+ */
+public record HistoryRequest(
+        String scenario,
+        String symbol,
+        String interval,
+        long from,
+        long to
+) {}
@@ -0,0 +1,125 @@
+package com.rc.md.loadtest.scenario;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of request scenarios loaded from a {@link WorkloadFile}.
+ */
+public class ScenarioWorkload implements Workload {
+
+    private final long seed;
+    private final long anchor;
+    private final String[] symbols;
+    private final ZipfSampler symbolSampler;
+    private final Compiled[] scenarios;
+    private final double[] scenarioCdf;
+
+    public ScenarioWorkload(WorkloadFile file) {
+        List<String> names = file.getSymbols().getNames();
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("Scenario file must list at least one symbol");
+        }
+        if (file.getScenarios().isEmpty()) {
+            throw new IllegalArgumentException("Scenario file must define at least one scenario");
+        }
+        this.seed = file.getSeed();
+        this.anchor = file.getAnchor() > 0 ? file.getAnchor() : Instant.now().getEpochSecond();
+        this.symbols = names.toArray(new String[0]);
+        this.symbolSampler = new ZipfSampler(symbols.length, file.getSymbols().getZipfExponent());
+
+        this.scenarios = new Compiled[file.getScenarios().size()];
+        double[] weights = new double[scenarios.length];
+        for (int i = 0; i < scenarios.length; i++) {
+            WorkloadFile.Scenario s = file.getScenarios().get(i);
+            scenarios[i] = new Compiled(s);
+            weights[i] = s.getWeight();
+        }
+        this.scenarioCdf = WeightedChoice.cumulative(weights);
+    }
+
+    @Override
+    public HistoryRequest next(RandomGenerator random) {
+        Compiled scenario = scenarios[WeightedChoice.pick(scenarioCdf, random)];
+        String symbol = symbols[symbolSampler.sample(random)];
+        int i = WeightedChoice.pick(scenario.intervalCdf, random);
+        long sec = scenario.intervalSeconds[i];
+
+        long bars = scenario.bars(random);
+        long end = Math.floorDiv(anchor, sec) * sec;
+        if (scenario.spec.getKind() == WorkloadFile.Kind.RANGE && scenario.spec.getMaxAgeBars() > 0) {
+            end -= random.nextLong(scenario.spec.getMaxAgeBars() + 1) * sec;
+        }
+        long from = end - (bars - 1) * sec;
+        return new HistoryRequest(scenario.spec.getName(), symbol, scenario.intervalIds[i], from, end);
+    }
+
+    @Override
+    public long seed() {
+        return seed;
+    }
+
+    public long anchor() {
+        return anchor;
+    }
+
+    /**
+     * Parses interval ids such as 1s, 5m, 1h or 1d into seconds.
+     */
+    public static long intervalSeconds(String id) {
+        String s = id.trim().toLowerCase();
+        long unit = switch (s.charAt(s.length() - 1)) {
+            case 's' -> 1;
+            case 'm' -> 60;
+            case 'h' -> 3_600;
+            case 'd' -> 86_400;
+            default -> throw new IllegalArgumentException("Unsupported interval id: " + id);
+        };
+        return Long.parseLong(s.substring(0, s.length() - 1)) * unit;
+    }
+
+    private static final class Compiled {
+        private final WorkloadFile.Scenario spec;
+        private final String[] intervalIds;
+        private final long[] intervalSeconds;
+        private final double[] intervalCdf;
+
+        private Compiled(WorkloadFile.Scenario spec) {
+            if (spec.getIntervals().isEmpty()) {
+                throw new IllegalArgumentException("Scenario " + spec.getName() + " has no intervals");
+            }
+            WorkloadFile.Bars bars = spec.getBars();
+            if (bars.getMin() < 1 || bars.getMax() < bars.getMin()) {
+                throw new IllegalArgumentException("Scenario " + spec.getName() + " needs 1 <= bars.min <= bars.max");
+            }
+            this.spec = spec;
+            int n = spec.getIntervals().size();
+            this.intervalIds = new String[n];
+            this.intervalSeconds = new long[n];
+            double[] weights = new double[n];
+            int i = 0;
+            for (Map.Entry<String, Double> e : spec.getIntervals().entrySet()) {
+                intervalIds[i] = e.getKey();
+                intervalSeconds[i] = intervalSeconds(e.getKey());
+                weights[i] = e.getValue();
+                i++;
+            }
+            this.intervalCdf = WeightedChoice.cumulative(weights);
+        }
+
+        private long bars(RandomGenerator random) {
+            WorkloadFile.Bars bars = spec.getBars();
+            if (bars.getMin() == bars.getMax()) {
+                return bars.getMin();
+            }
+            if (bars.getDistribution() == WorkloadFile.Distribution.LOG_UNIFORM) {
+                double lo = Math.log(bars.getMin());
+                double hi = Math.log(bars.getMax() + 1);
+                return Math.min(bars.getMax(), (long) Math.exp(lo + random.nextDouble() * (hi - lo)));
+            }
+            return bars.getMin() + random.nextLong(bars.getMax() - bars.getMin() + 1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.rc.md.loadtest.scenario;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks an index with probability proportional to its weight, by binary search over the
+ * normalized cumulative weights.
+ */
+final class WeightedChoice {
+
+    private WeightedChoice() {
+    }
+
+    static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("weights must be >= 0");
+            }
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("weights must not all be 0");
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    static int pick(double[] cdf, RandomGenerator random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        int index = i >= 0 ? i + 1 : -i - 1;
+        return Math.min(index, cdf.length - 1);
+    }
+}
@@ -0,0 +1,35 @@
+package com.rc.md.loadtest.scenario;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Source of history requests. Implementations are stateless; callers pass their own random
+ * stream so several threads can draw requests without contention.
+ */
+public interface Workload {
+
+    HistoryRequest next(RandomGenerator random);
+
+    /**
+     * Seed the callers' random streams are derived from.
+     */
+    long seed();
+
+    /**
+     * Always the same request, as configured by md.load.symbol/interval/from/to.
+     */
+    static Workload fixed(String symbol, String interval, long from, long to) {
+        HistoryRequest request = new HistoryRequest("history", symbol, interval, from, to);
+        return new Workload() {
+            @Override
+            public HistoryRequest next(RandomGenerator random) {
+                return request;
+            }
+
+            @Override
+            public long seed() {
+                return 0L;
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.rc.md.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.rc.md.loadtest.LoadTestProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Builds the {@link Workload} for a run: the scenario file from md.load.scenarioFile when set,
+ * otherwise the single fixed request.
+ */
+@Slf4j
+@Component
+public class WorkloadFactory {
+
+    private final LoadTestProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper yamlMapper;
+
+    public WorkloadFactory(LoadTestProperties properties,
+                           ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.yamlMapper = JsonMapper.builder(new YAMLFactory())
+                .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    public Workload create() throws IOException {
+        String location = properties.getScenarioFile();
+        if (location == null || location.isBlank()) {
+            return Workload.fixed(properties.getSymbol(), properties.getInterval(),
+                    properties.getFrom(), properties.getTo());
+        }
+
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            WorkloadFile file = yamlMapper.readValue(in, WorkloadFile.class);
+            ScenarioWorkload workload = new ScenarioWorkload(file);
+            log.info("Loaded scenario file {}: scenarios={}, symbols={}, seed={}, anchor={}",
+                    location,
+                    file.getScenarios().stream().map(WorkloadFile.Scenario::getName).toList(),
+                    file.getSymbols().getNames().size(), file.getSeed(), workload.anchor());
+            return workload;
+        }
+    }
+}
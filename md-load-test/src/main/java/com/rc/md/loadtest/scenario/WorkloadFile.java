@@ -0,0 +1,89 @@
+package com.rc.md.loadtest.scenario;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * YAML model of a scenario file, see {@code scenarios/mixed.yml}.
+ */
+@Getter
+@Setter
+public class WorkloadFile {
+
+    /**
+     * Seed of the request generator; the same seed yields the same request sequence.
+     */
+    private long seed = 1L;
+
+    /**
+     * "Now" for generated windows (UNIX seconds), 0 for the current time.
+     */
+    private long anchor = 0L;
+
+    private Symbols symbols = new Symbols();
+
+    private List<Scenario> scenarios = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Symbols {
+        /**
+         * Symbols in popularity order, the first being the most requested.
+         */
+        private List<String> names = new ArrayList<>();
+
+        /**
+         * Zipf exponent of the symbol popularity, 0 for uniform.
+         */
+        private double zipfExponent = 1.0;
+    }
+
+    @Getter
+    @Setter
+    public static class Scenario {
+        private String name;
+
+        /**
+         * Relative share of requests drawn from this scenario.
+         */
+        private double weight = 1.0;
+
+        /**
+         * LATEST: the newest {@code bars} candles. RANGE: a window of {@code bars} candles ending
+         * up to {@code maxAgeBars} candles before the anchor.
+         */
+        private Kind kind = Kind.LATEST;
+
+        /**
+         * Interval id to relative weight, e.g. {1m: 0.8, 5m: 0.2}.
+         */
+        private Map<String, Double> intervals = new LinkedHashMap<>();
+
+        private Bars bars = new Bars();
+
+        private long maxAgeBars = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Bars {
+        private long min = 300;
+        private long max = 300;
+        private Distribution distribution = Distribution.UNIFORM;
+    }
+
+    public enum Kind {
+        LATEST,
+        RANGE
+    }
+
+    public enum Distribution {
+        UNIFORM,
+        LOG_UNIFORM
+    }
+}
@@ -0,0 +1,27 @@
+package com.rc.md.loadtest.scenario;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent.
+ */
+public class ZipfSampler {
+
+    private final double[] cdf;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be > 0");
+        }
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, exponent);
+        }
+        this.cdf = WeightedChoice.cumulative(weights);
+    }
+
+    public int sample(RandomGenerator random) {
+        return WeightedChoice.pick(cdf, random);
+    }
+}
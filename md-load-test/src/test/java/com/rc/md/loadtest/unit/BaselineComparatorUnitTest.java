@@ -0,0 +1,84 @@
+package com.rc.md.loadtest.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rc.md.loadtest.LatencyStats;
+import com.rc.md.loadtest.LoadTestProperties;
+import com.rc.md.loadtest.report.BaselineComparator;
+import com.rc.md.loadtest.report.Comparison;
+import com.rc.md.loadtest.report.RunResult;
+import com.rc.md.loadtest.report.ScenarioResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaselineComparatorUnitTest {
+
+    private final LoadTestProperties.Tolerances tolerances = new LoadTestProperties.Tolerances();
+
+    @Test
+    void identicalRunsDoNotRegress() {
+        RunResult baseline = run(5_000_000, 0, 10);
+
+        Comparison comparison = BaselineComparator.compare(baseline, run(5_000_000, 0, 10), tolerances);
+
+        assertThat(comparison.regressed()).isFalse();
+        assertThat(comparison.checks()).isNotEmpty();
+    }
+
+    @Test
+    void slowerTailIsARegression() {
+        Comparison comparison = BaselineComparator.compare(run(5_000_000, 0, 10), run(5_000_000, 40_000_000, 10), tolerances);
+
+        assertThat(comparison.regressions())
+                .extracting(Comparison.Check::metric)
+                .contains("p99_ms", "p999_ms")
+                .doesNotContain("p50_ms", "throughput");
+    }
+
+    @Test
+    void throughputDropBeyondToleranceIsARegression() {
+        Comparison comparison = BaselineComparator.compare(run(5_000_000, 0, 10), run(5_000_000, 0, 12), tolerances);
+
+        assertThat(comparison.regressions())
+                .extracting(Comparison.Check::metric)
+                .containsOnly("throughput");
+    }
+
+    @Test
+    void smallAbsoluteLatencyChangesAreNoise() {
+        // 0.2ms -> 0.4ms doubles p50 but stays below minLatencyDeltaMillis
+        Comparison comparison = BaselineComparator.compare(run(200_000, 0, 10), run(400_000, 0, 10), tolerances);
+
+        assertThat(comparison.regressed()).isFalse();
+    }
+
+    @Test
+    void resultSurvivesJsonRoundTripWithFullHistogram() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        RunResult result = run(5_000_000, 40_000_000, 10);
+
+        RunResult read = mapper.readValue(mapper.writeValueAsString(result), RunResult.class);
+
+        assertThat(read.total().response().percentiles()).isEqualTo(result.total().response().percentiles());
+        assertThat(read.total().response().decodeHistogram().getTotalCount()).isEqualTo(1000);
+        assertThat(read.total().response().decodeHistogram().getMaxValue())
+                .isEqualTo(result.total().response().decodeHistogram().getMaxValue());
+    }
+
+    /**
+     * 1000 requests of {@code latencyNanos}, the slowest 2% take {@code tailNanos} instead when non-zero.
+     */
+    private static RunResult run(long latencyNanos, long tailNanos, double seconds) {
+        LatencyStats stats = new LatencyStats();
+        for (int i = 0; i < 1000; i++) {
+            long latency = tailNanos > 0 && i >= 980 ? tailNanos : latencyNanos;
+            stats.record(0, 0, latency);
+        }
+        stats.complete();
+        ScenarioResult scenario = ScenarioResult.of(stats, seconds);
+        return new RunResult("test", "CLOSED", "2025-01-01T00:00:00Z", seconds, Map.of(), Map.of(),
+                Map.of("default", scenario), scenario, Map.of());
+    }
+}
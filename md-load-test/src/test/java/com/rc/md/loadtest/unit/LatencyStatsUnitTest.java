@@ -0,0 +1,71 @@
+package com.rc.md.loadtest.unit;
+
+import com.rc.md.loadtest.LatencyStats;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyStatsUnitTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void responseIsMeasuredFromTheIntendedStart() {
+        LatencyStats stats = new LatencyStats();
+
+        // the sender fell 50ms behind schedule, the server then answered in 1ms
+        stats.record(0, 50 * MS, 51 * MS);
+        stats.complete();
+
+        assertEquivalent(stats.responseHistogram(), stats.responseHistogram().getMaxValue(), 51 * MS);
+        assertEquivalent(stats.serviceHistogram(), stats.serviceHistogram().getMaxValue(), MS);
+    }
+
+    @Test
+    void stallShowsUpInTheResponseTail() {
+        LatencyStats stats = new LatencyStats();
+
+        // one request every 1ms; a 100ms stall holds back the last 100 of 1000 requests
+        for (int i = 0; i < 1_000; i++) {
+            long intended = i * MS;
+            long end = i < 900 ? intended + MS : 1_000 * MS;
+            stats.record(intended, intended, end);
+        }
+        stats.complete();
+
+        Histogram response = stats.responseHistogram();
+        assertThat(response.getTotalCount()).isEqualTo(1_000);
+        assertEquivalent(response, response.getValueAtPercentile(50), MS);
+        assertEquivalent(response, response.getValueAtPercentile(95), 50 * MS);
+        assertEquivalent(response, response.getValueAtPercentile(99), 90 * MS);
+        assertEquivalent(response, response.getMaxValue(), 100 * MS);
+    }
+
+    @Test
+    void mergeAddsHistogramsAndErrors() {
+        LatencyStats a = new LatencyStats();
+        a.record(0, 0, MS);
+        a.recordError("boom");
+        a.complete();
+        LatencyStats b = new LatencyStats();
+        b.record(0, 0, 3 * MS);
+        b.record(0, 0, 5 * MS);
+        b.complete();
+
+        LatencyStats merged = LatencyStats.merge(List.of(a, b));
+
+        assertThat(merged.responseHistogram().getTotalCount()).isEqualTo(3);
+        assertThat(merged.serviceHistogram().getTotalCount()).isEqualTo(3);
+        assertEquivalent(merged.responseHistogram(), merged.responseHistogram().getMaxValue(), 5 * MS);
+        assertThat(merged.errorCount()).isEqualTo(1);
+    }
+
+    private static void assertEquivalent(Histogram h, long actual, long expected) {
+        assertThat(h.valuesAreEquivalent(actual, expected))
+                .as("%d recorded as %d", expected, actual)
+                .isTrue();
+    }
+}
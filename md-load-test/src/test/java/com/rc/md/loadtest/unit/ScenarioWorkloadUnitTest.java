@@ -0,0 +1,79 @@
+package com.rc.md.loadtest.unit;
+
+import com.rc.md.loadtest.scenario.HistoryRequest;
+import com.rc.md.loadtest.scenario.ScenarioWorkload;
+import com.rc.md.loadtest.scenario.WorkloadFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScenarioWorkloadUnitTest {
+
+    private static final long ANCHOR = 1_700_000_123L;
+
+    @Test
+    void sameSeedGivesTheSameRequests() {
+        ScenarioWorkload workload = new ScenarioWorkload(file());
+
+        assertThat(requests(workload, 500)).isEqualTo(requests(new ScenarioWorkload(file()), 500));
+    }
+
+    @Test
+    void windowsAreAlignedAndWithinTheScenarioBounds() {
+        for (HistoryRequest r : requests(new ScenarioWorkload(file()), 2_000)) {
+            long sec = ScenarioWorkload.intervalSeconds(r.interval());
+            long bars = (r.to() - r.from()) / sec + 1;
+            assertThat(r.from() % sec).isZero();
+            assertThat(r.to() % sec).isZero();
+            if (r.scenario().equals("latest")) {
+                assertThat(r.to()).isEqualTo(Math.floorDiv(ANCHOR, sec) * sec);
+                assertThat(bars).isEqualTo(300);
+            } else {
+                assertThat(r.to()).isBetween(Math.floorDiv(ANCHOR, sec) * sec - 10 * sec, ANCHOR);
+                assertThat(bars).isBetween(10L, 1_000L);
+            }
+        }
+    }
+
+    @Test
+    void intervalIdsParseToSeconds() {
+        assertThat(ScenarioWorkload.intervalSeconds("1s")).isEqualTo(1);
+        assertThat(ScenarioWorkload.intervalSeconds("5m")).isEqualTo(300);
+        assertThat(ScenarioWorkload.intervalSeconds("1H")).isEqualTo(3_600);
+        assertThat(ScenarioWorkload.intervalSeconds("1d")).isEqualTo(86_400);
+    }
+
+    private static List<HistoryRequest> requests(ScenarioWorkload workload, int n) {
+        SplittableRandom random = new SplittableRandom(workload.seed());
+        return IntStream.range(0, n).mapToObj(i -> workload.next(random)).toList();
+    }
+
+    private static WorkloadFile file() {
+        WorkloadFile file = new WorkloadFile();
+        file.setSeed(11);
+        file.setAnchor(ANCHOR);
+        file.getSymbols().setNames(List.of("BTCUSDT", "ETHUSDT", "SOLUSDT"));
+
+        WorkloadFile.Scenario latest = new WorkloadFile.Scenario();
+        latest.setName("latest");
+        latest.setWeight(3);
+        latest.setIntervals(Map.of("1m", 1.0));
+
+        WorkloadFile.Scenario range = new WorkloadFile.Scenario();
+        range.setName("range");
+        range.setKind(WorkloadFile.Kind.RANGE);
+        range.setIntervals(Map.of("5m", 0.5, "1h", 0.5));
+        range.getBars().setMin(10);
+        range.getBars().setMax(1_000);
+        range.getBars().setDistribution(WorkloadFile.Distribution.LOG_UNIFORM);
+        range.setMaxAgeBars(10);
+
+        file.setScenarios(List.of(latest, range));
+        return file;
+    }
+}
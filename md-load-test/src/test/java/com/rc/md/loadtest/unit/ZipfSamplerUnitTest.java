@@ -0,0 +1,64 @@
+package com.rc.md.loadtest.unit;
+
+import com.rc.md.loadtest.scenario.ZipfSampler;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ZipfSamplerUnitTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void ranksFollowTheZipfWeights() {
+        int n = 10;
+        double[] freq = frequencies(new ZipfSampler(n, 1.0), n);
+
+        double harmonic = IntStream.rangeClosed(1, n).mapToDouble(k -> 1.0 / k).sum();
+        for (int rank = 0; rank < n; rank++) {
+            assertThat(freq[rank]).as("rank %d", rank).isCloseTo(1.0 / (rank + 1) / harmonic, within(0.01));
+        }
+    }
+
+    @Test
+    void exponentZeroIsUniform() {
+        double[] freq = frequencies(new ZipfSampler(4, 0.0), 4);
+
+        assertThat(freq).containsExactly(new double[]{0.25, 0.25, 0.25, 0.25}, within(0.01));
+    }
+
+    @Test
+    void sameSeedGivesTheSameSequence() {
+        ZipfSampler sampler = new ZipfSampler(1_000, 1.1);
+
+        assertThat(sequence(sampler, 42)).isEqualTo(sequence(sampler, 42));
+        assertThat(sequence(sampler, 42)).isNotEqualTo(sequence(sampler, 43));
+    }
+
+    @Test
+    void rejectsAnEmptyPopulation() {
+        assertThatThrownBy(() -> new ZipfSampler(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static double[] frequencies(ZipfSampler sampler, int n) {
+        SplittableRandom random = new SplittableRandom(7);
+        double[] freq = new double[n];
+        for (int i = 0; i < SAMPLES; i++) {
+            freq[sampler.sample(random)]++;
+        }
+        for (int i = 0; i < n; i++) {
+            freq[i] /= SAMPLES;
+        }
+        return freq;
+    }
+
+    private static int[] sequence(ZipfSampler sampler, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return IntStream.range(0, 1_000).map(i -> sampler.sample(random)).toArray();
+    }
+}